@@ -0,0 +1,94 @@
+package com.calculator.benchmarks;
+
+import com.calculator.CalculationCache;
+import com.calculator.CalculatorModel;
+import com.calculator.CalculatorModel.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link CalculatorModel#calculate()} per {@link Operation}.
+ * 
+ * {@code calculate} consumes the pending operation, so every invocation has to
+ * enter both operands first. {@link #operandEntry} measures exactly that entry
+ * work on its own; subtract it from {@link #calculate} to isolate the arithmetic
+ * and result formatting. With {@code cache=memo} the model answers repeated
+ * multiplications and divisions from a {@link CalculationCache}.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CalculateBenchmark {
+
+    @Param({"ADD", "SUBTRACT", "MULTIPLY", "DIVIDE"})
+    public String operation;
+
+    /**
+     * Operand magnitude: {@code short} uses small integers, {@code full} uses
+     * operands that fill the 15-digit display and force rounding.
+     */
+    @Param({"short", "full"})
+    public String operands;
+
+    /**
+     * {@code none} computes every result, {@code memo} uses a calculation cache.
+     */
+    @Param({"none", "memo"})
+    public String cache;
+
+    private CalculatorModel model;
+    private Operation op;
+    private String[] left;
+    private String[] right;
+
+    @Setup
+    public void setUp() {
+        model = "memo".equals(cache) ? new CalculatorModel(new CalculationCache(64)) : new CalculatorModel();
+        op = Operation.valueOf(operation);
+        if ("full".equals(operands)) {
+            left = Keys.digits("98765.432109876");
+            right = Keys.digits("3.14159265358979");
+        } else {
+            left = Keys.digits("42");
+            right = Keys.digits("7");
+        }
+    }
+
+    @Benchmark
+    public void calculate(Blackhole blackhole) {
+        enterOperands();
+        model.calculate();
+        blackhole.consume(model.getCurrentDisplay());
+    }
+
+    @Benchmark
+    public void operandEntry(Blackhole blackhole) {
+        enterOperands();
+        blackhole.consume(model.getCurrentDisplay());
+    }
+
+    private void enterOperands() {
+        model.clear();
+        Keys.type(model, left);
+        model.setOperation(op);
+        Keys.type(model, right);
+    }
+}
@@ -0,0 +1,66 @@
+package com.calculator.benchmarks;
+
+import com.calculator.Expression;
+import com.calculator.ExpressionCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Expression} evaluation.
+ * 
+ * {@link #compileAndEvaluate} parses the formula on every call, {@link #cached} looks
+ * the compiled program up in an {@link ExpressionCache}, and {@link #compiled} reuses
+ * a compiled expression directly.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ExpressionBenchmark {
+
+    private static final String FORMULA = "price × (1 + rate) - discount ÷ 3";
+
+    private final BigDecimal[] values = {
+        new BigDecimal("98765.43"), new BigDecimal("0.21"), new BigDecimal("12.5")
+    };
+
+    private Expression expression;
+    private ExpressionCache cache;
+
+    @Setup
+    public void setUp() {
+        expression = Expression.compile(FORMULA);
+        cache = new ExpressionCache(16);
+    }
+
+    @Benchmark
+    public BigDecimal compileAndEvaluate() {
+        return Expression.compile(FORMULA).evaluate(values);
+    }
+
+    @Benchmark
+    public BigDecimal cached() {
+        return cache.get(FORMULA).evaluate(values);
+    }
+
+    @Benchmark
+    public BigDecimal compiled() {
+        return expression.evaluate(values);
+    }
+}
@@ -0,0 +1,83 @@
+package com.calculator.benchmarks;
+
+import com.calculator.CalculationHistory;
+import com.calculator.CalculatorModel;
+import com.calculator.CalculatorModel.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the indexed lookups of {@link CalculationHistory} on a tape filled
+ * through {@link CalculatorModel#calculate()}, cycling through the four operations
+ * with a right operand of 3. {@code result} finds one value, {@code resultRange} the
+ * results up to 250 above one, and {@code operation} every entry of one operation, a
+ * quarter of the tape.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HistorySearchBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int entries;
+
+    private CalculationHistory history;
+    private BigDecimal[] values;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        CalculatorModel model = new CalculatorModel();
+        history = new CalculationHistory(entries);
+        model.setHistory(history);
+        Operation[] operations = Operation.values();
+        String[] right = Keys.digits("3");
+        for (int i = 0; i < entries; i++) {
+            model.clear();
+            Keys.type(model, Keys.digits(Integer.toString(i)));
+            model.setOperation(operations[i % operations.length]);
+            Keys.type(model, right);
+            model.calculate();
+        }
+        Random random = new Random(42);
+        values = new BigDecimal[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = history.getResult(random.nextInt(entries));
+        }
+    }
+
+    @Benchmark
+    public long[] result() {
+        return history.findResult(values[index++ & (values.length - 1)]);
+    }
+
+    @Benchmark
+    public long[] resultRange() {
+        BigDecimal min = values[index++ & (values.length - 1)];
+        return history.findResults(min, min.add(BigDecimal.valueOf(250)), null);
+    }
+
+    @Benchmark
+    public long[] operation() {
+        return history.findOperation(Operation.MULTIPLY);
+    }
+}
@@ -0,0 +1,45 @@
+package com.calculator.benchmarks;
+
+import com.calculator.CalculatorModel;
+
+/**
+ * Helpers for turning operand literals into keystrokes.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class Keys {
+
+    private Keys() {
+    }
+
+    /**
+     * Splits a literal such as {@code "3.14"} into one key per character.
+     * 
+     * @param literal the operand as typed
+     * @return one single-character key per input character
+     */
+    static String[] digits(String literal) {
+        String[] keys = new String[literal.length()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = String.valueOf(literal.charAt(i));
+        }
+        return keys;
+    }
+
+    /**
+     * Types the given keys into the model.
+     * 
+     * @param model the model receiving the keystrokes
+     * @param keys keys produced by {@link #digits(String)}
+     */
+    static void type(CalculatorModel model, String[] keys) {
+        for (String key : keys) {
+            if (".".equals(key)) {
+                model.inputDecimal();
+            } else {
+                model.inputDigit(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.calculator.benchmarks;
+
+import com.calculator.CalculatorModel;
+import com.calculator.CalculatorModel.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the individual keystroke methods of {@link CalculatorModel}.
+ * 
+ * Every benchmark is reported both as throughput and as sampled latency; run with
+ * {@code -prof gc} to get the allocation rate per operation.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class KeystrokeBenchmark {
+
+    private static final String[] DIGITS = {"1", "2", "3", "4", "5", "6", "7", "8", "9", "0"};
+    private static final int NUMBER_LENGTH = 15;
+
+    private CalculatorModel model;
+
+    @Setup
+    public void setUp() {
+        model = new CalculatorModel();
+        model.inputDigit("7");
+    }
+
+    /**
+     * Types a full 15-digit number, so each invocation also covers the
+     * first-digit branch and the append branch of {@code inputDigit}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NUMBER_LENGTH)
+    public void inputDigit(Blackhole blackhole) {
+        model.clear();
+        for (int i = 0; i < NUMBER_LENGTH; i++) {
+            model.inputDigit(DIGITS[i % DIGITS.length]);
+        }
+        blackhole.consume(model.getCurrentDisplay());
+    }
+
+    /**
+     * Types {@code 3.14}, the shortest sequence that exercises the decimal point
+     * after an integer part.
+     */
+    @Benchmark
+    public void inputDecimal(Blackhole blackhole) {
+        model.clear();
+        model.inputDigit("3");
+        model.inputDecimal();
+        model.inputDigit("1");
+        model.inputDigit("4");
+        blackhole.consume(model.getCurrentDisplay());
+    }
+
+    /**
+     * Flips the sign of the current value; the state alternates between
+     * positive and negative on every invocation.
+     */
+    @Benchmark
+    public void toggleSign(Blackhole blackhole) {
+        model.toggleSign();
+        blackhole.consume(model.getCurrentDisplay());
+    }
+
+    /**
+     * Sets a pending operation without a chained calculation, which measures the
+     * cost of storing the operand and formatting the expression display.
+     */
+    @Benchmark
+    public void setOperation(Blackhole blackhole) {
+        model.setOperation(Operation.ADD);
+        blackhole.consume(model.getExpressionDisplay());
+    }
+}
@@ -0,0 +1,69 @@
+package com.calculator.benchmarks;
+
+import com.calculator.CalculatorModel;
+import com.calculator.CalculatorModel.Operation;
+import com.calculator.Precision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link CalculatorModel#calculate()} in each {@link Precision} tier,
+ * with operands that fill the 15-digit display. Compare {@code standard} with the
+ * {@code none} cache results of {@link CalculateBenchmark} to check that the other
+ * tiers do not slow the default one down.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrecisionBenchmark {
+
+    /**
+     * The tier, as accepted by {@link Precision#parse(String)}.
+     */
+    @Param({"fast", "standard", "50", "500"})
+    public String precision;
+
+    @Param({"ADD", "MULTIPLY", "DIVIDE"})
+    public String operation;
+
+    private CalculatorModel model;
+    private Operation op;
+    private String[] left;
+    private String[] right;
+
+    @Setup
+    public void setUp() {
+        model = new CalculatorModel(Precision.parse(precision));
+        op = Operation.valueOf(operation);
+        left = Keys.digits("98765.432109876");
+        right = Keys.digits("3.14159265358979");
+    }
+
+    @Benchmark
+    public void calculate(Blackhole blackhole) {
+        model.clear();
+        Keys.type(model, left);
+        model.setOperation(op);
+        Keys.type(model, right);
+        model.calculate();
+        blackhole.consume(model.getCurrentDisplay());
+    }
+}
@@ -0,0 +1,129 @@
+package com.calculator.benchmarks;
+
+import com.calculator.CalculatorModel;
+import com.calculator.CalculatorModel.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for whole keystroke sequences, mirroring the workflows in
+ * {@code CalculatorIntegrationTest}. These are the closest approximation of a
+ * replayed session.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SequenceBenchmark {
+
+    private CalculatorModel model;
+
+    @Setup
+    public void setUp() {
+        model = new CalculatorModel();
+    }
+
+    /**
+     * {@code 15 + 25 × 2 =}, evaluated left to right as {@code (15 + 25) × 2}.
+     */
+    @Benchmark
+    public void chainedCalculation(Blackhole blackhole) {
+        model.clear();
+        model.inputDigit("1");
+        model.inputDigit("5");
+        model.setOperation(Operation.ADD);
+        model.inputDigit("2");
+        model.inputDigit("5");
+        model.setOperation(Operation.MULTIPLY);
+        model.inputDigit("2");
+        model.calculate();
+        blackhole.consume(model.getCurrentDisplay());
+        blackhole.consume(model.getExpressionDisplay());
+    }
+
+    /**
+     * {@code 3.14 + 2.86 =}, whose result has trailing zeros to strip.
+     */
+    @Benchmark
+    public void decimalCalculation(Blackhole blackhole) {
+        model.clear();
+        model.inputDigit("3");
+        model.inputDecimal();
+        model.inputDigit("1");
+        model.inputDigit("4");
+        model.setOperation(Operation.ADD);
+        model.inputDigit("2");
+        model.inputDecimal();
+        model.inputDigit("8");
+        model.inputDigit("6");
+        model.calculate();
+        blackhole.consume(model.getCurrentDisplay());
+        blackhole.consume(model.getExpressionDisplay());
+    }
+
+    /**
+     * {@code 5 ± + 8 =}, a negative operand entered with the sign toggle.
+     */
+    @Benchmark
+    public void negativeCalculation(Blackhole blackhole) {
+        model.clear();
+        model.inputDigit("5");
+        model.toggleSign();
+        model.setOperation(Operation.ADD);
+        model.inputDigit("8");
+        model.calculate();
+        blackhole.consume(model.getCurrentDisplay());
+        blackhole.consume(model.getExpressionDisplay());
+    }
+
+    /**
+     * {@code 10 ÷ 3 =}, a non-terminating quotient rounded to 15 digits.
+     */
+    @Benchmark
+    public void repeatingDivision(Blackhole blackhole) {
+        model.clear();
+        model.inputDigit("1");
+        model.inputDigit("0");
+        model.setOperation(Operation.DIVIDE);
+        model.inputDigit("3");
+        model.calculate();
+        blackhole.consume(model.getCurrentDisplay());
+        blackhole.consume(model.getExpressionDisplay());
+    }
+
+    /**
+     * Types a number, corrects it with backspace and clear entry, then finishes
+     * the calculation: the editing keys of a typical session.
+     */
+    @Benchmark
+    public void editingSession(Blackhole blackhole) {
+        model.clear();
+        model.inputDigit("1");
+        model.inputDigit("2");
+        model.inputDigit("3");
+        model.backspace();
+        model.setOperation(Operation.SUBTRACT);
+        model.inputDigit("9");
+        model.clearEntry();
+        model.inputDigit("4");
+        model.calculate();
+        blackhole.consume(model.getCurrentDisplay());
+        blackhole.consume(model.getExpressionDisplay());
+    }
+}
@@ -60,7 +60,7 @@ if %ERRORLEVEL% neq 0 (
 
 echo.
 echo Packaging application...
-mvn package
+mvn install -DskipTests
 if %ERRORLEVEL% neq 0 (
     echo ERROR: Packaging failed
     pause
@@ -75,14 +75,14 @@ echo.
 echo To run the calculator, use one of these commands:
 echo.
 echo 1. Using Maven (development):
-echo    mvn javafx:run
+echo    mvn -pl calculator-ui javafx:run
 echo.
 echo 2. Using JAR file:
-echo    java -jar target\java-calculator-1.0.0-shaded.jar
+echo    java -jar calculator-ui\target\calculator-ui-1.0.0-shaded.jar
 echo.
 echo Press any key to run the calculator now...
 pause > nul
 
 echo.
 echo Starting calculator...
-mvn javafx:run
+mvn -pl calculator-ui javafx:run
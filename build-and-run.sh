@@ -67,7 +67,7 @@ fi
 
 echo
 echo "Packaging application..."
-mvn package
+mvn install -DskipTests
 if [ $? -ne 0 ]; then
     echo "ERROR: Packaging failed"
     exit 1
@@ -81,14 +81,14 @@ echo
 echo "To run the calculator, use one of these commands:"
 echo
 echo "1. Using Maven (development):"
-echo "   mvn javafx:run"
+echo "   mvn -pl calculator-ui javafx:run"
 echo
 echo "2. Using JAR file:"
-echo "   java -jar target/java-calculator-1.0.0-shaded.jar"
+echo "   java -jar calculator-ui/target/calculator-ui-1.0.0-shaded.jar"
 echo
 echo "Press any key to run the calculator now..."
 read -n 1 -s
 
 echo
 echo "Starting calculator..."
-mvn javafx:run
+mvn -pl calculator-ui javafx:run
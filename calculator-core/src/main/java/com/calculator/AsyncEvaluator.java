@@ -0,0 +1,236 @@
+package com.calculator;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the calculations of a {@link CalculatorModel} on a background thread.
+ *
+ * The model itself stays confined to one thread, typically a UI thread. To evaluate
+ * a key, the evaluator takes a {@link CalculatorState} snapshot of the model, applies
+ * the key to the snapshot on its worker thread and hands the resulting state back
+ * through the callback executor, which restores it into the model. However long the
+ * calculation takes, the model's thread only pays for the snapshot and the restore.
+ * The restored result is recorded on the model's tape and undo history as if the
+ * model had computed it itself.
+ *
+ * Meanwhile the model shows an estimate of the result computed in {@code double}
+ * precision, see {@link CalculatorModel#showEstimate}, so the display reacts at once
+ * and the exact result replaces the estimate when it is ready.
+ *
+ * One evaluation is pending at a time. It is cancelled by {@link #cancel()}, or by
+ * {@link #cancelFor(CalculatorKey)} when the next key makes its result irrelevant.
+ * A calculation is a single arithmetic step, such as one {@code BigDecimal.divide},
+ * that cannot be stopped part-way: a cancelled evaluation runs to its end, and its
+ * result is discarded. The model is back in its earlier state at once, and an idle
+ * worker takes the next evaluation while the cancelled one finishes on its own thread.
+ * The pool has one worker per core but one, and at least one, so calculations that
+ * were cancelled cannot take every core from the rest of the application. Once every
+ * worker is busy with one, the next evaluation waits in a queue, showing its estimate,
+ * until a worker is free. All methods except {@link #close()} must be called on the
+ * thread the callback executor runs tasks on.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class AsyncEvaluator implements AutoCloseable {
+
+    private final CalculatorModel model;
+    private final Executor callbackExecutor;
+    private final ThreadPoolExecutor workers;
+
+    /** Number of evaluations submitted or cancelled; identifies the pending one. */
+    private long generation;
+    private Future<CalculatorState> pending;
+    private CalculatorState pendingState;
+    private CalculatorKey pendingKey;
+    private Runnable pendingCallback;
+
+    /**
+     * Creates an evaluator for a model.
+     *
+     * @param model the model to evaluate keys for
+     * @param callbackExecutor runs the result updates on the model's thread, such as
+     *                         {@code Platform::runLater}
+     */
+    public AsyncEvaluator(CalculatorModel model, Executor callbackExecutor) {
+        this(model, callbackExecutor, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Creates an evaluator for a model with a given number of workers.
+     *
+     * @param model the model to evaluate keys for
+     * @param callbackExecutor runs the result updates on the model's thread
+     * @param maxWorkers the most calculations that run at the same time
+     */
+    AsyncEvaluator(CalculatorModel model, Executor callbackExecutor, int maxWorkers) {
+        this.model = model;
+        this.callbackExecutor = callbackExecutor;
+        this.workers = new ThreadPoolExecutor(maxWorkers, maxWorkers, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), task -> {
+                Thread thread = new Thread(task, "calculator-evaluator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Checks whether a key is evaluated in the background: the equals key and the
+     * operation keys, which may complete a chained calculation.
+     *
+     * @param key the key
+     * @return true if the key should be submitted rather than applied directly
+     */
+    public static boolean evaluates(CalculatorKey key) {
+        return key == CalculatorKey.EQUALS || key.getOperation() != null;
+    }
+
+    /**
+     * Starts evaluating a key in the current state of the model, cancelling any
+     * evaluation still pending, and shows an estimate of the result until it is ready.
+     *
+     * @param key the key to evaluate
+     * @param onDone run on the model's thread after the result has been restored
+     *               into the model
+     */
+    public void submit(CalculatorKey key, Runnable onDone) {
+        cancel();
+        long submitted = ++generation;
+        CalculatorState state = model.snapshot(submitted);
+        model.showEstimate(key);
+        pendingState = state;
+        pendingKey = key;
+        pendingCallback = onDone;
+        pending = workers.submit(() -> {
+            CalculatorState result = null;
+            try {
+                result = state.apply(key);
+                return result;
+            } finally {
+                CalculatorState evaluated = result;
+                callbackExecutor.execute(() -> finish(submitted, evaluated));
+            }
+        });
+    }
+
+    /**
+     * Checks whether an evaluation is pending.
+     *
+     * @return true from a submit until the result is restored or cancelled
+     */
+    public boolean isBusy() {
+        return pending != null;
+    }
+
+    /**
+     * Cancels the pending evaluation, if any. The estimate is withdrawn, the model
+     * keeps the state it had before the evaluation was submitted and the callback is
+     * not run. A calculation that has not started is dropped from the queue; one that
+     * has runs to its end on its worker, and the next evaluation only waits for it if
+     * no other worker is free.
+     *
+     * @return true if an evaluation was cancelled
+     */
+    public boolean cancel() {
+        if (pending == null) {
+            return false;
+        }
+        pending.cancel(true);
+        workers.purge();
+        model.withdrawEstimate();
+        generation++;
+        clearPending();
+        return true;
+    }
+
+    /**
+     * Cancels the pending evaluation if the next key would make its result
+     * irrelevant, and prepares the model so that applying the key gives the same
+     * state as applying it after the result. That is the case for all clear, and for
+     * a digit or decimal point after equals, which start a new calculation.
+     *
+     * @param key the next key
+     * @return true if the evaluation was cancelled and the key can be applied now
+     */
+    public boolean cancelFor(CalculatorKey key) {
+        if (pending == null) {
+            return false;
+        }
+        if (key == CalculatorKey.CLEAR) {
+            cancel();
+            return true;
+        }
+        if (pendingKey == CalculatorKey.EQUALS && (key.isDigit() || key == CalculatorKey.DECIMAL)) {
+            cancel();
+            model.clear();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Waits for the pending evaluation, if any, and restores its result now instead
+     * of when the callback executor gets to it.
+     *
+     * @throws IllegalStateException if the calculation failed or the wait was interrupted
+     */
+    public void complete() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            CalculatorState result = pending.get();
+            finish(generation, result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a calculation", e);
+        } catch (ExecutionException | CancellationException e) {
+            clearPending();
+            throw new IllegalStateException("Calculation failed", e);
+        }
+    }
+
+    /**
+     * Stops the worker threads once their calculations are done. The result of a
+     * pending evaluation is discarded.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Restores a result into the model if it belongs to the pending evaluation.
+     */
+    private void finish(long submitted, CalculatorState result) {
+        if (submitted != generation || pending == null) {
+            return;
+        }
+        Runnable callback = pendingCallback;
+        CalculatorState before = pendingState;
+        CalculatorKey key = pendingKey;
+        clearPending();
+        if (result != null) {
+            model.restore(result);
+            model.recordCalculation(before, key);
+            model.remember();
+        } else {
+            model.withdrawEstimate();
+        }
+        callback.run();
+    }
+
+    private void clearPending() {
+        pending = null;
+        pendingState = null;
+        pendingKey = null;
+        pendingCallback = null;
+    }
+}
@@ -0,0 +1,204 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+
+/**
+ * Bounded memo of multiplication and division results for {@link CalculatorModel}.
+ *
+ * Replayed sessions repeat the same operations on the same operands over and over,
+ * and a 15-digit division is the most expensive step of {@code calculate}. The cache
+ * remembers results keyed by both operands - unscaled value and scale - and the
+ * operation, so a hit gives exactly the result the arithmetic would have produced.
+ * Addition and subtraction are cheaper than a lookup and are never cached, nor are
+ * operands or results that do not fit the primitive path of {@link FixedDecimal}.
+ *
+ * Entries live in primitive arrays organised as 4-way sets; a lookup hashes the key
+ * to one set and compares at most four entries without allocating. When a set is
+ * full, its least recently used entry is evicted.
+ *
+ * A cache is not thread-safe, like the model itself; give every model or thread its
+ * own cache.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class CalculationCache {
+
+    private static final int WAYS = 4;
+
+    private final int setMask;
+    private final long[] leftValues;
+    private final long[] rightValues;
+    private final long[] scales;
+    private final byte[] operations;
+    private final long[] resultValues;
+    private final int[] resultScales;
+    private final long[] lastUse;
+
+    private long clock;
+    private int size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the number of results to keep; rounded up to a power of two
+     *                   of at least 4
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive or too large
+     */
+    public CalculationCache(int maxEntries) {
+        if (maxEntries < 1 || maxEntries > 1 << 30) {
+            throw new IllegalArgumentException("Cache size out of range: " + maxEntries);
+        }
+        int capacity = Math.max(WAYS, Integer.highestOneBit(maxEntries - 1) << 1);
+        this.setMask = capacity / WAYS - 1;
+        this.leftValues = new long[capacity];
+        this.rightValues = new long[capacity];
+        this.scales = new long[capacity];
+        this.operations = new byte[capacity];
+        this.resultValues = new long[capacity];
+        this.resultScales = new int[capacity];
+        this.lastUse = new long[capacity];
+    }
+
+    /**
+     * Looks up the result of {@code left operation right}.
+     *
+     * @param left the left operand
+     * @param operation the operation
+     * @param right the right operand
+     * @param result receives the result on a hit
+     * @return true on a hit; false on a miss or if the operation is not cached
+     */
+    boolean get(FixedDecimal left, Operation operation, FixedDecimal right, FixedDecimal result) {
+        if (!cacheable(left, operation, right)) {
+            return false;
+        }
+        long leftValue = left.unscaledValue();
+        long rightValue = right.unscaledValue();
+        long scale = scales(left, right);
+        byte code = code(operation);
+        int base = set(leftValue, rightValue, scale, code);
+        for (int i = base; i < base + WAYS; i++) {
+            if (operations[i] == code && leftValues[i] == leftValue
+                    && rightValues[i] == rightValue && scales[i] == scale) {
+                lastUse[i] = ++clock;
+                hits++;
+                result.set(resultValues[i], resultScales[i]);
+                return true;
+            }
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Remembers the result of {@code left operation right}, evicting the least
+     * recently used entry of its set if the set is full.
+     *
+     * @param left the left operand
+     * @param operation the operation
+     * @param right the right operand
+     * @param result the result
+     */
+    void put(FixedDecimal left, Operation operation, FixedDecimal right, FixedDecimal result) {
+        if (!cacheable(left, operation, right) || !result.isCompact()) {
+            return;
+        }
+        long leftValue = left.unscaledValue();
+        long rightValue = right.unscaledValue();
+        long scale = scales(left, right);
+        byte code = code(operation);
+        int base = set(leftValue, rightValue, scale, code);
+        int victim = base;
+        for (int i = base; i < base + WAYS; i++) {
+            if (operations[i] == 0) {
+                victim = i;
+                break;
+            }
+            if (lastUse[i] < lastUse[victim]) {
+                victim = i;
+            }
+        }
+        if (operations[victim] == 0) {
+            size++;
+        } else {
+            evictions++;
+        }
+        operations[victim] = code;
+        leftValues[victim] = leftValue;
+        rightValues[victim] = rightValue;
+        scales[victim] = scale;
+        resultValues[victim] = result.unscaledValue();
+        resultScales[victim] = result.scale();
+        lastUse[victim] = ++clock;
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of cacheable lookups that had to compute the result.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of results dropped to make room for newer ones.
+     *
+     * @return the eviction count
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of results currently kept.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of results kept.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return operations.length;
+    }
+
+    private static boolean cacheable(FixedDecimal left, Operation operation, FixedDecimal right) {
+        return (operation == Operation.MULTIPLY || operation == Operation.DIVIDE)
+                && left.isCompact() && right.isCompact();
+    }
+
+    private static long scales(FixedDecimal left, FixedDecimal right) {
+        return (long) left.scale() << 32 | (right.scale() & 0xFFFFFFFFL);
+    }
+
+    /** Non-zero code of an operation; zero marks an empty entry. */
+    private static byte code(Operation operation) {
+        return (byte) (operation.ordinal() + 1);
+    }
+
+    /** First index of the set a key belongs to. */
+    private int set(long leftValue, long rightValue, long scale, byte code) {
+        long hash = leftValue * 0x9E3779B97F4A7C15L + rightValue;
+        hash = (hash ^ scale ^ code) * 0x9E3779B97F4A7C15L;
+        return ((int) (hash >>> 32) & setMask) * WAYS;
+    }
+}
@@ -0,0 +1,44 @@
+package com.calculator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one {@link CalculatorModel#calculate()}.
+ *
+ * The event's duration covers the arithmetic, the result formatting and the state
+ * update. Like every custom event it is enabled by default, so any running
+ * recording - including an always-on one started with
+ * {@code -XX:StartFlightRecording} - captures it. Without a recording the event
+ * costs a few instructions.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@Name(CalculationEvent.NAME)
+@Label("Calculation")
+@Category("Calculator")
+@Description("One calculation of the calculator model")
+final class CalculationEvent extends Event {
+
+    /** Event type name used in recordings and settings. */
+    static final String NAME = "com.calculator.Calculation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Left Operand Digits")
+    @Description("Significant digits of the stored operand")
+    int leftDigits;
+
+    @Label("Right Operand Digits")
+    @Description("Significant digits of the current operand")
+    int rightDigits;
+
+    @Label("Error")
+    @Description("Whether the calculation ended in an error")
+    boolean error;
+}
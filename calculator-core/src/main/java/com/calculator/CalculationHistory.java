@@ -0,0 +1,609 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Tape of the calculations a {@link CalculatorModel} completed, oldest first.
+ *
+ * The entries are packed into a fixed-size ring outside the heap: a direct buffer
+ * holds the operation and the three numbers of each entry, and two primitive arrays
+ * hold where each entry starts and when it was recorded. Recording an entry copies a
+ * few bytes; once the ring is full, each new entry overwrites the oldest ones.
+ * However long the calculator runs, the tape's memory stays what it was when it was
+ * created, and nothing is formatted until an entry is read.
+ *
+ * <pre>
+ * entry:   operation ordinal (byte) | left | right | result
+ * number:  0 (byte) scale (int) unscaled (long)
+ *        | 1 (byte) scale (int) length (int) unscaled two's-complement bytes
+ * </pre>
+ *
+ * Entries are numbered from 0 in the order they are recorded; an entry keeps its
+ * number while it is on the tape.
+ *
+ * The tape can be searched by result, operand, value range and operation without
+ * reading its entries. Recording an entry also adds its numbers to two
+ * {@link NumberIndex}es, one of results and one of operands, and sets its bit in the
+ * bitmap of its operation. A value lookup is a binary search in each sorted run of an
+ * index, and only the few numbers whose keys lie at the edges of the range are
+ * decoded to be compared exactly; an operation lookup walks the set bits of one
+ * bitmap. The indexes grow on the heap with the tape up to a bound set by its
+ * capacity; from then on recording a compact entry allocates nothing.
+ *
+ * Instances are not thread safe.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class CalculationHistory {
+
+    /**
+     * System property setting the number of entries the desktop application keeps;
+     * 0 turns the tape off.
+     */
+    public static final String PROPERTY = "calculator.history";
+
+    /** Entries kept unless another capacity is given. */
+    public static final int DEFAULT_CAPACITY = 1 << 17;
+
+    /** Bytes reserved per entry: three compact numbers and the operation, rounded up. */
+    static final int ENTRY_BYTES = 48;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final byte COMPACT = 0;
+    private static final byte INFLATED = 1;
+
+    /**
+     * Index keys by which the key of a number may be off: a compact number is
+     * converted to a {@code double} with up to two roundings, see
+     * {@link FixedDecimal#toDouble()}, so numbers within a few keys of a bound of a
+     * lookup are compared exactly.
+     */
+    private static final long KEY_MARGIN = 4;
+
+    private final int capacity;
+    private final ByteBuffer data;
+    private final int[] offsets;
+    private final long[] times;
+
+    /**
+     * Indexes of results and of operands. A reference is the entry number shifted left
+     * by 2 plus the number within the entry: 0 left, 1 right, 2 result.
+     */
+    private final NumberIndex results;
+    private final NumberIndex operands;
+
+    /** Bit per slot for each operation, set while the slot's entry has it. */
+    private final long[][] operationBits;
+
+    /** Number of the oldest entry on the tape, and of the next entry to record. */
+    private long first;
+    private long next;
+    private int writePosition;
+
+    private final FixedDecimal decoded = new FixedDecimal();
+
+    /**
+     * Creates a tape keeping up to {@link #DEFAULT_CAPACITY} entries.
+     */
+    public CalculationHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a tape keeping up to a number of entries. Entries with long
+     * arbitrary-precision numbers take more room, so fewer of them are kept.
+     *
+     * @param capacity the number of entries
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public CalculationHistory(int capacity) {
+        this(capacity, (int) Math.min(Integer.MAX_VALUE, (long) capacity * ENTRY_BYTES));
+    }
+
+    /**
+     * Creates a tape with a given number of entries and bytes of entry data.
+     *
+     * @param capacity the number of entries
+     * @param dataBytes the size of the buffer holding the entries
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    CalculationHistory(int capacity, int dataBytes) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.data = ByteBuffer.allocateDirect(dataBytes);
+        this.offsets = new int[capacity];
+        this.times = new long[capacity];
+        this.results = new NumberIndex(capacity);
+        this.operands = new NumberIndex(2L * capacity);
+        this.operationBits = new long[OPERATIONS.length][(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Gets the tape named by the {@value #PROPERTY} system property.
+     *
+     * @return the tape, or null if the property turns it off
+     * @throws IllegalArgumentException if the property is negative
+     */
+    public static CalculationHistory fromSystemProperty() {
+        int capacity = Integer.getInteger(PROPERTY, DEFAULT_CAPACITY);
+        if (capacity < 0) {
+            throw new IllegalArgumentException("History capacity must not be negative: " + capacity);
+        }
+        return capacity == 0 ? null : new CalculationHistory(capacity);
+    }
+
+    /**
+     * Records a completed calculation.
+     *
+     * @param operation the operation
+     * @param left the left operand
+     * @param right the right operand
+     * @param result the result
+     */
+    void add(Operation operation, FixedDecimal left, FixedDecimal right, FixedDecimal result) {
+        add(operation, left, right, result, System.currentTimeMillis());
+    }
+
+    private void add(Operation operation, FixedDecimal left, FixedDecimal right, FixedDecimal result,
+                     long time) {
+        int length = 1 + length(left) + length(right) + length(result);
+        if (length > data.capacity()) {
+            return;
+        }
+        if (next - first == capacity) {
+            first++;
+        }
+        if (writePosition + length > data.capacity()) {
+            // The rest of the buffer is too short: drop the entries in it and wrap
+            dropOverlapping(writePosition, data.capacity());
+            writePosition = 0;
+        }
+        dropOverlapping(writePosition, writePosition + length);
+
+        int slot = slot(next);
+        offsets[slot] = writePosition;
+        times[slot] = time;
+        data.put(writePosition, (byte) operation.ordinal());
+        int position = put(writePosition + 1, left);
+        position = put(position, right);
+        writePosition = put(position, result);
+
+        for (long[] bits : operationBits) {
+            bits[slot >>> 6] &= ~(1L << slot);
+        }
+        operationBits[operation.ordinal()][slot >>> 6] |= 1L << slot;
+        long minReference = first << 2;
+        operands.add(NumberIndex.key(left.toDouble()), next << 2, minReference);
+        operands.add(NumberIndex.key(right.toDouble()), next << 2 | 1, minReference);
+        results.add(NumberIndex.key(result.toDouble()), next << 2 | 2, minReference);
+        next++;
+    }
+
+    /**
+     * Gets the number of entries on the tape.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return (int) (next - first);
+    }
+
+    /**
+     * Gets the largest number of entries the tape keeps.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of the oldest entry on the tape.
+     *
+     * @return the entry number, equal to {@link #getNext()} if the tape is empty
+     */
+    public long getFirst() {
+        return first;
+    }
+
+    /**
+     * Gets the number the next entry will get, which is the number of entries ever
+     * recorded.
+     *
+     * @return the entry number
+     */
+    public long getNext() {
+        return next;
+    }
+
+    /**
+     * Checks whether an entry is still on the tape.
+     *
+     * @param entry the entry number
+     * @return true if the entry can be read
+     */
+    public boolean contains(long entry) {
+        return entry >= first && entry < next;
+    }
+
+    /**
+     * Gets the operation of an entry.
+     *
+     * @param entry the entry number
+     * @return the operation
+     * @throws IllegalArgumentException if the entry is not on the tape
+     */
+    public Operation getOperation(long entry) {
+        return OPERATIONS[data.get(offset(entry))];
+    }
+
+    /**
+     * Gets the time an entry was recorded.
+     *
+     * @param entry the entry number
+     * @return the time in epoch milliseconds
+     * @throws IllegalArgumentException if the entry is not on the tape
+     */
+    public long getTime(long entry) {
+        check(entry);
+        return times[slot(entry)];
+    }
+
+    /**
+     * Gets the left operand of an entry.
+     *
+     * @param entry the entry number
+     * @return the left operand
+     * @throws IllegalArgumentException if the entry is not on the tape
+     */
+    public BigDecimal getLeft(long entry) {
+        return number(entry, 0).toBigDecimal();
+    }
+
+    /**
+     * Gets the right operand of an entry.
+     *
+     * @param entry the entry number
+     * @return the right operand
+     * @throws IllegalArgumentException if the entry is not on the tape
+     */
+    public BigDecimal getRight(long entry) {
+        return number(entry, 1).toBigDecimal();
+    }
+
+    /**
+     * Gets the result of an entry.
+     *
+     * @param entry the entry number
+     * @return the result
+     * @throws IllegalArgumentException if the entry is not on the tape
+     */
+    public BigDecimal getResult(long entry) {
+        return number(entry, 2).toBigDecimal();
+    }
+
+    /**
+     * Formats an entry as the calculator shows it, {@code left op right = result}.
+     *
+     * @param entry the entry number
+     * @param displayLength the longest text of each number, see
+     *                      {@link Precision#getDisplayLength()}
+     * @return the entry text
+     * @throws IllegalArgumentException if the entry is not on the tape
+     */
+    public String format(long entry, int displayLength) {
+        int position = offset(entry);
+        Operation operation = OPERATIONS[data.get(position)];
+        StringBuilder text = new StringBuilder(4 * displayLength + 8);
+        position = get(position + 1, decoded);
+        text.append(decoded.toDisplayString(displayLength)).append(' ')
+                .append(operation.getSymbol()).append(' ');
+        position = get(position, decoded);
+        text.append(decoded.toDisplayString(displayLength)).append(" = ");
+        get(position, decoded);
+        return text.append(decoded.toDisplayString(displayLength)).toString();
+    }
+
+    /**
+     * Finds the entries with a result equal to a value at any scale, so {@code 2}
+     * finds {@code 2.0} too.
+     *
+     * @param value the result to find
+     * @return the entry numbers, oldest first
+     */
+    public long[] findResult(BigDecimal value) {
+        Objects.requireNonNull(value, "value");
+        return findResults(value, value, null);
+    }
+
+    /**
+     * Finds the entries with a result in a range.
+     *
+     * @param min the smallest result, inclusive, or null for no lower bound
+     * @param max the largest result, inclusive, or null for no upper bound
+     * @param operation the operation the entries must have, or null for any
+     * @return the entry numbers, oldest first
+     */
+    public long[] findResults(BigDecimal min, BigDecimal max, Operation operation) {
+        return find(results, min, max, operation);
+    }
+
+    /**
+     * Finds the entries with an operand, left or right, equal to a value at any scale.
+     *
+     * @param value the operand to find
+     * @return the entry numbers, oldest first
+     */
+    public long[] findOperand(BigDecimal value) {
+        Objects.requireNonNull(value, "value");
+        return findOperands(value, value, null);
+    }
+
+    /**
+     * Finds the entries with an operand, left or right, in a range.
+     *
+     * @param min the smallest operand, inclusive, or null for no lower bound
+     * @param max the largest operand, inclusive, or null for no upper bound
+     * @param operation the operation the entries must have, or null for any
+     * @return the entry numbers, oldest first
+     */
+    public long[] findOperands(BigDecimal min, BigDecimal max, Operation operation) {
+        return find(operands, min, max, operation);
+    }
+
+    /**
+     * Finds the entries of an operation.
+     *
+     * @param operation the operation
+     * @return the entry numbers, oldest first
+     */
+    public long[] findOperation(Operation operation) {
+        long[] bits = operationBits[operation.ordinal()];
+        int from = slot(first);
+        int to = (int) Math.min((long) from + size(), capacity);
+        int wrapped = size() - (to - from);
+        long[] entries = new long[collect(bits, from, to, 0, null, 0) + collect(bits, 0, wrapped, 0, null, 0)];
+        int count = collect(bits, from, to, first - from, entries, 0);
+        collect(bits, 0, wrapped, first + (to - from), entries, count);
+        return entries;
+    }
+
+    /**
+     * Drops all entries. Entry numbers continue where they were.
+     */
+    public void clear() {
+        first = next;
+        writePosition = 0;
+        results.clear();
+        operands.clear();
+    }
+
+    /**
+     * Writes the entries on the tape, oldest first, for a {@link SnapshotFile}: the
+     * number of entries, then the time of each entry and its bytes as they are on the
+     * tape.
+     *
+     * @return the encoded entries
+     */
+    byte[] encode() {
+        int bytes = Integer.BYTES;
+        for (long entry = first; entry < next; entry++) {
+            bytes += Long.BYTES + entryLength(entry);
+        }
+        ByteBuffer encoded = ByteBuffer.allocate(bytes);
+        encoded.putInt(size());
+        ByteBuffer source = data.duplicate();
+        for (long entry = first; entry < next; entry++) {
+            int offset = offsets[slot(entry)];
+            source.clear().position(offset).limit(offset + entryLength(entry));
+            encoded.putLong(times[slot(entry)]).put(source);
+        }
+        return encoded.array();
+    }
+
+    /**
+     * Replaces the entries on the tape with entries written by {@link #encode()},
+     * recording them in turn, so a tape of a smaller capacity keeps the newest.
+     * Entry numbers continue where they were.
+     *
+     * @param buffer the encoded entries, read from its position
+     * @throws RuntimeException if the entries are damaged
+     */
+    void decode(ByteBuffer buffer) {
+        clear();
+        FixedDecimal left = new FixedDecimal();
+        FixedDecimal right = new FixedDecimal();
+        FixedDecimal result = new FixedDecimal();
+        for (int count = buffer.getInt(); count > 0; count--) {
+            long time = buffer.getLong();
+            Operation operation = OPERATIONS[buffer.get()];
+            int position = get(buffer, buffer.position(), left);
+            position = get(buffer, position, right);
+            buffer.position(get(buffer, position, result));
+            add(operation, left, right, result, time);
+        }
+    }
+
+    /**
+     * Looks up a range in an index. Numbers whose keys are well inside the range are
+     * in it; those within {@link #KEY_MARGIN} of a bound are decoded and compared.
+     */
+    private long[] find(NumberIndex index, BigDecimal min, BigDecimal max, Operation operation) {
+        Matches matches = new Matches();
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            return matches.toArray();
+        }
+        long minKey = min == null ? Long.MIN_VALUE : NumberIndex.key(min.doubleValue());
+        long maxKey = max == null ? Long.MAX_VALUE : NumberIndex.key(max.doubleValue());
+        long[] bits = operation == null ? null : operationBits[operation.ordinal()];
+        index.find(min == null ? minKey : minKey - KEY_MARGIN, max == null ? maxKey : maxKey + KEY_MARGIN,
+                first << 2, (key, reference) -> {
+                    long entry = reference >>> 2;
+                    if (bits != null && (bits[slot(entry) >>> 6] & 1L << slot(entry)) == 0) {
+                        return;
+                    }
+                    if (min != null && key <= minKey + KEY_MARGIN || max != null && key >= maxKey - KEY_MARGIN) {
+                        BigDecimal value = number(entry, (int) (reference & 3)).toBigDecimal();
+                        if (min != null && value.compareTo(min) < 0 || max != null && value.compareTo(max) > 0) {
+                            return;
+                        }
+                    }
+                    matches.add(entry);
+                });
+        return matches.toArray();
+    }
+
+    /**
+     * Counts or collects the entries whose bits are set in a range of slots.
+     *
+     * @param entries receives the entry numbers, or null to only count them
+     * @return the count plus the entries found
+     */
+    private static int collect(long[] bits, int from, int to, long base, long[] entries, int count) {
+        for (int word = from >>> 6; from < to && word <= (to - 1) >>> 6; word++) {
+            long set = bits[word];
+            if (word == from >>> 6) {
+                set &= -1L << from;
+            }
+            if (word == (to - 1) >>> 6) {
+                set &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            for (; set != 0; set &= set - 1) {
+                if (entries != null) {
+                    entries[count] = base + ((long) word << 6) + Long.numberOfTrailingZeros(set);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes one of the numbers of an entry into the shared scratch decimal.
+     */
+    private FixedDecimal number(long entry, int index) {
+        int position = offset(entry) + 1;
+        for (int i = 0; i < index; i++) {
+            position = skip(position);
+        }
+        get(position, decoded);
+        return decoded;
+    }
+
+    /**
+     * Drops the oldest entries while they start within a range of the buffer. The
+     * entries ahead of the write position are the oldest, in the order they were
+     * written, so the first one outside the range ends the search.
+     */
+    private void dropOverlapping(int from, int to) {
+        while (first < next) {
+            int offset = offsets[slot(first)];
+            if (offset < from || offset >= to) {
+                return;
+            }
+            first++;
+        }
+    }
+
+    private int entryLength(long entry) {
+        int offset = offsets[slot(entry)];
+        return skip(skip(skip(offset + 1))) - offset;
+    }
+
+    private int offset(long entry) {
+        check(entry);
+        return offsets[slot(entry)];
+    }
+
+    private void check(long entry) {
+        if (!contains(entry)) {
+            throw new IllegalArgumentException("No entry " + entry + " on the tape");
+        }
+    }
+
+    private int slot(long entry) {
+        return (int) (entry % capacity);
+    }
+
+    private static int length(FixedDecimal number) {
+        if (number.isCompact()) {
+            return 1 + Integer.BYTES + Long.BYTES;
+        }
+        return 1 + Integer.BYTES + Integer.BYTES + number.toBigDecimal().unscaledValue().bitLength() / 8 + 1;
+    }
+
+    private int put(int position, FixedDecimal number) {
+        if (number.isCompact()) {
+            data.put(position, COMPACT)
+                    .putInt(position + 1, number.scale())
+                    .putLong(position + 5, number.unscaledValue());
+            return position + 13;
+        }
+        BigDecimal value = number.toBigDecimal();
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        data.put(position, INFLATED)
+                .putInt(position + 1, value.scale())
+                .putInt(position + 5, unscaled.length);
+        data.duplicate().position(position + 9).put(unscaled);
+        return position + 9 + unscaled.length;
+    }
+
+    private int get(int position, FixedDecimal number) {
+        return get(data, position, number);
+    }
+
+    private static int get(ByteBuffer data, int position, FixedDecimal number) {
+        int scale = data.getInt(position + 1);
+        if (data.get(position) == COMPACT) {
+            number.set(data.getLong(position + 5), scale);
+            return position + 13;
+        }
+        byte[] unscaled = new byte[data.getInt(position + 5)];
+        data.duplicate().position(position + 9).get(unscaled);
+        number.set(new BigDecimal(new BigInteger(unscaled), scale));
+        return position + 9 + unscaled.length;
+    }
+
+    private int skip(int position) {
+        return data.get(position) == COMPACT ? position + 13 : position + 9 + data.getInt(position + 5);
+    }
+
+    /**
+     * Entry numbers found by a lookup, in the order the index visits them.
+     */
+    private static final class Matches {
+
+        private long[] entries = new long[16];
+        private int count;
+
+        void add(long entry) {
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, count * 2);
+            }
+            entries[count++] = entry;
+        }
+
+        /**
+         * Sorts the entries and drops repeats, which come from entries with both
+         * operands in range.
+         */
+        long[] toArray() {
+            Arrays.sort(entries, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || entries[i] != entries[distinct - 1]) {
+                    entries[distinct++] = entries[i];
+                }
+            }
+            return Arrays.copyOf(entries, distinct);
+        }
+    }
+}
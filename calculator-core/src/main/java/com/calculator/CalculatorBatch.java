@@ -0,0 +1,248 @@
+package com.calculator;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Headless entry point that replays keystroke scripts without starting JavaFX.
+ *
+ * Every line of a script is one calculator session: the model is cleared, the keys
+ * are applied exactly as the button handlers of {@code CalculatorController} apply
+ * them, and after each {@code =} the primary and expression displays are written as
+ * one tab-separated output line. Input and output go through fixed-size NIO buffers,
+ * so memory use does not depend on the size of the scripts. Scripts tend to repeat the
+ * same calculations, so the model memoizes multiplication and division results in a
+ * {@link CalculationCache}.
+ *
+ * <pre>
+ * java -jar calculator-core/target/calculator-core-1.0.0.jar [file...]
+ * java -cp calculator-core/target/classes com.calculator.CalculatorBatch [file...]
+ * </pre>
+ *
+ * With no arguments, or with {@code -}, the script is read from standard input.
+ * Results are computed in the standard precision tier unless the
+ * {@value Precision#PROPERTY} system property selects another {@link Precision}.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class CalculatorBatch {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int CACHE_SIZE = 4096;
+
+    private final CalculationCache cache = new CalculationCache(CACHE_SIZE);
+    private final CalculatorModel model = new CalculatorModel(cache);
+    private final KeystrokeScanner.Listener listener = new KeystrokeScanner.Listener() {
+        @Override
+        public void onKey(CalculatorKey key) {
+            handleKey(key);
+        }
+
+        @Override
+        public void onEndOfLine() {
+            model.clear();
+        }
+    };
+
+    private final ByteBuffer inputBytes;
+    private final CharBuffer inputChars;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+
+    private final CharBuffer outputChars;
+    private final ByteBuffer outputBytes;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final WritableByteChannel output;
+
+    /**
+     * Creates an evaluator writing its results to the given channel.
+     *
+     * @param output the channel receiving the results
+     */
+    public CalculatorBatch(WritableByteChannel output) {
+        this(output, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an evaluator with the given buffer size.
+     *
+     * @param output the channel receiving the results
+     * @param bufferSize the size of each input and output buffer
+     */
+    CalculatorBatch(WritableByteChannel output, int bufferSize) {
+        this.output = output;
+        // A buffer must hold at least one encoded character
+        int size = Math.max(bufferSize, 4);
+        this.inputBytes = ByteBuffer.allocate(size);
+        this.inputChars = CharBuffer.allocate(size);
+        this.outputChars = CharBuffer.allocate(size);
+        this.outputBytes = ByteBuffer.allocate(size);
+    }
+
+    /**
+     * Replays a whole script, writing a result line after every {@code =}.
+     * The output is flushed when the script ends.
+     *
+     * @param input the channel to read the script from
+     * @throws IOException if reading or writing fails, or the input is not valid UTF-8
+     * @throws IllegalArgumentException if the script contains an unknown key
+     */
+    public void run(ReadableByteChannel input) throws IOException {
+        KeystrokeScanner scanner = new KeystrokeScanner(listener);
+        decoder.reset();
+        inputBytes.clear();
+        try {
+            boolean endOfInput;
+            do {
+                endOfInput = input.read(inputBytes) < 0;
+                inputBytes.flip();
+                CoderResult result;
+                do {
+                    result = decoder.decode(inputBytes, inputChars, endOfInput);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    scanDecoded(scanner);
+                } while (result.isOverflow());
+                // Keep an incomplete multi-byte sequence for the next read
+                inputBytes.compact();
+            } while (!endOfInput);
+
+            decoder.flush(inputChars);
+            scanDecoded(scanner);
+            scanner.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all buffered output to the channel.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        outputChars.flip();
+        encodeOutput(true);
+        outputChars.clear();
+        encoder.flush(outputBytes);
+        drainOutput();
+        encoder.reset();
+    }
+
+    private void scanDecoded(KeystrokeScanner scanner) {
+        inputChars.flip();
+        scanner.scan(inputChars);
+        inputChars.clear();
+    }
+
+    private void handleKey(CalculatorKey key) {
+        key.applyTo(model);
+        if (key == CalculatorKey.EQUALS) {
+            try {
+                write(model.getCurrentDisplay());
+                write("\t");
+                write(model.getExpressionDisplay());
+                write("\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void write(String text) throws IOException {
+        int offset = 0;
+        while (offset < text.length()) {
+            if (!outputChars.hasRemaining()) {
+                outputChars.flip();
+                encodeOutput(false);
+                outputChars.compact();
+            }
+            int count = Math.min(outputChars.remaining(), text.length() - offset);
+            outputChars.put(text, offset, offset + count);
+            offset += count;
+        }
+    }
+
+    private void encodeOutput(boolean endOfOutput) throws IOException {
+        CoderResult result;
+        do {
+            result = encoder.encode(outputChars, outputBytes, endOfOutput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            drainOutput();
+        } while (result.isOverflow());
+    }
+
+    private void drainOutput() throws IOException {
+        outputBytes.flip();
+        while (outputBytes.hasRemaining()) {
+            output.write(outputBytes);
+        }
+        outputBytes.clear();
+    }
+
+    /**
+     * Switches the precision tier of the following results. The cache is only used by
+     * the standard tier.
+     *
+     * @param precision the precision tier
+     */
+    public void setPrecision(Precision precision) {
+        model.setPrecision(precision);
+    }
+
+    /**
+     * Gets the cache of calculation results, for its hit and miss counters.
+     *
+     * @return the calculation cache
+     */
+    public CalculationCache getCalculationCache() {
+        return cache;
+    }
+
+    /**
+     * Runs the scripts named on the command line, or standard input.
+     *
+     * @param args script files; {@code -} stands for standard input
+     */
+    public static void main(String[] args) {
+        FileChannel stdout = new FileOutputStream(FileDescriptor.out).getChannel();
+        CalculatorBatch batch = new CalculatorBatch(stdout);
+        String[] inputs = args.length == 0 ? new String[] {"-"} : args;
+        String current = Precision.PROPERTY;
+        try {
+            batch.setPrecision(Precision.fromSystemProperty());
+            for (String name : inputs) {
+                current = name;
+                if ("-".equals(name)) {
+                    batch.run(new FileInputStream(FileDescriptor.in).getChannel());
+                } else {
+                    try (FileChannel channel = FileChannel.open(Paths.get(name), StandardOpenOption.READ)) {
+                        batch.run(channel);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("CalculatorBatch: " + current + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+
+/**
+ * Enumeration of the calculator keys and the model command each one performs.
+ *
+ * Applying a key calls the same {@link CalculatorModel} method as the corresponding
+ * button handler in {@code CalculatorController}, so replaying keys headlessly gives
+ * exactly the results a user sees. The digit keys come first, so a digit key's
+ * ordinal is its value. Undo and redo come last, so the ordinals of the other keys
+ * stay as they were in journals recorded before them; they only have an effect on a
+ * model with undo turned on.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public enum CalculatorKey {
+    DIGIT_0("0"), DIGIT_1("1"), DIGIT_2("2"), DIGIT_3("3"), DIGIT_4("4"),
+    DIGIT_5("5"), DIGIT_6("6"), DIGIT_7("7"), DIGIT_8("8"), DIGIT_9("9"),
+    DECIMAL("."), SIGN("±"),
+    ADD("+"), SUBTRACT("-"), MULTIPLY("×"), DIVIDE("÷"),
+    EQUALS("="), CLEAR("AC"), CLEAR_ENTRY("CE"), BACKSPACE("←"),
+    UNDO("↶"), REDO("↷");
+
+    private static final CalculatorKey[] KEYS = values();
+
+    private final String label;
+
+    CalculatorKey(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the text shown on the key's button.
+     *
+     * @return the button label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Checks whether this is one of the digit keys 0-9.
+     *
+     * @return true for a digit key
+     */
+    public boolean isDigit() {
+        return ordinal() <= DIGIT_9.ordinal();
+    }
+
+    /**
+     * Gets the arithmetic operation of an operation key.
+     *
+     * @return the operation, or null if this is not an operation key
+     */
+    public Operation getOperation() {
+        switch (this) {
+            case ADD: return Operation.ADD;
+            case SUBTRACT: return Operation.SUBTRACT;
+            case MULTIPLY: return Operation.MULTIPLY;
+            case DIVIDE: return Operation.DIVIDE;
+            default: return null;
+        }
+    }
+
+    /**
+     * Performs this key's command on the model.
+     *
+     * @param model the model to update
+     */
+    public void applyTo(CalculatorModel model) {
+        switch (this) {
+            case DECIMAL:
+                model.inputDecimal();
+                break;
+            case SIGN:
+                model.toggleSign();
+                break;
+            case ADD: case SUBTRACT: case MULTIPLY: case DIVIDE:
+                model.setOperation(getOperation());
+                break;
+            case EQUALS:
+                model.calculate();
+                break;
+            case CLEAR:
+                model.clear();
+                break;
+            case CLEAR_ENTRY:
+                model.clearEntry();
+                break;
+            case BACKSPACE:
+                model.backspace();
+                break;
+            case UNDO:
+                model.undo();
+                break;
+            case REDO:
+                model.redo();
+                break;
+            default:
+                model.inputDigit(label);
+                break;
+        }
+    }
+
+    /**
+     * Gets the digit key for a digit value.
+     *
+     * @param digit the digit value (0-9)
+     * @return the corresponding key
+     * @throws IllegalArgumentException if the value is not a single digit
+     */
+    public static CalculatorKey digit(int digit) {
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Not a digit: " + digit);
+        }
+        return KEYS[digit];
+    }
+
+    /**
+     * Gets the key for an arithmetic operation.
+     *
+     * @param operation the operation
+     * @return the corresponding key
+     * @throws IllegalArgumentException if the operation is null
+     */
+    public static CalculatorKey operation(Operation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation must not be null");
+        }
+        switch (operation) {
+            case ADD: return ADD;
+            case SUBTRACT: return SUBTRACT;
+            case MULTIPLY: return MULTIPLY;
+            default: return DIVIDE;
+        }
+    }
+}
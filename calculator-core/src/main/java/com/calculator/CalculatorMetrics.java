@@ -0,0 +1,216 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide latency histograms and error counters for the calculator.
+ *
+ * {@link CalculatorModel} records the latency of every {@code calculate} per
+ * {@link Operation}, the latency of its keystroke methods and every error;
+ * the desktop controller records the time from a button event to the updated
+ * display. The values are published over JMX as {@value #OBJECT_NAME} and can be
+ * printed periodically with {@link #scheduleDump}.
+ *
+ * Recording is off by default. While it is off an instrumented call costs one
+ * volatile read; while it is on it costs two {@link System#nanoTime()} calls and an
+ * atomic increment, and never allocates. Recording is switched on with
+ * {@code -Dcalculator.metrics=true}, through JMX or with {@link #setEnabled}.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class CalculatorMetrics implements CalculatorMetricsMXBean {
+
+    /** JMX name of the metrics MBean. */
+    public static final String OBJECT_NAME = "com.calculator:type=CalculatorMetrics";
+
+    /** System property that switches recording on at startup. */
+    public static final String ENABLED_PROPERTY = "calculator.metrics";
+
+    /** System property with the period, in seconds, of a dump to standard error. */
+    public static final String DUMP_PROPERTY = "calculator.metrics.dump";
+
+    /** Start time returned by {@link #startTimer()} while recording is off. */
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private static final CalculatorMetrics INSTANCE = new CalculatorMetrics();
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static ScheduledExecutorService dumpExecutor;
+
+    private final LatencyHistogram[] calculations = new LatencyHistogram[OPERATIONS.length];
+    private final AtomicLongArray errors = new AtomicLongArray(OPERATIONS.length);
+    private final LatencyHistogram keystrokes = new LatencyHistogram();
+    private final LatencyHistogram displayUpdates = new LatencyHistogram();
+
+    private CalculatorMetrics() {
+        for (int i = 0; i < calculations.length; i++) {
+            calculations[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Gets the process-wide metrics.
+     *
+     * @return the metrics
+     */
+    public static CalculatorMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the MBean with the platform MBean server, if it is not registered
+     * yet, and starts the dump requested by {@value #DUMP_PROPERTY}.
+     *
+     * @throws IllegalStateException if the MBean cannot be registered
+     */
+    public static synchronized void install() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            return;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+        long period = Long.getLong(DUMP_PROPERTY, 0);
+        if (period > 0) {
+            scheduleDump(System.err, period, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Prints {@link #dump()} periodically on a daemon thread.
+     *
+     * @param out the stream to print to
+     * @param period the time between dumps
+     * @param unit the unit of {@code period}
+     * @return the scheduled dump, which can be cancelled
+     */
+    public static synchronized ScheduledFuture<?> scheduleDump(PrintStream out, long period, TimeUnit unit) {
+        if (dumpExecutor == null) {
+            dumpExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "calculator-metrics-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return dumpExecutor.scheduleAtFixedRate(() -> out.print(INSTANCE.dump()), period, period, unit);
+    }
+
+    /**
+     * Reads the clock if recording is on. Pass the result to one of the record
+     * methods when the timed work is done.
+     *
+     * @return the start time, or a marker the record methods ignore
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records the time from a button event, timed with {@link #startTimer()}, to
+     * the updated display.
+     *
+     * @param start the value returned by {@link #startTimer()}
+     */
+    public static void recordDisplayUpdate(long start) {
+        if (start != NOT_TIMED) {
+            INSTANCE.displayUpdates.record(System.nanoTime() - start);
+        }
+    }
+
+    static void recordKeystroke(long start) {
+        if (start != NOT_TIMED) {
+            INSTANCE.keystrokes.record(System.nanoTime() - start);
+        }
+    }
+
+    static void recordCalculation(Operation operation, long start) {
+        if (start != NOT_TIMED) {
+            INSTANCE.calculations[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    static void recordError(Operation operation) {
+        if (enabled && operation != null) {
+            INSTANCE.errors.incrementAndGet(operation.ordinal());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        CalculatorMetrics.enabled = enabled;
+    }
+
+    @Override
+    public Map<String, LatencySummary> getCalculationLatencies() {
+        Map<String, LatencySummary> latencies = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            latencies.put(operation.name(), LatencySummary.of(calculations[operation.ordinal()]));
+        }
+        return latencies;
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            counts.put(operation.name(), errors.get(operation.ordinal()));
+        }
+        return counts;
+    }
+
+    @Override
+    public LatencySummary getKeystrokeLatency() {
+        return LatencySummary.of(keystrokes);
+    }
+
+    @Override
+    public LatencySummary getDisplayUpdateLatency() {
+        return LatencySummary.of(displayUpdates);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < calculations.length; i++) {
+            calculations[i].reset();
+            errors.set(i, 0);
+        }
+        keystrokes.reset();
+        displayUpdates.reset();
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder text = new StringBuilder();
+        for (Operation operation : OPERATIONS) {
+            text.append(String.format("%-10s %s errors=%d%n", operation.name(),
+                    LatencySummary.of(calculations[operation.ordinal()]), errors.get(operation.ordinal())));
+        }
+        text.append(String.format("%-10s %s%n", "KEYSTROKE", getKeystrokeLatency()));
+        text.append(String.format("%-10s %s%n", "DISPLAY", getDisplayUpdateLatency()));
+        return text.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.calculator;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link CalculatorMetrics}, registered as
+ * {@value CalculatorMetrics#OBJECT_NAME}. All latencies are in nanoseconds.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public interface CalculatorMetricsMXBean {
+
+    /**
+     * Checks whether latencies are being recorded.
+     *
+     * @return true if recording
+     */
+    boolean isEnabled();
+
+    /**
+     * Starts or stops recording. Stopping keeps the values recorded so far.
+     *
+     * @param enabled true to record
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Gets the latency of {@code calculate} per operation, keyed by operation name.
+     *
+     * @return the summaries
+     */
+    Map<String, LatencySummary> getCalculationLatencies();
+
+    /**
+     * Gets the number of calculations that ended in an error, keyed by operation name.
+     *
+     * @return the error counts
+     */
+    Map<String, Long> getErrorCounts();
+
+    /**
+     * Gets the latency of the keystroke methods of the model.
+     *
+     * @return the summary
+     */
+    LatencySummary getKeystrokeLatency();
+
+    /**
+     * Gets the latency from a button event to the updated display.
+     *
+     * @return the summary
+     */
+    LatencySummary getDisplayUpdateLatency();
+
+    /**
+     * Discards every recorded value.
+     */
+    void reset();
+
+    /**
+     * Formats every metric as text, one line each.
+     *
+     * @return the text dump
+     */
+    String dump();
+}
@@ -0,0 +1,839 @@
+package com.calculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * Model class for the calculator that handles all business logic and calculations.
+ * This class maintains the state of the calculator and performs arithmetic operations.
+ * 
+ * Results are computed in the model's {@link Precision} tier. The standard tier, the
+ * default, takes the first branch of every calculation, so the other tiers cost it
+ * nothing but a field read.
+ * 
+ * With an undo limit set, see {@link #setUndoLimit(long)}, the model keeps the states
+ * its operations produced and {@link #undo()} and {@link #redo()} move between them.
+ * With a {@link CalculationHistory} set, every completed calculation is recorded on it.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public class CalculatorModel {
+    
+    /**
+     * System property setting the undo limit of the desktop application in bytes;
+     * 0 turns undo off.
+     */
+    public static final String UNDO_LIMIT_PROPERTY = "calculator.undo";
+    
+    /** Undo limit of the desktop application unless the property sets another: 1 MiB. */
+    public static final long DEFAULT_UNDO_LIMIT = 1 << 20;
+    
+    private final FixedDecimal currentValue = new FixedDecimal();
+    private final FixedDecimal storedValue = new FixedDecimal();
+    private final FixedDecimal result = new FixedDecimal();
+    private boolean hasStoredValue;
+    private final DigitAccumulator currentInput = new DigitAccumulator();
+    private Operation currentOperation;
+    private String errorMessage;
+    private String displayExpression;
+    private boolean hasError;
+    private boolean justCalculated;
+    private boolean inputStarted;
+    private final CalculationCache cache;
+    private Precision precision = Precision.STANDARD;
+    
+    /** States to undo and redo, or null while undo is off. */
+    private UndoHistory undoHistory;
+    
+    /** Tape of completed calculations, or null for none. */
+    private CalculationHistory history;
+    
+    /** Whether keys and calculations are reported to metrics and Flight Recorder. */
+    private boolean instrumented = true;
+    
+    /** Primary display text of the estimate shown, or null while none is shown. */
+    private String estimateDisplay;
+    private String estimateExpression;
+    private final FixedDecimal estimate = new FixedDecimal();
+    
+    /**
+     * Enumeration of supported arithmetic operations.
+     */
+    public enum Operation {
+        ADD("+"), SUBTRACT("-"), MULTIPLY("×"), DIVIDE("÷");
+        
+        private final String symbol;
+        
+        Operation(String symbol) {
+            this.symbol = symbol;
+        }
+        
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+    
+    /**
+     * Constructor initializes the calculator to its default state.
+     */
+    public CalculatorModel() {
+        this((CalculationCache) null);
+    }
+    
+    /**
+     * Creates a calculator that memoizes multiplication and division results.
+     * 
+     * @param cache the cache to look results up in, or null for none
+     */
+    public CalculatorModel(CalculationCache cache) {
+        this.cache = cache;
+        reset();
+    }
+    
+    /**
+     * Creates a calculator computing in a precision tier.
+     * 
+     * @param precision the precision tier
+     */
+    public CalculatorModel(Precision precision) {
+        this((CalculationCache) null);
+        setPrecision(precision);
+    }
+    
+    /**
+     * Switches to another precision tier and clears the calculator, so that every
+     * operand of the next calculation is entered in the new tier.
+     * 
+     * @param precision the precision tier
+     */
+    public void setPrecision(Precision precision) {
+        this.precision = Objects.requireNonNull(precision, "precision");
+        reset();
+        if (undoHistory != null) {
+            // States of another tier cannot be undone into this one
+            undoHistory = new UndoHistory(undoHistory.getLimit(), snapshot(0));
+        }
+    }
+    
+    /**
+     * Gets the precision tier results are computed in.
+     * 
+     * @return the precision tier
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+    
+    /**
+     * Turns undo on with a memory limit, or off. The history starts at the current
+     * state; an earlier history is dropped. When the states exceed the limit, the
+     * oldest ones are dropped, so tens of thousands of operations fit in a fixed
+     * budget and the model's memory never grows beyond it.
+     * 
+     * @param bytes the most memory the undo history may hold, or 0 to turn undo off
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public void setUndoLimit(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Undo limit must not be negative: " + bytes);
+        }
+        undoHistory = bytes == 0 ? null : new UndoHistory(bytes, snapshot(0));
+    }
+    
+    /**
+     * Gets the memory limit of the undo history.
+     * 
+     * @return the limit in bytes, or 0 while undo is off
+     */
+    public long getUndoLimit() {
+        return undoHistory == null ? 0 : undoHistory.getLimit();
+    }
+    
+    /**
+     * Returns to the state before the last operation that changed the display,
+     * in constant time.
+     * 
+     * @return true if a state was undone; false if there is none, or undo is off
+     */
+    public boolean undo() {
+        long start = startTimer();
+        try {
+            CalculatorState state = undoHistory == null ? null : undoHistory.undo();
+            if (state == null) {
+                return false;
+            }
+            restore(state);
+            return true;
+        } finally {
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Returns to the state last undone, in constant time. Any other operation after
+     * an undo drops the states that could be redone.
+     * 
+     * @return true if a state was redone; false if there is none, or undo is off
+     */
+    public boolean redo() {
+        long start = startTimer();
+        try {
+            CalculatorState state = undoHistory == null ? null : undoHistory.redo();
+            if (state == null) {
+                return false;
+            }
+            restore(state);
+            return true;
+        } finally {
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Checks whether {@link #undo()} would change the state.
+     * 
+     * @return true if there is a state to undo
+     */
+    public boolean canUndo() {
+        return undoHistory != null && undoHistory.getUndoCount() > 0;
+    }
+    
+    /**
+     * Checks whether {@link #redo()} would change the state.
+     * 
+     * @return true if there is a state to redo
+     */
+    public boolean canRedo() {
+        return undoHistory != null && undoHistory.getRedoCount() > 0;
+    }
+    
+    /**
+     * Sets the tape every completed calculation is recorded on.
+     * 
+     * @param history the tape, or null for none
+     */
+    public void setHistory(CalculationHistory history) {
+        this.history = history;
+    }
+    
+    /**
+     * Gets the tape completed calculations are recorded on.
+     * 
+     * @return the tape, or null if there is none
+     */
+    public CalculationHistory getHistory() {
+        return history;
+    }
+    
+    /**
+     * Turns reporting to {@link CalculatorMetrics} and Flight Recorder on or off, for
+     * models whose transitions may be thrown away and are reported by their caller.
+     * 
+     * @param instrumented false to keep this model's keys and calculations out of
+     *                     metrics and recordings
+     */
+    void setInstrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+    }
+    
+    /**
+     * Clears all calculator state (All Clear operation).
+     */
+    public void clear() {
+        long start = startTimer();
+        reset();
+        remember();
+        CalculatorMetrics.recordKeystroke(start);
+    }
+    
+    /**
+     * Resets all calculator state without recording a keystroke.
+     */
+    private void reset() {
+        estimateDisplay = null;
+        currentValue.set(0, 0);
+        hasStoredValue = false;
+        currentOperation = null;
+        currentInput.reset();
+        errorMessage = null;
+        displayExpression = "";
+        hasError = false;
+        justCalculated = false;
+        inputStarted = false;
+    }
+    
+    /**
+     * Clears only the current entry (Clear Entry operation).
+     */
+    public void clearEntry() {
+        long start = startTimer();
+        try {
+            estimateDisplay = null;
+            if (hasError) {
+                reset();
+                return;
+            }
+            
+            currentInput.reset();
+            currentValue.set(0, 0);
+            inputStarted = false;
+        } finally {
+            remember();
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Removes the last digit from the current input (Backspace operation).
+     */
+    public void backspace() {
+        long start = startTimer();
+        try {
+            estimateDisplay = null;
+            if (hasError || justCalculated) {
+                reset();
+                return;
+            }
+            
+            if (currentInput.length() > 1) {
+                currentInput.removeLast();
+            } else {
+                currentInput.reset();
+                inputStarted = false;
+            }
+            
+            try {
+                currentInput.toValue(currentValue);
+            } catch (NumberFormatException e) {
+                currentValue.set(0, 0);
+                currentInput.reset();
+            }
+        } finally {
+            remember();
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Adds a digit to the current input.
+     * 
+     * @param digit the digit to add (0-9)
+     */
+    public void inputDigit(String digit) {
+        long start = startTimer();
+        try {
+            estimateDisplay = null;
+            if (hasError) {
+                reset();
+            }
+            
+            if (justCalculated) {
+                reset();
+            }
+            
+            if (!inputStarted || currentInput.isZero()) {
+                // Replaces the input, including a leading "0"
+                currentInput.setText(digit);
+                inputStarted = true;
+            } else {
+                if (currentInput.length() < precision.getDisplayLength()) {
+                    currentInput.append(digit);
+                }
+            }
+            
+            try {
+                currentInput.toValue(currentValue);
+            } catch (NumberFormatException e) {
+                // Should not happen with valid digits, but handle gracefully
+                currentInput.reset();
+                currentValue.set(0, 0);
+            }
+        } finally {
+            remember();
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Adds a decimal point to the current input.
+     */
+    public void inputDecimal() {
+        long start = startTimer();
+        try {
+            estimateDisplay = null;
+            if (hasError) {
+                reset();
+            }
+            
+            if (justCalculated) {
+                reset();
+            }
+            
+            if (!inputStarted) {
+                currentInput.setText("0.");
+                inputStarted = true;
+            } else if (!currentInput.containsPoint() && currentInput.length() < precision.getDisplayLength() - 1) {
+                currentInput.appendPoint();
+            }
+        } finally {
+            remember();
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Changes the sign of the current number (positive/negative toggle).
+     */
+    public void toggleSign() {
+        long start = startTimer();
+        try {
+            estimateDisplay = null;
+            if (hasError) {
+                return;
+            }
+            
+            if (currentValue.isPlainZero()) {
+                return;
+            }
+            
+            currentValue.negate();
+            currentInput.setText(formatNumber(currentValue));
+            inputStarted = true;
+        } finally {
+            remember();
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Sets the current operation and prepares for the next operand.
+     * 
+     * @param operation the operation to set
+     */
+    public void setOperation(Operation operation) {
+        long start = startTimer();
+        try {
+            estimateDisplay = null;
+            if (hasError) {
+                return;
+            }
+            
+            if (currentOperation != null && inputStarted && !justCalculated) {
+                // Chain operations: calculate current result first
+                calculateResult();
+                if (hasError) {
+                    return;
+                }
+            }
+            
+            storedValue.set(currentValue);
+            hasStoredValue = true;
+            currentOperation = operation;
+            displayExpression = formatNumber(currentValue) + " " + operation.getSymbol();
+            inputStarted = false;
+            justCalculated = false;
+        } finally {
+            remember();
+            CalculatorMetrics.recordKeystroke(start);
+        }
+    }
+    
+    /**
+     * Performs the calculation using the stored operation and operands.
+     */
+    public void calculate() {
+        calculateResult();
+        remember();
+    }
+    
+    /**
+     * Performs the calculation, as the equals key or as the first step of a chained
+     * operation.
+     */
+    private void calculateResult() {
+        estimateDisplay = null;
+        if (hasError || currentOperation == null || !hasStoredValue) {
+            return;
+        }
+        
+        if (!instrumented) {
+            evaluate();
+            return;
+        }
+        Operation operation = currentOperation;
+        CalculationEvent event = new CalculationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation.name();
+            event.leftDigits = storedValue.precision();
+            event.rightDigits = currentValue.precision();
+        }
+        long start = startTimer();
+        event.begin();
+        evaluate();
+        event.error = hasError;
+        event.commit();
+        CalculatorMetrics.recordCalculation(operation, start);
+    }
+    
+    /**
+     * Applies the stored operation to the operands and shows the result, or an error.
+     */
+    private void evaluate() {
+        if (currentOperation == Operation.DIVIDE && currentValue.isPlainZero()) {
+            setError("Error: Division by zero");
+            return;
+        }
+        
+        try {
+            if (precision.getTier() != Precision.Tier.STANDARD) {
+                evaluateInTier();
+            } else if (cache == null || !cache.get(storedValue, currentOperation, currentValue, result)) {
+                result.set(storedValue);
+                
+                switch (currentOperation) {
+                    case ADD:
+                        result.add(currentValue);
+                        break;
+                    case SUBTRACT:
+                        result.subtract(currentValue);
+                        break;
+                    case MULTIPLY:
+                        result.multiply(currentValue);
+                        break;
+                    case DIVIDE:
+                        result.divide(currentValue);
+                        break;
+                    default:
+                        return;
+                }
+                
+                if (cache != null) {
+                    cache.put(storedValue, currentOperation, currentValue, result);
+                }
+            }
+            
+            // Update expression to show complete calculation
+            displayExpression = formatNumber(storedValue) + " " + currentOperation.getSymbol() + 
+                               " " + formatNumber(currentValue) + " =";
+            if (history != null) {
+                history.add(currentOperation, storedValue, currentValue, result);
+            }
+            
+            currentValue.set(result);
+            currentInput.setText(formatNumber(result));
+            justCalculated = true;
+            inputStarted = false;
+            
+            // Clear operation state
+            currentOperation = null;
+            hasStoredValue = false;
+            
+        } catch (ArithmeticException e) {
+            setError("Error: Calculation overflow");
+        } catch (Exception e) {
+            setError("Error: Invalid operation");
+        }
+    }
+    
+    /**
+     * Computes the result in the fast or an arbitrary precision tier. The cache only
+     * holds standard results and is not used.
+     */
+    private void evaluateInTier() {
+        if (precision.getTier() == Precision.Tier.FAST) {
+            double value = apply(currentOperation, storedValue.toDouble(), currentValue.toDouble());
+            if (!Double.isFinite(value)) {
+                throw new ArithmeticException("Overflow");
+            }
+            result.setRounded(value, precision.getDigits());
+            return;
+        }
+        
+        MathContext mathContext = precision.getMathContext();
+        BigDecimal left = storedValue.toBigDecimal();
+        BigDecimal right = currentValue.toBigDecimal();
+        switch (currentOperation) {
+            case ADD:
+                result.set(left.add(right, mathContext));
+                break;
+            case SUBTRACT:
+                result.set(left.subtract(right, mathContext));
+                break;
+            case MULTIPLY:
+                result.set(left.multiply(right, mathContext));
+                break;
+            case DIVIDE:
+                result.set(left.divide(right, mathContext));
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation: " + currentOperation);
+        }
+    }
+    
+    /**
+     * Applies an operation in {@code double} precision.
+     * 
+     * @return the result, or NaN for a division by zero
+     */
+    private static double apply(Operation operation, double left, double right) {
+        switch (operation) {
+            case ADD:
+                return left + right;
+            case SUBTRACT:
+                return left - right;
+            case MULTIPLY:
+                return left * right;
+            case DIVIDE:
+                return right == 0 ? Double.NaN : left / right;
+            default:
+                throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+    
+    /**
+     * Shows a quick estimate of the result a key is about to produce, computed in
+     * {@code double} precision from the operands, while the exact result is still
+     * being calculated. Until the estimate is withdrawn, the primary display shows
+     * the estimate and the expression ends in {@code ≈} instead of {@code =}; the
+     * state itself is unchanged. The estimate is withdrawn by
+     * {@link #withdrawEstimate()}, by restoring a state and by any operation.
+     * 
+     * @param key the key about to be applied
+     * @return true if the key completes a calculation and its estimate is shown;
+     *         false if it does not, or if the calculation fails
+     */
+    public boolean showEstimate(CalculatorKey key) {
+        if (!completes(key, hasError, currentOperation, hasStoredValue, inputStarted, justCalculated)) {
+            return false;
+        }
+        
+        double value = apply(currentOperation, storedValue.toDouble(), currentValue.toDouble());
+        if (!Double.isFinite(value)) {
+            return false;
+        }
+        
+        estimate.set(BigDecimal.valueOf(value).round(precision.getMathContext()));
+        estimateDisplay = formatNumber(estimate);
+        estimateExpression = formatNumber(storedValue) + " " + currentOperation.getSymbol() +
+                             " " + formatNumber(currentValue) + " ≈";
+        return true;
+    }
+    
+    /**
+     * Checks whether a key completes a calculation in a state: equals, or an
+     * operation key chained after a second operand.
+     */
+    static boolean completes(CalculatorKey key, boolean hasError, Operation currentOperation,
+                                     boolean hasStoredValue, boolean inputStarted,
+                                     boolean justCalculated) {
+        if (hasError || currentOperation == null || !hasStoredValue) {
+            return false;
+        }
+        return key == CalculatorKey.EQUALS
+                || key.getOperation() != null && inputStarted && !justCalculated;
+    }
+    
+    /**
+     * Withdraws the estimate shown by {@link #showEstimate}, if any.
+     */
+    public void withdrawEstimate() {
+        estimateDisplay = null;
+    }
+    
+    /**
+     * Checks whether the display shows an estimate rather than the exact state.
+     * 
+     * @return true while an estimate is shown
+     */
+    public boolean isEstimate() {
+        return estimateDisplay != null;
+    }
+    
+    /**
+     * Captures the complete state of this calculator as an immutable snapshot.
+     * 
+     * @param version the version number of the snapshot
+     * @return the snapshot
+     */
+    CalculatorState snapshot(long version) {
+        return snapshot(version, null);
+    }
+    
+    /**
+     * Captures the complete state of this calculator, sharing the parts that are
+     * equal in a previous snapshot.
+     * 
+     * @param version the version number of the snapshot
+     * @param previous the snapshot to share parts with, or null
+     * @return the snapshot
+     */
+    CalculatorState snapshot(long version, CalculatorState previous) {
+        return new CalculatorState(previous, version, precision, currentValue,
+                hasStoredValue ? storedValue : null, currentInput.toString(), currentOperation,
+                errorMessage, displayExpression, hasError, justCalculated, inputStarted);
+    }
+    
+    /**
+     * Records on the tape the calculation a key completed, when the state the key
+     * produced was computed by another model and has been restored into this one.
+     * 
+     * @param before the state the key was applied to
+     * @param key the key
+     */
+    void recordCalculation(CalculatorState before, CalculatorKey key) {
+        if (history == null || hasError || !completes(key, before.hasError, before.currentOperation,
+                before.storedValue != null, before.inputStarted, before.justCalculated)) {
+            return;
+        }
+        // After equals and after a chained operation alike, the result is the current value
+        history.add(before.currentOperation, before.storedValue, before.currentValue, currentValue);
+    }
+    
+    /**
+     * Records the current state in the undo history, if undo is on and the state
+     * changed. The public operations do this themselves; it is needed after a state
+     * computed elsewhere has been restored as the result of an operation.
+     */
+    void remember() {
+        if (undoHistory != null) {
+            undoHistory.record(this);
+        }
+    }
+    
+    /**
+     * Gets the undo history.
+     * 
+     * @return the history, or null while undo is off
+     */
+    UndoHistory getUndoHistory() {
+        return undoHistory;
+    }
+    
+    /**
+     * Replaces the complete state of this calculator with a snapshot and, if undo is
+     * on, its undo history with a saved timeline, keeping this model's undo limit.
+     * The state is recorded in the history if it is not the timeline's current one.
+     * 
+     * @param state the snapshot to restore
+     * @param timeline the undo states, oldest first, or null to keep the history
+     * @param cursor the position of the current state in the timeline
+     */
+    void restore(CalculatorState state, CalculatorState[] timeline, int cursor) {
+        restore(state);
+        if (undoHistory != null && timeline != null) {
+            undoHistory = new UndoHistory(undoHistory.getLimit(), timeline, cursor);
+        }
+        remember();
+    }
+    
+    /**
+     * Replaces the complete state of this calculator with a snapshot.
+     * 
+     * @param state the snapshot to restore
+     */
+    void restore(CalculatorState state) {
+        estimateDisplay = null;
+        precision = state.precision;
+        currentValue.set(state.currentValue);
+        hasStoredValue = state.storedValue != null;
+        if (hasStoredValue) {
+            storedValue.set(state.storedValue);
+        }
+        currentInput.setText(state.currentInput);
+        currentOperation = state.currentOperation;
+        errorMessage = state.errorMessage;
+        displayExpression = state.displayExpression;
+        hasError = state.hasError;
+        justCalculated = state.justCalculated;
+        inputStarted = state.inputStarted;
+    }
+    
+    /**
+     * Reads the clock for {@link CalculatorMetrics} if this model reports to it.
+     * 
+     * @return the start time, or a marker the record methods ignore
+     */
+    private long startTimer() {
+        return instrumented ? CalculatorMetrics.startTimer() : CalculatorMetrics.NOT_TIMED;
+    }
+    
+    /**
+     * Sets an error state with the given message.
+     * 
+     * @param errorMessage the error message to display
+     */
+    private void setError(String errorMessage) {
+        if (instrumented) {
+            CalculatorMetrics.recordError(currentOperation);
+        }
+        hasError = true;
+        this.errorMessage = errorMessage;
+        displayExpression = "";
+        currentOperation = null;
+        hasStoredValue = false;
+    }
+    
+    /**
+     * Formats a number for display, removing unnecessary trailing zeros.
+     * Numbers too long for the display fall back to scientific notation, cut
+     * to the display length.
+     * 
+     * @param number the number to format
+     * @return formatted string representation
+     */
+    private String formatNumber(FixedDecimal number) {
+        return number.toDisplayString(precision.getDisplayLength());
+    }
+    
+    // Getters for the view
+    
+    /**
+     * Gets the current display value.
+     * 
+     * @return the current display value
+     */
+    public String getCurrentDisplay() {
+        if (estimateDisplay != null) {
+            return estimateDisplay;
+        }
+        return hasError ? errorMessage : currentInput.toString();
+    }
+    
+    /**
+     * Gets the current expression display.
+     * 
+     * @return the current expression
+     */
+    public String getExpressionDisplay() {
+        return estimateDisplay != null ? estimateExpression : displayExpression;
+    }
+    
+    /**
+     * Checks if the calculator is in an error state.
+     * 
+     * @return true if there's an error, false otherwise
+     */
+    public boolean hasError() {
+        return hasError;
+    }
+    
+    /**
+     * Gets the current numeric value for testing purposes.
+     * 
+     * @return the current numeric value
+     */
+    public BigDecimal getCurrentValue() {
+        return currentValue.toBigDecimal();
+    }
+    
+    /**
+     * Gets the current operation for testing purposes.
+     * 
+     * @return the current operation, or null if none
+     */
+    public Operation getCurrentOperation() {
+        return currentOperation;
+    }
+}
@@ -0,0 +1,311 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Immutable snapshot of the complete state of a calculator session.
+ *
+ * A state never changes once created: applying a key returns a new state and leaves
+ * this one untouched, so a state can be shared freely between threads. Transitions
+ * are computed by {@link CalculatorModel} itself, so a sequence of states behaves
+ * exactly like the mutable model given the same keys.
+ *
+ * Every state carries a version number, the number of transitions since the
+ * {@link #initial() initial} state. {@link ConcurrentCalculatorModel} uses it to order
+ * the keys applied by concurrent producers.
+ *
+ * A state can be created from a previous one, sharing every part that did not change
+ * instead of copying it. {@link UndoHistory} keeps its states that way, so a long run
+ * of states costs little more than what actually changed between them.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class CalculatorState {
+
+    private static final CalculatorState INITIAL = new CalculatorModel().snapshot(0);
+
+    /** Per-thread model used to compute transitions; fully overwritten by every restore. */
+    private static final ThreadLocal<CalculatorModel> SCRATCH =
+            ThreadLocal.withInitial(CalculatorModel::new);
+
+    /** Like {@link #SCRATCH}, but reports nothing to metrics or Flight Recorder. */
+    private static final ThreadLocal<CalculatorModel> UNRECORDED_SCRATCH =
+            ThreadLocal.withInitial(CalculatorState::unrecordedModel);
+
+    /** Estimated heap bytes of a state object itself, see {@link #footprint}. */
+    private static final int STATE_BYTES = 56;
+    private static final int DECIMAL_BYTES = 32;
+    private static final int BIG_DECIMAL_BYTES = 96;
+    private static final int STRING_BYTES = 40;
+
+    private final long version;
+    final Precision precision;
+    final FixedDecimal currentValue;
+    /** The stored operand, or null if there is none. */
+    final FixedDecimal storedValue;
+    final String currentInput;
+    final Operation currentOperation;
+    final String errorMessage;
+    final String displayExpression;
+    final boolean hasError;
+    final boolean justCalculated;
+    final boolean inputStarted;
+
+    /**
+     * Creates a snapshot. The decimals are copied, so the caller may keep mutating them.
+     */
+    CalculatorState(long version, Precision precision, FixedDecimal currentValue,
+                    FixedDecimal storedValue, String currentInput, Operation currentOperation,
+                    String errorMessage, String displayExpression, boolean hasError,
+                    boolean justCalculated, boolean inputStarted) {
+        this(null, version, precision, currentValue, storedValue, currentInput,
+                currentOperation, errorMessage, displayExpression, hasError, justCalculated,
+                inputStarted);
+    }
+
+    /**
+     * Creates a snapshot that shares the decimals and texts equal to those of a
+     * previous state, and copies only the decimals that differ. A stored operand equal
+     * to the current value is shared with it.
+     */
+    CalculatorState(CalculatorState previous, long version, Precision precision,
+                    FixedDecimal currentValue, FixedDecimal storedValue, String currentInput,
+                    Operation currentOperation, String errorMessage, String displayExpression,
+                    boolean hasError, boolean justCalculated, boolean inputStarted) {
+        this.version = version;
+        this.precision = precision;
+        this.currentValue = share(currentValue, previous);
+        this.storedValue = storedValue != null && storedValue.sameAs(this.currentValue)
+                ? this.currentValue : share(storedValue, previous);
+        this.currentInput = previous == null ? currentInput : share(currentInput, previous.currentInput);
+        this.currentOperation = currentOperation;
+        this.errorMessage = previous == null ? errorMessage : share(errorMessage, previous.errorMessage);
+        this.displayExpression = previous == null
+                ? displayExpression : share(displayExpression, previous.displayExpression);
+        this.hasError = hasError;
+        this.justCalculated = justCalculated;
+        this.inputStarted = inputStarted;
+    }
+
+    /**
+     * Gets the state of a freshly cleared calculator, with version 0.
+     *
+     * @return the initial state
+     */
+    public static CalculatorState initial() {
+        return INITIAL;
+    }
+
+    /**
+     * Computes the state that results from pressing a key in this state.
+     *
+     * @param key the key to press
+     * @return the next state, with a version one higher than this one
+     */
+    public CalculatorState apply(CalculatorKey key) {
+        return apply(key::applyTo);
+    }
+
+    /**
+     * Computes the state that results from running a model command in this state.
+     * The command must only call the model's public operations.
+     *
+     * @param command the command to run
+     * @return the next state, with a version one higher than this one
+     */
+    CalculatorState apply(Consumer<CalculatorModel> command) {
+        return apply(SCRATCH.get(), command);
+    }
+
+    /**
+     * Computes the state that results from pressing a key in this state, like
+     * {@link #apply(CalculatorKey)}, but without reporting the key or its calculation
+     * to {@link CalculatorMetrics} or Flight Recorder. For callers that may throw the
+     * result away and report only the transition they keep.
+     *
+     * @param key the key to press
+     * @return the next state, with a version one higher than this one
+     */
+    CalculatorState applyUnrecorded(CalculatorKey key) {
+        return apply(UNRECORDED_SCRATCH.get(), key::applyTo);
+    }
+
+    /**
+     * Checks whether a key completes a calculation in this state: equals, or an
+     * operation key chained after a second operand.
+     *
+     * @param key the key
+     * @return true if pressing the key calculates
+     */
+    boolean completes(CalculatorKey key) {
+        return CalculatorModel.completes(key, hasError, currentOperation, storedValue != null,
+                inputStarted, justCalculated);
+    }
+
+    private CalculatorState apply(CalculatorModel model, Consumer<CalculatorModel> command) {
+        model.restore(this);
+        command.accept(model);
+        return model.snapshot(version + 1);
+    }
+
+    private static CalculatorModel unrecordedModel() {
+        CalculatorModel model = new CalculatorModel();
+        model.setInstrumented(false);
+        return model;
+    }
+
+    /**
+     * Checks whether another state shows and continues exactly like this one. The
+     * versions are not compared.
+     *
+     * @param other the state to compare with
+     * @return true if the two states are interchangeable
+     */
+    boolean sameAs(CalculatorState other) {
+        return hasError == other.hasError
+                && justCalculated == other.justCalculated
+                && inputStarted == other.inputStarted
+                && currentOperation == other.currentOperation
+                && precision.equals(other.precision)
+                && currentValue.sameAs(other.currentValue)
+                && (storedValue == null ? other.storedValue == null
+                        : other.storedValue != null && storedValue.sameAs(other.storedValue))
+                && currentInput.equals(other.currentInput)
+                && Objects.equals(errorMessage, other.errorMessage)
+                && displayExpression.equals(other.displayExpression);
+    }
+
+    /**
+     * Estimates the heap bytes this state adds to a previous state it was created
+     * from: the state itself and the parts it does not share with the previous one.
+     *
+     * @param previous the state this one shares parts with, or null for the full size
+     * @return the estimated size in bytes
+     */
+    int footprint(CalculatorState previous) {
+        int size = STATE_BYTES + footprint(currentValue, previous);
+        if (storedValue != currentValue) {
+            size += footprint(storedValue, previous);
+        }
+        if (previous == null || currentInput != previous.currentInput) {
+            size += footprint(currentInput);
+        }
+        if (previous == null || errorMessage != previous.errorMessage) {
+            size += footprint(errorMessage);
+        }
+        if (previous == null || displayExpression != previous.displayExpression) {
+            size += footprint(displayExpression);
+        }
+        return size;
+    }
+
+    private static int footprint(FixedDecimal value, CalculatorState previous) {
+        if (value == null || previous != null
+                && (value == previous.currentValue || value == previous.storedValue)) {
+            return 0;
+        }
+        // An inflated value holds a BigDecimal of a little under half a byte per digit
+        return value.isCompact() ? DECIMAL_BYTES : DECIMAL_BYTES + BIG_DECIMAL_BYTES + value.precision() / 2;
+    }
+
+    private static int footprint(String text) {
+        // Worst case of UTF-16, which the operation symbols force on the expression
+        return text == null ? 0 : STRING_BYTES + 2 * text.length();
+    }
+
+    /**
+     * Gets a decimal equal to a value from a previous state, or else a copy of it. A
+     * new stored operand is usually the previous current value.
+     */
+    private static FixedDecimal share(FixedDecimal value, CalculatorState previous) {
+        if (value == null) {
+            return null;
+        }
+        if (previous != null) {
+            if (previous.currentValue.sameAs(value)) {
+                return previous.currentValue;
+            }
+            if (previous.storedValue != null && previous.storedValue.sameAs(value)) {
+                return previous.storedValue;
+            }
+        }
+        return new FixedDecimal().set(value);
+    }
+
+    private static String share(String text, String previous) {
+        return text != null && text.equals(previous) ? previous : text;
+    }
+
+    /**
+     * Gets the number of transitions since the initial state.
+     *
+     * @return the version number
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the current display value.
+     *
+     * @return the current display value
+     */
+    public String getCurrentDisplay() {
+        return hasError ? errorMessage : currentInput;
+    }
+
+    /**
+     * Gets the current expression display.
+     *
+     * @return the current expression
+     */
+    public String getExpressionDisplay() {
+        return displayExpression;
+    }
+
+    /**
+     * Checks if the calculator is in an error state.
+     *
+     * @return true if there's an error, false otherwise
+     */
+    public boolean hasError() {
+        return hasError;
+    }
+
+    /**
+     * Gets the current numeric value.
+     *
+     * @return the current numeric value
+     */
+    public BigDecimal getCurrentValue() {
+        return currentValue.toBigDecimal();
+    }
+
+    /**
+     * Gets the precision tier the calculation is computed in.
+     *
+     * @return the precision tier
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Gets the current operation.
+     *
+     * @return the current operation, or null if none
+     */
+    public Operation getCurrentOperation() {
+        return currentOperation;
+    }
+
+    @Override
+    public String toString() {
+        return "CalculatorState[version=" + version + ", display=" + getCurrentDisplay()
+                + ", expression=" + displayExpression + "]";
+    }
+}
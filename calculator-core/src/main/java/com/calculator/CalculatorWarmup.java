@@ -0,0 +1,271 @@
+package com.calculator;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background JIT warm-up of the calculation engine.
+ *
+ * Right after launch the model runs in the interpreter, and the first division of
+ * a session - {@code BigDecimal.divide} with the model's math context - is many
+ * times slower than it will be once compiled. The warm-up drives a representative
+ * workload through a private {@link CalculatorModel} on a low-priority daemon thread
+ * while the application shows its first frame, so the JIT compiles the hot paths
+ * before the user's first keystroke.
+ *
+ * The workload replays keystroke scripts covering digit entry, the decimal point,
+ * sign changes, editing keys, chained operations, non-terminating and exact
+ * divisions, products that leave the fixed-width fast path, and division by zero.
+ * Each iteration shifts every digit so the values keep changing. It runs until its
+ * time budget is used up.
+ *
+ * The model is set up like the desktop application's: it computes in the precision
+ * tier the application runs, keeps undo history under the same limit, records
+ * calculations on a history tape when the application does, and hands the equals
+ * and operation keys to a scratch model the way {@link AsyncEvaluator} does. The JIT
+ * therefore profiles the branches the first real keystrokes take, and does not have
+ * to recompile them for the user.
+ *
+ * The model reports to {@link CalculatorMetrics} and Flight Recorder like any other.
+ * When the warm-up ends it resets the metrics, if they are on, so the latency
+ * histograms only show what users did; keys typed before the warm-up ends are
+ * dropped with it. Its {@code Calculation} events stay in a recording and are told
+ * apart by their thread, {@code calculator-warmup}.
+ *
+ * The warm-up is off by default and switched on with
+ * {@code -Dcalculator.warmup=true}; {@code -Dcalculator.warmup.millis} sets the
+ * budget.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class CalculatorWarmup implements Runnable {
+
+    /** System property that switches the warm-up on at startup. */
+    public static final String ENABLED_PROPERTY = "calculator.warmup";
+
+    /** System property with the time budget of the warm-up, in milliseconds. */
+    public static final String MILLIS_PROPERTY = "calculator.warmup.millis";
+
+    /** Time budget used when {@value #MILLIS_PROPERTY} is not set. */
+    public static final long DEFAULT_MILLIS = 500;
+
+    private static final String[] SCRIPTS = {
+        "12.5 + 7 =",
+        "10 ÷ 3 =",
+        "1 ÷ 7 × 7 =",
+        "987654321 × 123456789 =",
+        "99999999999 × 99999999999 × 99999 =",
+        "45 - 67 ± + 2.25 =",
+        "3.14159 × 2 ÷ 0.5 - 1 =",
+        "8 ÷ 0 =",
+        "1234567← 89 CE 42 × 1.5 =",
+        "AC 0.000123 × 0.000456 = ÷ 9 ="
+    };
+
+    private static final CalculatorKey[] KEYS = parse(SCRIPTS);
+
+    /** Capacity of the warm-up tape; small, so it also wraps around. */
+    private static final int TAPE_CAPACITY = 1024;
+
+    private final long budgetNanos;
+    private final PrintStream out;
+    private final Precision precision;
+
+    private volatile long iterations;
+    private volatile long elapsedNanos;
+    private volatile boolean done;
+
+    /**
+     * Creates a warm-up of the standard precision tier that runs for the given time.
+     *
+     * @param budget the time budget
+     * @param unit the unit of {@code budget}
+     * @param out the stream the summary is printed to when done, or null
+     */
+    public CalculatorWarmup(long budget, TimeUnit unit, PrintStream out) {
+        this(budget, unit, out, Precision.STANDARD);
+    }
+
+    /**
+     * Creates a warm-up of a precision tier that runs for the given time.
+     *
+     * @param budget the time budget
+     * @param unit the unit of {@code budget}
+     * @param out the stream the summary is printed to when done, or null
+     * @param precision the tier to compile the paths of
+     */
+    public CalculatorWarmup(long budget, TimeUnit unit, PrintStream out, Precision precision) {
+        this.budgetNanos = unit.toNanos(budget);
+        this.out = out;
+        this.precision = Objects.requireNonNull(precision, "precision");
+    }
+
+    /**
+     * Starts the warm-up on a background thread if {@value #ENABLED_PROPERTY} is set,
+     * in the tier named by {@value Precision#PROPERTY}. The summary is printed to
+     * standard error when it is done.
+     *
+     * @return the running warm-up, or null if it is not enabled
+     * @throws IllegalArgumentException if the precision property names no tier
+     */
+    public static CalculatorWarmup startIfEnabled() {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return null;
+        }
+        CalculatorWarmup warmup = new CalculatorWarmup(
+            Long.getLong(MILLIS_PROPERTY, DEFAULT_MILLIS), TimeUnit.MILLISECONDS, System.err,
+            Precision.fromSystemProperty());
+        warmup.start();
+        return warmup;
+    }
+
+    /**
+     * Runs the warm-up on a new low-priority daemon thread.
+     *
+     * @return the thread
+     */
+    public Thread start() {
+        Thread thread = new Thread(this, "calculator-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Runs the warm-up on the calling thread until the budget is used up or the
+     * thread is interrupted, then resets the metrics if they are on.
+     *
+     * @throws IllegalArgumentException if the undo limit property is negative
+     */
+    @Override
+    public void run() {
+        CalculatorModel model = new CalculatorModel(precision);
+        model.setUndoLimit(Long.getLong(CalculatorModel.UNDO_LIMIT_PROPERTY,
+            CalculatorModel.DEFAULT_UNDO_LIMIT));
+        if (Integer.getInteger(CalculationHistory.PROPERTY, CalculationHistory.DEFAULT_CAPACITY) != 0) {
+            model.setHistory(new CalculationHistory(TAPE_CAPACITY));
+        }
+        long start = System.nanoTime();
+        long count = 0;
+        long elapsed;
+        do {
+            runIteration(model, count);
+            count++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < budgetNanos && !Thread.currentThread().isInterrupted());
+
+        CalculatorMetrics metrics = CalculatorMetrics.getInstance();
+        if (metrics.isEnabled()) {
+            metrics.reset();
+        }
+        iterations = count;
+        elapsedNanos = elapsed;
+        done = true;
+        if (out != null) {
+            out.println(this);
+        }
+    }
+
+    /**
+     * Replays every script once, with each digit shifted by the iteration number.
+     */
+    private static void runIteration(CalculatorModel model, long iteration) {
+        int shift = (int) (iteration % 10);
+        for (CalculatorKey key : KEYS) {
+            if (key.isDigit()) {
+                key = CalculatorKey.digit((key.ordinal() + shift) % 10);
+            }
+            press(model, key);
+        }
+        model.clear();
+    }
+
+    /**
+     * Applies a key as the desktop application does: the keys it evaluates in the
+     * background are applied to a snapshot and the result is restored, otherwise the
+     * key goes to the model directly.
+     */
+    private static void press(CalculatorModel model, CalculatorKey key) {
+        if (!AsyncEvaluator.evaluates(key)) {
+            key.applyTo(model);
+            return;
+        }
+        CalculatorState before = model.snapshot(0);
+        model.showEstimate(key);
+        model.restore(before.apply(key));
+        model.recordCalculation(before, key);
+        model.remember();
+    }
+
+    /**
+     * Gets the precision tier warmed up.
+     *
+     * @return the tier
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Checks whether the warm-up has finished.
+     *
+     * @return true once the budget is used up
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Gets the number of complete passes over the workload.
+     *
+     * @return the iterations run, or 0 while the warm-up is still running
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Gets how long the warm-up ran.
+     *
+     * @param unit the unit of the result
+     * @return the elapsed time, or 0 while the warm-up is still running
+     */
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        if (!done) {
+            return "Warm-up running";
+        }
+        return String.format(Locale.ROOT, "Warm-up: %d iterations of %d keys in %.1f ms",
+            iterations, KEYS.length, elapsedNanos / 1_000_000.0);
+    }
+
+    private static CalculatorKey[] parse(String[] scripts) {
+        List<CalculatorKey> keys = new ArrayList<>();
+        KeystrokeScanner scanner = new KeystrokeScanner(new KeystrokeScanner.Listener() {
+            @Override
+            public void onKey(CalculatorKey key) {
+                keys.add(key);
+            }
+
+            @Override
+            public void onEndOfLine() {
+            }
+        });
+        for (String script : scripts) {
+            scanner.scan(script);
+            scanner.scan("\n");
+        }
+        scanner.finish();
+        return keys.toArray(new CalculatorKey[0]);
+    }
+}
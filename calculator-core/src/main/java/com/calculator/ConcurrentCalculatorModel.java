@@ -0,0 +1,215 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe calculator session that can be shared between threads without locks.
+ *
+ * The session holds an immutable {@link CalculatorState}. Every operation computes
+ * the next state from the current one and installs it with compare-and-set, retrying
+ * if another thread got there first. Concurrent keystrokes are therefore applied one
+ * at a time in some order, none is lost, and readers always see a consistent state.
+ * The operations mirror those of {@link CalculatorModel} and give the same results.
+ *
+ * A keystroke that loses the race is computed again, so the attempts themselves report
+ * nothing. Each keystroke is reported to {@link CalculatorMetrics} and Flight Recorder
+ * once, after its state is installed: the keystroke latency covers every attempt, the
+ * calculation latency and the calculation event only the attempt that was kept.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class ConcurrentCalculatorModel {
+
+    private final AtomicReference<CalculatorState> state;
+
+    /**
+     * Creates a session in the initial state.
+     */
+    public ConcurrentCalculatorModel() {
+        this(CalculatorState.initial());
+    }
+
+    /**
+     * Creates a session that starts from a given state.
+     *
+     * @param initialState the starting state
+     */
+    public ConcurrentCalculatorModel(CalculatorState initialState) {
+        if (initialState == null) {
+            throw new IllegalArgumentException("Initial state must not be null");
+        }
+        this.state = new AtomicReference<>(initialState);
+    }
+
+    /**
+     * Presses a key.
+     *
+     * @param key the key to press
+     * @return the state right after this key was applied
+     */
+    public CalculatorState press(CalculatorKey key) {
+        long start = CalculatorMetrics.startTimer();
+        CalculatorState current;
+        CalculatorState next;
+        CalculationEvent event;
+        long attempt;
+        do {
+            current = state.get();
+            event = current.completes(key) ? new CalculationEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            attempt = CalculatorMetrics.startTimer();
+            next = current.applyUnrecorded(key);
+            if (event != null) {
+                event.end();
+            }
+        } while (!state.compareAndSet(current, next));
+        
+        if (key != CalculatorKey.EQUALS) {
+            CalculatorMetrics.recordKeystroke(start);
+        }
+        if (event != null) {
+            record(current, next, event, attempt);
+        }
+        return next;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the current state
+     */
+    public CalculatorState getState() {
+        return state.get();
+    }
+
+    /**
+     * Clears all calculator state (All Clear operation).
+     */
+    public void clear() {
+        press(CalculatorKey.CLEAR);
+    }
+
+    /**
+     * Clears only the current entry (Clear Entry operation).
+     */
+    public void clearEntry() {
+        press(CalculatorKey.CLEAR_ENTRY);
+    }
+
+    /**
+     * Removes the last digit from the current input (Backspace operation).
+     */
+    public void backspace() {
+        press(CalculatorKey.BACKSPACE);
+    }
+
+    /**
+     * Adds a digit to the current input.
+     *
+     * @param digit the digit to add (0-9)
+     * @throws IllegalArgumentException if the text is not a single digit
+     */
+    public void inputDigit(String digit) {
+        press(CalculatorKey.digit(
+                digit.length() == 1 ? Character.digit(digit.charAt(0), 10) : -1));
+    }
+
+    /**
+     * Adds a decimal point to the current input.
+     */
+    public void inputDecimal() {
+        press(CalculatorKey.DECIMAL);
+    }
+
+    /**
+     * Changes the sign of the current number (positive/negative toggle).
+     */
+    public void toggleSign() {
+        press(CalculatorKey.SIGN);
+    }
+
+    /**
+     * Sets the current operation and prepares for the next operand.
+     *
+     * @param operation the operation to set
+     */
+    public void setOperation(Operation operation) {
+        press(CalculatorKey.operation(operation));
+    }
+
+    /**
+     * Performs the calculation using the stored operation and operands.
+     */
+    public void calculate() {
+        press(CalculatorKey.EQUALS);
+    }
+
+    /**
+     * Gets the current display value.
+     *
+     * @return the current display value
+     */
+    public String getCurrentDisplay() {
+        return state.get().getCurrentDisplay();
+    }
+
+    /**
+     * Gets the current expression display.
+     *
+     * @return the current expression
+     */
+    public String getExpressionDisplay() {
+        return state.get().getExpressionDisplay();
+    }
+
+    /**
+     * Checks if the calculator is in an error state.
+     *
+     * @return true if there's an error, false otherwise
+     */
+    public boolean hasError() {
+        return state.get().hasError();
+    }
+
+    /**
+     * Gets the current numeric value.
+     *
+     * @return the current numeric value
+     */
+    public BigDecimal getCurrentValue() {
+        return state.get().getCurrentValue();
+    }
+
+    /**
+     * Gets the current operation.
+     *
+     * @return the current operation, or null if none
+     */
+    public Operation getCurrentOperation() {
+        return state.get().getCurrentOperation();
+    }
+
+    /**
+     * Reports a calculation that was kept, as {@link CalculatorModel} reports its own.
+     */
+    private static void record(CalculatorState before, CalculatorState after,
+                               CalculationEvent event, long start) {
+        Operation operation = before.currentOperation;
+        if (after.hasError) {
+            CalculatorMetrics.recordError(operation);
+        }
+        if (event.isEnabled()) {
+            event.operation = operation.name();
+            event.leftDigits = before.storedValue.precision();
+            event.rightDigits = before.currentValue.precision();
+            event.error = after.hasError;
+        }
+        event.commit();
+        CalculatorMetrics.recordCalculation(operation, start);
+    }
+}
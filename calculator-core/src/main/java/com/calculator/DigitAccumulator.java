@@ -0,0 +1,257 @@
+package com.calculator;
+
+/**
+ * Editable text of the number being entered, with its numeric value kept up to date
+ * as keys are typed.
+ *
+ * Typing or deleting a digit updates the unscaled value and scale in place, so
+ * {@link #toValue(FixedDecimal)} is O(1) and nothing is allocated per keystroke. The
+ * display string is only built when {@link #toString()} is called, and is cached until
+ * the next edit.
+ *
+ * The text is not restricted to plain numbers: formatted results such as
+ * {@code 1.2E+20} can be loaded with {@link #setText(String)}. Such text is re-parsed
+ * in full when its value is needed, exactly like {@code new BigDecimal(text)}.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class DigitAccumulator implements CharSequence {
+
+    /** Digits that are guaranteed to fit in a {@code long}. */
+    private static final int MAX_COMPACT_DIGITS = 18;
+
+    private char[] chars = new char[32];
+    private int length;
+
+    /** Index of the first decimal point, or -1. */
+    private int pointIndex;
+
+    /** Whether the text is {@code -?digits[.digits]} with at most 18 digits. */
+    private boolean plain;
+    private int digitCount;
+    private long unscaled;
+    private int scale;
+
+    /** Cached display text, or null after an edit. */
+    private String text;
+
+    /**
+     * Creates an accumulator holding {@code "0"}.
+     */
+    DigitAccumulator() {
+        reset();
+    }
+
+    /**
+     * Resets the text to {@code "0"}.
+     */
+    void reset() {
+        chars[0] = '0';
+        length = 1;
+        pointIndex = -1;
+        plain = true;
+        digitCount = 1;
+        unscaled = 0;
+        scale = 0;
+        text = "0";
+    }
+
+    /**
+     * Replaces the text.
+     *
+     * @param newText the new text
+     */
+    void setText(String newText) {
+        ensureCapacity(newText.length());
+        newText.getChars(0, newText.length(), chars, 0);
+        length = newText.length();
+        text = newText;
+        rescan();
+    }
+
+    /**
+     * Appends a digit key. Single decimal digits are applied incrementally; any other
+     * text is appended as-is and the value is re-parsed.
+     *
+     * @param digit the key text, normally one of {@code "0"} to {@code "9"}
+     */
+    void append(String digit) {
+        if (digit.length() == 1 && isDigit(digit.charAt(0))) {
+            appendDigit(digit.charAt(0));
+            return;
+        }
+        ensureCapacity(length + digit.length());
+        digit.getChars(0, digit.length(), chars, length);
+        length += digit.length();
+        text = null;
+        rescan();
+    }
+
+    /**
+     * Appends a decimal point. The value is unchanged: {@code "5."} is 5.
+     */
+    void appendPoint() {
+        ensureCapacity(length + 1);
+        if (pointIndex < 0) {
+            pointIndex = length;
+        }
+        chars[length++] = '.';
+        text = null;
+        if (!plain || pointIndex != length - 1) {
+            rescan();
+        }
+    }
+
+    /**
+     * Removes the last character.
+     */
+    void removeLast() {
+        char removed = chars[--length];
+        text = null;
+        if (!plain) {
+            rescan();
+        } else if (removed == '.') {
+            pointIndex = -1;
+        } else {
+            unscaled /= 10;
+            digitCount--;
+            if (pointIndex >= 0) {
+                scale--;
+            }
+            if (digitCount == 0) {
+                rescan();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the text is exactly {@code "0"}.
+     *
+     * @return true if the text is {@code "0"}
+     */
+    boolean isZero() {
+        return length == 1 && chars[0] == '0';
+    }
+
+    /**
+     * Checks whether the text contains a decimal point.
+     *
+     * @return true if the text contains {@code '.'}
+     */
+    boolean containsPoint() {
+        return pointIndex >= 0;
+    }
+
+    /**
+     * Stores the numeric value of the text, as {@code new BigDecimal(text)} would parse it.
+     *
+     * @param target the decimal receiving the value
+     * @throws NumberFormatException if the text is not a number
+     */
+    void toValue(FixedDecimal target) {
+        if (plain) {
+            target.set(unscaled, scale);
+        } else {
+            target.parse(this);
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        if (text == null) {
+            text = new String(chars, 0, length);
+        }
+        return text;
+    }
+
+    private void appendDigit(char digit) {
+        ensureCapacity(length + 1);
+        chars[length++] = digit;
+        text = null;
+        if (!plain || digitCount == MAX_COMPACT_DIGITS) {
+            rescan();
+            return;
+        }
+        int value = digit - '0';
+        unscaled = chars[0] == '-' ? unscaled * 10 - value : unscaled * 10 + value;
+        digitCount++;
+        if (pointIndex >= 0) {
+            scale++;
+        }
+    }
+
+    /**
+     * Recomputes every derived field from the characters.
+     */
+    private void rescan() {
+        int index = length > 0 && chars[0] == '-' ? 1 : 0;
+        boolean negative = index == 1;
+        pointIndex = -1;
+        digitCount = 0;
+        unscaled = 0;
+        scale = 0;
+        plain = true;
+
+        for (; index < length; index++) {
+            char c = chars[index];
+            if (isDigit(c)) {
+                digitCount++;
+                if (digitCount <= MAX_COMPACT_DIGITS) {
+                    unscaled = negative ? unscaled * 10 - (c - '0') : unscaled * 10 + (c - '0');
+                    if (pointIndex >= 0) {
+                        scale++;
+                    }
+                }
+            } else if (c == '.' && pointIndex < 0) {
+                pointIndex = index;
+            } else {
+                plain = false;
+                if (c == '.') {
+                    continue;
+                }
+                // Keep looking for the first decimal point
+                for (int i = index + 1; i < length && pointIndex < 0; i++) {
+                    if (chars[i] == '.') {
+                        pointIndex = i;
+                    }
+                }
+                break;
+            }
+        }
+
+        if (digitCount == 0 || digitCount > MAX_COMPACT_DIGITS) {
+            plain = false;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > chars.length) {
+            char[] larger = new char[Math.max(capacity, chars.length * 2)];
+            System.arraycopy(chars, 0, larger, 0, length);
+            chars = larger;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
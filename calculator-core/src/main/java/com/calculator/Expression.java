@@ -0,0 +1,175 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Infix arithmetic expression compiled into a flat evaluation program.
+ *
+ * Expressions use the calculator's operations with the usual precedence: {@code ×}
+ * and {@code ÷} (also written {@code *} and {@code /}) bind tighter than {@code +}
+ * and {@code -}, operators of equal precedence are applied left to right, and
+ * parentheses group. Operands are plain decimal numbers such as {@code 2.5} and named
+ * variables such as {@code rate}; a leading {@code -} negates.
+ *
+ * Compiling parses the text once into a postfix program. Evaluating runs the program
+ * on a small operand stack of {@link FixedDecimal}s, rounding every intermediate
+ * result to {@link FixedDecimal#MATH_CONTEXT} exactly like {@link CalculatorModel}
+ * does for one operation. A compiled expression is immutable and may be evaluated
+ * from several threads at once.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class Expression {
+
+    /** Opcodes beyond the {@link Operation} ordinals, which are the binary operators. */
+    static final int PUSH_CONSTANT = Operation.values().length;
+    static final int PUSH_VARIABLE = PUSH_CONSTANT + 1;
+    static final int NEGATE = PUSH_CONSTANT + 2;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /** Per-thread operand stack, grown to the deepest expression evaluated. */
+    private static final ThreadLocal<FixedDecimal[]> STACK = ThreadLocal.withInitial(() -> new FixedDecimal[0]);
+
+    private final String source;
+    private final int[] program;
+    private final FixedDecimal[] constants;
+    private final List<String> variables;
+    private final int maxDepth;
+
+    Expression(String source, int[] program, FixedDecimal[] constants, String[] variables, int maxDepth) {
+        this.source = source;
+        this.program = program;
+        this.constants = constants;
+        this.variables = Collections.unmodifiableList(Arrays.asList(variables));
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param source the expression text
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the text is not a valid expression
+     */
+    public static Expression compile(String source) {
+        return new ExpressionParser(source).parse();
+    }
+
+    /**
+     * Gets the text the expression was compiled from.
+     *
+     * @return the source text
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the names of the variables, in order of first appearance. This is the
+     * order of the values passed to {@link #evaluate(BigDecimal...)}.
+     *
+     * @return the variable names
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Evaluates the expression with variable values given by name.
+     *
+     * @param values the value of every variable
+     * @return the result
+     * @throws IllegalArgumentException if a variable has no value
+     * @throws ArithmeticException on division by zero
+     */
+    public BigDecimal evaluate(Map<String, BigDecimal> values) {
+        BigDecimal[] ordered = new BigDecimal[variables.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = values.get(variables.get(i));
+            if (ordered[i] == null) {
+                throw new IllegalArgumentException("No value for variable " + variables.get(i));
+            }
+        }
+        return evaluate(ordered);
+    }
+
+    /**
+     * Evaluates the expression with variable values given in the order of
+     * {@link #getVariables()}.
+     *
+     * @param values the value of every variable
+     * @return the result
+     * @throws IllegalArgumentException if the number of values is wrong
+     * @throws ArithmeticException on division by zero
+     */
+    public BigDecimal evaluate(BigDecimal... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException(
+                "Expected " + variables.size() + " values but got " + values.length);
+        }
+
+        FixedDecimal[] stack = stack();
+        int top = -1;
+        for (int pc = 0; pc < program.length; pc++) {
+            int opcode = program[pc];
+            if (opcode == PUSH_CONSTANT) {
+                stack[++top].set(constants[program[++pc]]);
+            } else if (opcode == PUSH_VARIABLE) {
+                stack[++top].set(values[program[++pc]]);
+            } else if (opcode == NEGATE) {
+                stack[top].negate();
+            } else {
+                FixedDecimal right = stack[top--];
+                apply(OPERATIONS[opcode], stack[top], right);
+            }
+        }
+        return stack[0].toBigDecimal();
+    }
+
+    private static void apply(Operation operation, FixedDecimal left, FixedDecimal right) {
+        switch (operation) {
+            case ADD:
+                left.add(right);
+                break;
+            case SUBTRACT:
+                left.subtract(right);
+                break;
+            case MULTIPLY:
+                left.multiply(right);
+                break;
+            case DIVIDE:
+                if (right.isZero()) {
+                    throw new ArithmeticException("Division by zero");
+                }
+                left.divide(right);
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private FixedDecimal[] stack() {
+        FixedDecimal[] stack = STACK.get();
+        if (stack.length < maxDepth) {
+            FixedDecimal[] larger = Arrays.copyOf(stack, maxDepth);
+            for (int i = stack.length; i < maxDepth; i++) {
+                larger[i] = new FixedDecimal();
+            }
+            STACK.set(larger);
+            stack = larger;
+        }
+        return stack;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,93 @@
+package com.calculator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of compiled expressions keyed by their source text.
+ *
+ * Jobs that evaluate the same formulas over and over get the compiled program from
+ * the cache and only parse each formula once. When the cache is full the least
+ * recently used expression is dropped. The cache is thread-safe; compiling happens
+ * outside the lock, so two threads missing on the same text at once may both compile
+ * it and the later one wins.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class ExpressionCache {
+
+    private final Map<String, Expression> expressions;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize the maximum number of compiled expressions kept
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     */
+    public ExpressionCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        this.expressions = new LinkedHashMap<String, Expression>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the compiled form of an expression, compiling it on the first request.
+     *
+     * @param source the expression text
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the text is not a valid expression
+     */
+    public Expression get(String source) {
+        synchronized (this) {
+            Expression expression = expressions.get(source);
+            if (expression != null) {
+                hits++;
+                return expression;
+            }
+            misses++;
+        }
+        Expression compiled = Expression.compile(source);
+        synchronized (this) {
+            expressions.put(source, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Gets the number of lookups that found a compiled expression.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that had to compile.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of compiled expressions currently kept.
+     *
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return expressions.size();
+    }
+}
@@ -0,0 +1,227 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recursive-descent parser that compiles infix text into an {@link Expression}
+ * program.
+ *
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('×' | '*' | '÷' | '/') unary)*
+ * unary      := ('-' | '+') unary | primary
+ * primary    := number | variable | '(' expression ')'
+ * </pre>
+ *
+ * Operands are emitted as they are parsed and operators after both of their operands,
+ * which yields a postfix program. The parser tracks the operand stack depth so the
+ * evaluator can size its stack up front.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class ExpressionParser {
+
+    /** Deepest nesting of parentheses and signs, which bounds the recursion. */
+    static final int MAX_NESTING = 256;
+
+    private final String source;
+    private int position;
+    private int nesting;
+
+    private int[] program = new int[16];
+    private int length;
+    private final List<FixedDecimal> constants = new ArrayList<>();
+    private final Map<String, Integer> variables = new LinkedHashMap<>();
+    private int depth;
+    private int maxDepth;
+
+    /**
+     * Creates a parser for the given text.
+     *
+     * @param source the expression text
+     */
+    ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Parses the whole text.
+     *
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the text is not a valid expression
+     */
+    Expression parse() {
+        expression();
+        skipSpaces();
+        if (position < source.length()) {
+            throw unexpected();
+        }
+        return new Expression(source, Arrays.copyOf(program, length),
+                constants.toArray(new FixedDecimal[0]),
+                variables.keySet().toArray(new String[0]), maxDepth);
+    }
+
+    private void expression() {
+        term();
+        while (true) {
+            char c = peek();
+            if (c == '+') {
+                position++;
+                term();
+                emitOperation(Operation.ADD);
+            } else if (c == '-') {
+                position++;
+                term();
+                emitOperation(Operation.SUBTRACT);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void term() {
+        unary();
+        while (true) {
+            char c = peek();
+            if (c == '×' || c == '*') {
+                position++;
+                unary();
+                emitOperation(Operation.MULTIPLY);
+            } else if (c == '÷' || c == '/') {
+                position++;
+                unary();
+                emitOperation(Operation.DIVIDE);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void unary() {
+        if (++nesting > MAX_NESTING) {
+            throw new IllegalArgumentException("Expression nested deeper than " + MAX_NESTING
+                    + " levels at column " + (position + 1));
+        }
+        char c = peek();
+        if (c == '-') {
+            position++;
+            unary();
+            emit(Expression.NEGATE);
+        } else if (c == '+') {
+            position++;
+            unary();
+        } else {
+            primary();
+        }
+        nesting--;
+    }
+
+    private void primary() {
+        char c = peek();
+        if (c == '(') {
+            position++;
+            expression();
+            if (peek() != ')') {
+                throw unexpected();
+            }
+            position++;
+        } else if (isDigit(c) || c == '.') {
+            number();
+        } else if (Character.isLetter(c) || c == '_') {
+            variable();
+        } else {
+            throw unexpected();
+        }
+    }
+
+    private void number() {
+        int start = position;
+        boolean point = false;
+        boolean digits = false;
+        while (position < source.length()) {
+            char c = source.charAt(position);
+            if (isDigit(c)) {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+            position++;
+        }
+        if (!digits) {
+            position = start;
+            throw unexpected();
+        }
+        constants.add(new FixedDecimal().parse(source.subSequence(start, position)));
+        emit(Expression.PUSH_CONSTANT);
+        emit(constants.size() - 1);
+        push();
+    }
+
+    private void variable() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+            position++;
+        }
+        String name = source.substring(start, position);
+        Integer index = variables.get(name);
+        if (index == null) {
+            index = variables.size();
+            variables.put(name, index);
+        }
+        emit(Expression.PUSH_VARIABLE);
+        emit(index);
+        push();
+    }
+
+    private void emitOperation(Operation operation) {
+        emit(operation.ordinal());
+        depth--;
+    }
+
+    private void push() {
+        depth++;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    private void emit(int code) {
+        if (length == program.length) {
+            program = Arrays.copyOf(program, length * 2);
+        }
+        program[length++] = code;
+    }
+
+    /**
+     * Skips spaces and returns the next character, or 0 at the end of the text.
+     */
+    private char peek() {
+        skipSpaces();
+        return position < source.length() ? source.charAt(position) : 0;
+    }
+
+    private void skipSpaces() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException unexpected() {
+        if (position >= source.length()) {
+            return new IllegalArgumentException("Unexpected end of expression \"" + source + "\"");
+        }
+        return new IllegalArgumentException("Unexpected '" + source.charAt(position)
+                + "' at column " + (position + 1) + " of \"" + source + "\"");
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,658 @@
+package com.calculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Mutable fixed-width decimal number used as the internal representation of
+ * {@link CalculatorModel}.
+ *
+ * A value is a {@code long} unscaled value and an {@code int} scale with the same
+ * meaning as in {@link BigDecimal}: {@code unscaled × 10^-scale}. Arithmetic is done
+ * in place and rounds to {@link #MATH_CONTEXT}; every result has exactly the unscaled
+ * value and scale {@code BigDecimal} would produce, so formatting and equality
+ * behave identically. Operands with up to 15 significant digits - everything the
+ * calculator can hold - stay on the primitive path and do not allocate.
+ *
+ * Values that do not fit a {@code long}, and the rare operations whose intermediate
+ * results overflow the primitive path, fall back to {@code BigDecimal}.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class FixedDecimal {
+
+    /** Precision and rounding of every arithmetic result. */
+    static final MathContext MATH_CONTEXT = new MathContext(15, RoundingMode.HALF_UP);
+
+    private static final int PRECISION = 15;
+
+    /** Powers of ten that fit in a {@code long}: 10^0 to 10^18. */
+    private static final long[] POW10 = new long[19];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    /** Powers of ten that are exact doubles: 10^0 to 10^22. */
+    private static final double[] DOUBLE_POW10 = new double[23];
+
+    static {
+        DOUBLE_POW10[0] = 1;
+        for (int i = 1; i < DOUBLE_POW10.length; i++) {
+            DOUBLE_POW10[i] = DOUBLE_POW10[i - 1] * 10;
+        }
+    }
+
+    /** Largest magnitude handled on the primitive path (exclusive). */
+    private static final long LIMIT = POW10[18];
+
+    private static final long LIMB = 1_000_000_000L;
+
+    private long unscaled;
+    private int scale;
+
+    /** Non-null only while the value does not fit in {@link #unscaled}. */
+    private BigDecimal inflated;
+
+    /**
+     * Creates a decimal with the value zero.
+     */
+    FixedDecimal() {
+    }
+
+    /**
+     * Sets this value to {@code unscaled × 10^-scale}.
+     *
+     * @param unscaled the unscaled value
+     * @param scale the scale
+     * @return this decimal
+     */
+    FixedDecimal set(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.inflated = null;
+        return this;
+    }
+
+    /**
+     * Copies the value of another decimal.
+     *
+     * @param other the value to copy
+     * @return this decimal
+     */
+    FixedDecimal set(FixedDecimal other) {
+        this.unscaled = other.unscaled;
+        this.scale = other.scale;
+        this.inflated = other.inflated;
+        return this;
+    }
+
+    /**
+     * Sets this value from a {@code BigDecimal}, keeping its unscaled value and scale.
+     *
+     * @param value the value to copy
+     * @return this decimal
+     */
+    FixedDecimal set(BigDecimal value) {
+        if (value.precision() <= 18) {
+            return set(value.unscaledValue().longValue(), value.scale());
+        }
+        this.unscaled = 0;
+        this.scale = value.scale();
+        this.inflated = value;
+        return this;
+    }
+
+    /**
+     * Sets this value by parsing text with the same result as {@code new BigDecimal(text)}.
+     * Plain decimal numbers such as {@code -12.50} are parsed without allocating.
+     *
+     * @param text the number to parse
+     * @return this decimal
+     * @throws NumberFormatException if the text is not a valid number
+     */
+    FixedDecimal parse(CharSequence text) {
+        int length = text.length();
+        int index = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+        long value = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+
+        for (; index < length; index++) {
+            char c = text.charAt(index);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+
+        if (index < length || digits == 0 || digits > 18) {
+            // Exponents, signs and anything unusual are left to BigDecimal
+            return set(new BigDecimal(text.toString()));
+        }
+        return set(text.charAt(0) == '-' ? -value : value, Math.max(fractionDigits, 0));
+    }
+
+    /**
+     * Adds another value, rounding the sum to {@link #MATH_CONTEXT}.
+     *
+     * @param other the augend
+     * @return this decimal
+     */
+    FixedDecimal add(FixedDecimal other) {
+        if (!addCompact(other.unscaled, other.scale, other)) {
+            set(toBigDecimal().add(other.toBigDecimal(), MATH_CONTEXT));
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts another value, rounding the difference to {@link #MATH_CONTEXT}.
+     *
+     * @param other the subtrahend
+     * @return this decimal
+     */
+    FixedDecimal subtract(FixedDecimal other) {
+        if (!addCompact(-other.unscaled, other.scale, other)) {
+            set(toBigDecimal().subtract(other.toBigDecimal(), MATH_CONTEXT));
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies by another value, rounding the product to {@link #MATH_CONTEXT}.
+     *
+     * @param other the multiplicand
+     * @return this decimal
+     */
+    FixedDecimal multiply(FixedDecimal other) {
+        if (!multiplyCompact(other)) {
+            set(toBigDecimal().multiply(other.toBigDecimal(), MATH_CONTEXT));
+        }
+        return this;
+    }
+
+    /**
+     * Divides by another value, rounding the quotient to {@link #MATH_CONTEXT}.
+     *
+     * @param other the divisor
+     * @return this decimal
+     * @throws ArithmeticException if the divisor is zero
+     */
+    FixedDecimal divide(FixedDecimal other) {
+        if (!divideCompact(other)) {
+            set(toBigDecimal().divide(other.toBigDecimal(), MATH_CONTEXT));
+        }
+        return this;
+    }
+
+    /**
+     * Negates this value. The scale is unchanged.
+     *
+     * @return this decimal
+     */
+    FixedDecimal negate() {
+        if (inflated == null && unscaled != Long.MIN_VALUE) {
+            unscaled = -unscaled;
+        } else {
+            set(toBigDecimal().negate());
+        }
+        return this;
+    }
+
+    /**
+     * Checks for the value zero at any scale.
+     *
+     * @return true if this value is zero
+     */
+    boolean isZero() {
+        return inflated == null ? unscaled == 0 : inflated.signum() == 0;
+    }
+
+    /**
+     * Checks for the value zero with scale zero, i.e. {@code equals(BigDecimal.ZERO)}.
+     * A zero with any other scale, such as {@code 0.0}, is not a plain zero.
+     *
+     * @return true if this is {@code 0} at scale 0
+     */
+    boolean isPlainZero() {
+        return inflated == null && unscaled == 0 && scale == 0;
+    }
+
+    /**
+     * Checks whether another decimal holds the same unscaled value and scale, i.e.
+     * {@code toBigDecimal().equals(other.toBigDecimal())}, without converting either.
+     *
+     * @param other the decimal to compare with
+     * @return true if the two are interchangeable
+     */
+    boolean sameAs(FixedDecimal other) {
+        if (inflated != null || other.inflated != null) {
+            return inflated != null && inflated.equals(other.inflated);
+        }
+        return unscaled == other.unscaled && scale == other.scale;
+    }
+
+    /**
+     * Checks whether this value is held on the primitive path, in which case
+     * {@link #unscaledValue()} and {@link #scale()} describe it exactly.
+     *
+     * @return true if the value fits in a {@code long} unscaled value
+     */
+    boolean isCompact() {
+        return inflated == null;
+    }
+
+    /**
+     * Gets the unscaled value. Only meaningful while {@link #isCompact()}.
+     *
+     * @return the unscaled value
+     */
+    long unscaledValue() {
+        return unscaled;
+    }
+
+    /**
+     * Gets the scale. Only meaningful while {@link #isCompact()}.
+     *
+     * @return the scale
+     */
+    int scale() {
+        return scale;
+    }
+
+    /**
+     * Gets the number of digits in the unscaled value, like {@link BigDecimal#precision()}.
+     *
+     * @return the precision, at least 1
+     */
+    int precision() {
+        return inflated != null ? inflated.precision() : digitCount(Math.abs(unscaled));
+    }
+
+    /**
+     * Converts this value to the nearest {@code double}, or close to it.
+     *
+     * @return the value as a {@code double}
+     */
+    double toDouble() {
+        if (inflated == null && scale >= 0 && scale < POW10.length) {
+            return (double) unscaled / POW10[scale];
+        }
+        return toBigDecimal().doubleValue();
+    }
+
+    /**
+     * Sets this value to a {@code double} rounded HALF_UP to a number of significant
+     * digits, without allocating. Trailing zeros are removed, except that integral
+     * results that fit in the digits keep scale 0 as they would after exact arithmetic.
+     *
+     * @param value the value to round, which must be finite
+     * @param digits the number of significant digits to keep, 1 to 17
+     * @return this decimal
+     */
+    FixedDecimal setRounded(double value, int digits) {
+        if (value == 0) {
+            return set(0, 0);
+        }
+        double magnitude = Math.abs(value);
+        int newScale = digits - 1 - (int) Math.floor(Math.log10(magnitude));
+        long newUnscaled = roundScaled(magnitude, newScale);
+        // log10 can be one off near powers of ten
+        if (newUnscaled >= POW10[digits]) {
+            newScale--;
+            newUnscaled = roundScaled(magnitude, newScale);
+        } else if (newUnscaled < POW10[digits - 1]) {
+            newScale++;
+            newUnscaled = roundScaled(magnitude, newScale);
+        }
+        while (newScale != 0 && newUnscaled % 10 == 0) {
+            newUnscaled /= 10;
+            newScale--;
+        }
+        return set(value < 0 ? -newUnscaled : newUnscaled, newScale);
+    }
+
+    /**
+     * Rounds {@code magnitude × 10^exponent} HALF_UP to a {@code long}. Powers of ten up
+     * to 10^22 are exact doubles, so for those the rounding error of the scaling is
+     * recovered with a fused multiply-add and the result is rounded as if the scaling
+     * had been exact; larger exponents only occur for extreme values and are rounded
+     * directly.
+     */
+    private static long roundScaled(double magnitude, int exponent) {
+        int distance = Math.abs(exponent);
+        if (distance >= DOUBLE_POW10.length) {
+            // Two steps, so that neither power overflows for the tiniest values
+            double half = Math.pow(10, distance / 2);
+            double rest = Math.pow(10, distance - distance / 2);
+            return Math.round(exponent < 0 ? magnitude / half / rest : magnitude * half * rest);
+        }
+        double power = DOUBLE_POW10[distance];
+        double scaled;
+        double error;
+        if (exponent >= 0) {
+            scaled = magnitude * power;
+            error = Math.fma(magnitude, power, -scaled);
+        } else {
+            scaled = magnitude / power;
+            error = Math.fma(-scaled, power, magnitude) / power;
+        }
+        long whole = (long) scaled;
+        double rest = (scaled - whole) + error;
+        if (rest >= 0.5) {
+            whole++;
+        } else if (rest < -0.5) {
+            whole--;
+        }
+        return whole;
+    }
+
+    /**
+     * Converts this value to a {@code BigDecimal} with the same unscaled value and scale.
+     *
+     * @return the equivalent {@code BigDecimal}
+     */
+    BigDecimal toBigDecimal() {
+        return inflated != null ? inflated : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Formats this value for display: trailing zeros are removed and the plain
+     * representation is used when it fits, otherwise the scientific representation
+     * is used and cut to {@code maxLength} characters.
+     *
+     * @param maxLength the maximum number of characters to return
+     * @return the display text
+     */
+    String toDisplayString(int maxLength) {
+        if (inflated != null) {
+            return displayString(inflated, maxLength);
+        }
+        if (unscaled == 0) {
+            return "0";
+        }
+
+        long strippedUnscaled = unscaled;
+        long strippedScale = scale;
+        while (strippedUnscaled % 10 == 0) {
+            strippedUnscaled /= 10;
+            strippedScale--;
+        }
+        if (strippedScale < Integer.MIN_VALUE) {
+            return displayString(toBigDecimal(), maxLength);
+        }
+
+        int digits = digitCount(Math.abs(strippedUnscaled));
+        long plainLength = (strippedUnscaled < 0 ? 1 : 0)
+                + (strippedScale <= 0 ? digits - strippedScale
+                        : strippedScale >= digits ? strippedScale + 2 : digits + 1);
+        if (plainLength <= maxLength) {
+            return plainString(strippedUnscaled, (int) strippedScale, digits);
+        }
+
+        String formatted = scientificString();
+        return formatted.length() > maxLength ? formatted.substring(0, maxLength) : formatted;
+    }
+
+    @Override
+    public String toString() {
+        return inflated != null ? inflated.toString() : scientificString();
+    }
+
+    // Primitive arithmetic
+
+    private boolean addCompact(long otherUnscaled, int otherScale, FixedDecimal other) {
+        if (inflated != null || other.inflated != null
+                || !inRange(unscaled) || !inRange(otherUnscaled)) {
+            return false;
+        }
+
+        long left = unscaled;
+        long right = otherUnscaled;
+        int resultScale = scale;
+        if (scale != otherScale) {
+            long difference = (long) scale - otherScale;
+            if (difference > 0) {
+                if (!canScaleUp(right, difference)) {
+                    return false;
+                }
+                right *= POW10[(int) difference];
+            } else {
+                if (!canScaleUp(left, -difference)) {
+                    return false;
+                }
+                left *= POW10[(int) -difference];
+                resultScale = otherScale;
+            }
+        }
+
+        // Both terms are at most 10^18 in magnitude, so the sum cannot overflow
+        return round(left + right, resultScale);
+    }
+
+    private boolean multiplyCompact(FixedDecimal other) {
+        if (inflated != null || other.inflated != null
+                || !inRange(unscaled) || !inRange(other.unscaled)) {
+            return false;
+        }
+
+        long left = Math.abs(unscaled);
+        long right = Math.abs(other.unscaled);
+        boolean negative = (unscaled < 0) != (other.unscaled < 0);
+        long productScale = (long) scale + other.scale;
+
+        // Schoolbook multiplication on base 10^9 limbs; the product is high × 10^18 + low
+        long left1 = left / LIMB;
+        long left0 = left % LIMB;
+        long right1 = right / LIMB;
+        long right0 = right % LIMB;
+        long cross = left1 * right0 + left0 * right1;
+        long low = left0 * right0 + (cross % LIMB) * LIMB;
+        long high = left1 * right1 + cross / LIMB + low / LIMIT;
+        low %= LIMIT;
+
+        if (high == 0) {
+            return round(negative ? -low : low, productScale);
+        }
+
+        int drop = digitCount(high) + 18 - PRECISION;
+        if (drop > 18) {
+            return false;
+        }
+        long quotient = high * POW10[18 - drop] + low / POW10[drop];
+        long remainder = low % POW10[drop];
+        if (remainder >= POW10[drop] / 2) {
+            quotient++;
+        }
+        return store(quotient, productScale - drop, negative);
+    }
+
+    private boolean divideCompact(FixedDecimal other) {
+        if (inflated != null || other.inflated != null || other.unscaled == 0
+                || !inRange(unscaled) || Math.abs(unscaled) >= POW10[PRECISION]
+                || !inRange(other.unscaled) || Math.abs(other.unscaled) >= POW10[17]) {
+            return false;
+        }
+
+        long dividend = Math.abs(unscaled);
+        long divisor = Math.abs(other.unscaled);
+        boolean negative = (unscaled < 0) != (other.unscaled < 0);
+        long quotientScale = (long) scale - other.scale;
+
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            // Exact quotient with at most 15 digits at the preferred scale
+            return store(quotient, quotientScale, negative);
+        }
+
+        // Long division: one more digit per step until 15 significant digits
+        while (quotient < POW10[PRECISION - 1]) {
+            remainder *= 10;
+            quotient = quotient * 10 + remainder / divisor;
+            remainder %= divisor;
+            quotientScale++;
+            if (remainder == 0) {
+                return store(quotient, quotientScale, negative);
+            }
+        }
+
+        if (remainder >= divisor - remainder) {
+            quotient++;
+        }
+        return store(quotient, quotientScale, negative);
+    }
+
+    /**
+     * Rounds an exact result to {@link #PRECISION} digits, HALF_UP, and stores it.
+     */
+    private boolean round(long value, long valueScale) {
+        boolean negative = value < 0;
+        long magnitude = Math.abs(value);
+        int drop = digitCount(magnitude) - PRECISION;
+        if (drop > 0) {
+            long divisor = POW10[drop];
+            long remainder = magnitude % divisor;
+            magnitude /= divisor;
+            if (remainder >= divisor / 2) {
+                magnitude++;
+            }
+            valueScale -= drop;
+        }
+        return store(magnitude, valueScale, negative);
+    }
+
+    /**
+     * Stores a rounded magnitude, renormalizing a carry into a 16th digit.
+     * Returns false if the scale leaves the {@code int} range, so the caller can
+     * let {@code BigDecimal} decide how to handle it.
+     */
+    private boolean store(long magnitude, long valueScale, boolean negative) {
+        if (magnitude == POW10[PRECISION]) {
+            magnitude = POW10[PRECISION - 1];
+            valueScale--;
+        }
+        if (valueScale < Integer.MIN_VALUE || valueScale > Integer.MAX_VALUE) {
+            return false;
+        }
+        unscaled = negative ? -magnitude : magnitude;
+        scale = (int) valueScale;
+        return true;
+    }
+
+    private static boolean inRange(long value) {
+        return value > -LIMIT && value < LIMIT;
+    }
+
+    private static boolean canScaleUp(long value, long power) {
+        return power <= 18 && Math.abs(value) <= LIMIT / POW10[(int) power];
+    }
+
+    private static int digitCount(long magnitude) {
+        int digits = 1;
+        while (digits < POW10.length && magnitude >= POW10[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    // Formatting
+
+    /**
+     * Equivalent of {@code toPlainString()} for a value without trailing zeros.
+     */
+    private static String plainString(long value, int valueScale, int digits) {
+        String coefficient = Long.toString(Math.abs(value));
+        StringBuilder text = new StringBuilder(digits + 3 + Math.abs(valueScale));
+        if (value < 0) {
+            text.append('-');
+        }
+        if (valueScale <= 0) {
+            text.append(coefficient);
+            for (int i = valueScale; i < 0; i++) {
+                text.append('0');
+            }
+        } else if (valueScale >= digits) {
+            text.append("0.");
+            for (int i = digits; i < valueScale; i++) {
+                text.append('0');
+            }
+            text.append(coefficient);
+        } else {
+            text.append(coefficient, 0, digits - valueScale)
+                .append('.')
+                .append(coefficient, digits - valueScale, digits);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Equivalent of {@code BigDecimal.toString()}: plain when the exponent is small,
+     * scientific notation otherwise.
+     */
+    private String scientificString() {
+        if (scale == 0) {
+            return Long.toString(unscaled);
+        }
+
+        String coefficient = Long.toString(Math.abs(unscaled));
+        int length = coefficient.length();
+        long adjusted = -(long) scale + (length - 1);
+        StringBuilder text = new StringBuilder(length + 14);
+        if (unscaled < 0) {
+            text.append('-');
+        }
+
+        if (scale >= 0 && adjusted >= -6) {
+            int pad = scale - length;
+            if (pad >= 0) {
+                text.append("0.");
+                for (; pad > 0; pad--) {
+                    text.append('0');
+                }
+                text.append(coefficient);
+            } else {
+                text.append(coefficient, 0, -pad)
+                    .append('.')
+                    .append(coefficient, -pad, length);
+            }
+        } else {
+            text.append(coefficient.charAt(0));
+            if (length > 1) {
+                text.append('.').append(coefficient, 1, length);
+            }
+            if (adjusted != 0) {
+                text.append('E');
+                if (adjusted > 0) {
+                    text.append('+');
+                }
+                text.append(adjusted);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String displayString(BigDecimal number, int maxLength) {
+        String formatted = number.stripTrailingZeros().toPlainString();
+        if (formatted.length() > maxLength) {
+            formatted = number.toString();
+            if (formatted.length() > maxLength) {
+                formatted = formatted.substring(0, maxLength);
+            }
+        }
+        return formatted;
+    }
+}
@@ -0,0 +1,291 @@
+package com.calculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the sessions recorded by a {@link SessionJournal}.
+ *
+ * The reader maps the index and the segments read-only and scans the mapped bytes
+ * directly: finding a session is a lookup in the index, and replaying it decodes one
+ * byte per key with no copying or parsing. It may read a journal that is still being
+ * written; sessions appended after the reader was opened are not visible to it.
+ *
+ * <pre>
+ * java -cp calculator-core/target/classes com.calculator.JournalReader directory [session...]
+ * </pre>
+ *
+ * prints one line per session: its number, start time, precision, keys and the
+ * display after the last key. Instances are not thread safe.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class JournalReader {
+
+    private static final CalculatorKey[] KEYS = CalculatorKey.values();
+
+    private final Path directory;
+    private final MappedByteBuffer index;
+    private final int sessionCount;
+
+    /** Mapped segments by number; null where not mapped yet. */
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    private JournalReader(Path directory, MappedByteBuffer index, int sessionCount) {
+        this.directory = directory;
+        this.index = index;
+        this.sessionCount = sessionCount;
+    }
+
+    /**
+     * Opens the journal in a directory for reading.
+     *
+     * @param directory the journal directory
+     * @return the reader
+     * @throws IOException if the directory holds no journal or it is damaged
+     */
+    public static JournalReader open(Path directory) throws IOException {
+        Path indexPath = directory.resolve(SessionJournal.INDEX_FILE);
+        MappedByteBuffer index = map(indexPath);
+        if (index.capacity() < SessionJournal.INDEX_HEADER
+                || index.getInt(0) != SessionJournal.INDEX_MAGIC) {
+            throw new IOException("Not a journal index: " + indexPath);
+        }
+        int entries = (index.capacity() - SessionJournal.INDEX_HEADER) / SessionJournal.INDEX_ENTRY;
+        int count = 0;
+        while (count < entries && index.getLong(entryOffset(count)) != 0) {
+            count++;
+        }
+        return new JournalReader(directory, index, count);
+    }
+
+    /**
+     * Gets the number of sessions. Sessions are numbered from 1 to this number.
+     *
+     * @return the number of sessions
+     */
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Gets the time a session started.
+     *
+     * @param session the session number
+     * @return the start time
+     * @throws IllegalArgumentException if there is no such session
+     */
+    public Instant getStart(long session) {
+        return Instant.ofEpochMilli(index.getLong(entryOffset(checkSession(session)) + 8));
+    }
+
+    /**
+     * Gets the precision tier a session computed in.
+     *
+     * @param session the session number
+     * @return the precision tier
+     * @throws IllegalArgumentException if there is no such session
+     * @throws IOException if the session's segment cannot be read
+     */
+    public Precision getPrecision(long session) throws IOException {
+        int entry = entryOffset(checkSession(session));
+        MappedByteBuffer segment = segment(index.getInt(entry + 16));
+        // The precision is the last field of the session record
+        int offset = index.getInt(entry + 20) + SessionJournal.SESSION_RECORD - 4;
+        return Precision.fromCode(segment.getInt(offset));
+    }
+
+    /**
+     * Gets the state a session started in, if it did not start from a cleared
+     * calculator.
+     *
+     * @param session the session number
+     * @return the starting state, or null if the session started cleared
+     * @throws IllegalArgumentException if there is no such session
+     * @throws IOException if the session's segment cannot be read or is damaged
+     */
+    public CalculatorState getStartState(long session) throws IOException {
+        int entry = entryOffset(checkSession(session));
+        MappedByteBuffer segment = segment(index.getInt(entry + 16));
+        int offset = index.getInt(entry + 20) + SessionJournal.SESSION_RECORD;
+        if (offset >= segment.limit() || segment.get(offset) != SessionJournal.STATE) {
+            return null;
+        }
+        int length = SessionJournal.recordLength(segment, offset);
+        if (length == 0) {
+            throw new IOException("Damaged journal record at offset " + offset
+                    + " of " + SessionJournal.segmentPath(directory, index.getInt(entry + 16)));
+        }
+        ByteBuffer state = segment.duplicate();
+        state.position(offset + SessionJournal.STATE_HEADER).limit(offset + length);
+        return SnapshotFile.decode(state.slice());
+    }
+
+    /**
+     * Passes the keys of a session to a consumer, in the order they were applied.
+     *
+     * @param session the session number
+     * @param consumer receives the keys
+     * @return the number of keys
+     * @throws IllegalArgumentException if there is no such session
+     * @throws IOException if a segment cannot be read or is damaged
+     */
+    public int forEachKey(long session, Consumer<CalculatorKey> consumer) throws IOException {
+        int entry = entryOffset(checkSession(session));
+        int number = index.getInt(entry + 16);
+        int position = index.getInt(entry + 20) + SessionJournal.SESSION_RECORD;
+        MappedByteBuffer segment = segment(number);
+        if (position < segment.limit() && segment.get(position) == SessionJournal.STATE) {
+            position += SessionJournal.recordLength(segment, position);
+        }
+        int keys = 0;
+        while (true) {
+            byte record = position < segment.limit() ? segment.get(position) : SessionJournal.END;
+            if (record == SessionJournal.END) {
+                // The rest of a full segment is padding; the session may go on in the next
+                MappedByteBuffer next = segmentIfExists(number + 1);
+                if (next == null) {
+                    return keys;
+                }
+                segment = next;
+                number++;
+                position = SessionJournal.SEGMENT_HEADER;
+            } else if (record == SessionJournal.SESSION) {
+                return keys;
+            } else if (SessionJournal.recordLength(segment, position) == 1) {
+                consumer.accept(KEYS[record - 1]);
+                keys++;
+                position++;
+            } else {
+                throw new IOException("Damaged journal record at offset " + position
+                        + " of " + SessionJournal.segmentPath(directory, number));
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the state of a session by applying its keys to a model, which is
+     * switched to the session's precision tier and the state the session started in
+     * first. Undo and redo keys are replayed
+     * with the model's undo limit, so the model needs the limit the session had.
+     *
+     * @param session the session number
+     * @param model the model to rebuild the session in
+     * @return the number of keys applied
+     * @throws IllegalArgumentException if there is no such session
+     * @throws IOException if a segment cannot be read or is damaged
+     */
+    public int replay(long session, CalculatorModel model) throws IOException {
+        model.setPrecision(getPrecision(session));
+        CalculatorState start = getStartState(session);
+        if (start != null) {
+            model.restore(start);
+            model.remember();
+        }
+        return forEachKey(session, key -> key.applyTo(model));
+    }
+
+    /**
+     * Prints the sessions of a journal, all of them or the given ones.
+     *
+     * @param args the journal directory, then optional session numbers
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: JournalReader directory [session...]");
+            System.exit(2);
+        }
+        try {
+            JournalReader reader = open(Paths.get(args[0]));
+            if (args.length == 1) {
+                for (long session = 1; session <= reader.getSessionCount(); session++) {
+                    System.out.println(reader.describe(session));
+                }
+            }
+            for (int i = 1; i < args.length; i++) {
+                System.out.println(reader.describe(Long.parseLong(args[i])));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("JournalReader: " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Formats a session as one tab-separated line for {@link #main}.
+     */
+    private String describe(long session) throws IOException {
+        StringBuilder keys = new StringBuilder();
+        forEachKey(session, key -> {
+            if (keys.length() > 0) {
+                keys.append(' ');
+            }
+            keys.append(key.getLabel());
+        });
+        CalculatorModel model = new CalculatorModel();
+        model.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        replay(session, model);
+        return session + "\t" + getStart(session) + "\t" + model.getPrecision()
+                + "\t" + keys + "\t" + model.getCurrentDisplay();
+    }
+
+    private int checkSession(long session) {
+        if (session < 1 || session > sessionCount) {
+            throw new IllegalArgumentException("No session " + session + " in " + directory);
+        }
+        return (int) (session - 1);
+    }
+
+    private static int entryOffset(int entry) {
+        return SessionJournal.INDEX_HEADER + entry * SessionJournal.INDEX_ENTRY;
+    }
+
+    private MappedByteBuffer segment(int number) throws IOException {
+        MappedByteBuffer segment = segmentIfExists(number);
+        if (segment == null) {
+            throw new IOException("Missing journal segment "
+                    + SessionJournal.segmentPath(directory, number));
+        }
+        return segment;
+    }
+
+    private MappedByteBuffer segmentIfExists(int number) throws IOException {
+        while (segments.size() <= number) {
+            segments.add(null);
+        }
+        MappedByteBuffer segment = segments.get(number);
+        if (segment == null) {
+            Path path = SessionJournal.segmentPath(directory, number);
+            if (!Files.exists(path)) {
+                return null;
+            }
+            segment = map(path);
+            if (segment.capacity() < SessionJournal.SEGMENT_HEADER || segment.getInt(0) == 0) {
+                // Still being created by the writer
+                return null;
+            }
+            if (segment.getInt(0) != SessionJournal.SEGMENT_MAGIC) {
+                throw new IOException("Not a journal segment: " + path);
+            }
+            segments.set(number, segment);
+        }
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
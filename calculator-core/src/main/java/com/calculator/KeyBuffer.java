@@ -0,0 +1,280 @@
+package com.calculator;
+
+/**
+ * First-in first-out queue of calculator keys waiting to be applied to a model.
+ *
+ * The buffer holds pasted text as keys, plus any keys typed while a paste is still
+ * being applied, so they are applied in the order they arrived. Keys are stored as
+ * ordinals in a growable ring of bytes; appending and applying a key allocates
+ * nothing once the ring has grown to its working size.
+ *
+ * Pasted text is read leniently, so numbers and chains copied from documents and
+ * spreadsheets can be pasted as they are:
+ * <ul>
+ *   <li>digits, {@code .}, {@code ±}, {@code + - × ÷ =} and {@code ←} are the keys
+ *       they label, as in keystroke scripts</li>
+ *   <li>{@code *}, {@code x} and {@code X} are {@code ×}, {@code /} is {@code ÷} and
+ *       the minus sign {@code −} is {@code -}</li>
+ *   <li>a minus before a number at the start of the text or right after an operator
+ *       makes that number negative, so {@code -42} is typed as {@code 42±}</li>
+ *   <li>thousands separators ({@code ,}, {@code _}, {@code '} and spaces) and white
+ *       space between numbers and operators, including line breaks, are ignored</li>
+ *   <li>a separator must separate a group of exactly three digits in the integer
+ *       part of a number, so {@code 1,234.5}, {@code 1 234} and {@code 1'234} are
+ *       accepted but {@code 3,14}, a decimal comma, is rejected rather than entered
+ *       as 314, and so are {@code 3 14}, {@code 3_14} and {@code 1'2}</li>
+ * </ul>
+ * Text containing anything else is rejected as a whole.
+ *
+ * Instances are not thread safe.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class KeyBuffer {
+
+    /** Largest number of keys the buffer holds. */
+    public static final int MAX_KEYS = 1 << 16;
+
+    private static final CalculatorKey[] KEYS = CalculatorKey.values();
+
+    private byte[] ring = new byte[64];
+    private int head;
+    private int size;
+
+    /**
+     * Checks whether the buffer holds no keys.
+     *
+     * @return true if no keys are waiting
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of keys waiting.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a key.
+     *
+     * @param key the key
+     * @throws IllegalStateException if the buffer already holds {@link #MAX_KEYS} keys
+     */
+    public void add(CalculatorKey key) {
+        if (size == MAX_KEYS) {
+            throw new IllegalStateException("Key buffer full: " + MAX_KEYS + " keys");
+        }
+        if (size == ring.length) {
+            grow();
+        }
+        ring[(head + size) & (ring.length - 1)] = (byte) key.ordinal();
+        size++;
+    }
+
+    /**
+     * Appends the keys of pasted text. Either all keys of the text are appended or,
+     * if the text is rejected, none.
+     *
+     * @param text the pasted text
+     * @return the number of keys appended
+     * @throws IllegalArgumentException if the text contains a character that is not
+     *                                  part of any key, or more keys than fit
+     */
+    public int addText(CharSequence text) {
+        int start = size;
+        try {
+            scan(text);
+        } catch (IllegalStateException e) {
+            size = start;
+            throw new IllegalArgumentException("Pasted text longer than " + MAX_KEYS + " keys", e);
+        } catch (IllegalArgumentException e) {
+            size = start;
+            throw e;
+        }
+        return size - start;
+    }
+
+    /**
+     * Removes the oldest waiting key.
+     *
+     * @return the key, or null if the buffer is empty
+     */
+    public CalculatorKey poll() {
+        if (size == 0) {
+            return null;
+        }
+        CalculatorKey key = KEYS[ring[head]];
+        head = (head + 1) & (ring.length - 1);
+        size--;
+        return key;
+    }
+
+    /**
+     * Applies all waiting keys to the model, oldest first.
+     *
+     * @param model the model to update
+     * @return the number of keys applied
+     */
+    public int applyTo(CalculatorModel model) {
+        return applyTo(model, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Applies up to the given number of waiting keys to the model, oldest first.
+     *
+     * @param model the model to update
+     * @param maxKeys the largest number of keys to apply
+     * @return the number of keys applied
+     */
+    public int applyTo(CalculatorModel model, int maxKeys) {
+        int count = Math.min(size, maxKeys);
+        int mask = ring.length - 1;
+        for (int i = 0; i < count; i++) {
+            KEYS[ring[head]].applyTo(model);
+            head = (head + 1) & mask;
+        }
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Discards all waiting keys.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void scan(CharSequence text) {
+        boolean operandExpected = size == 0 || isOperator(last());
+        boolean negate = false;
+        boolean inNumber = false;
+        boolean inFraction = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            CalculatorKey key = keyOf(c);
+            if (key == null) {
+                boolean space = Character.isWhitespace(c) || Character.isSpaceChar(c);
+                if (!space && c != ',' && c != '_' && c != '\'') {
+                    throw new IllegalArgumentException(
+                        "Unknown key '" + c + "' at position " + (i + 1));
+                }
+                // White space is free between tokens, but joins digits only as a separator
+                boolean separates = !space || inNumber && i + 1 < text.length()
+                        && isAsciiDigit(text.charAt(i + 1));
+                if (separates && !isThousandsSeparator(text, i, inNumber && !inFraction)) {
+                    throw new IllegalArgumentException(nameOf(c) + " at position " + (i + 1)
+                        + " does not separate thousands");
+                }
+                continue;
+            }
+            if (key.isDigit() || key == CalculatorKey.DECIMAL) {
+                inNumber = true;
+                inFraction |= key == CalculatorKey.DECIMAL;
+                add(key);
+                continue;
+            }
+            if (inNumber) {
+                inNumber = false;
+                inFraction = false;
+                if (negate) {
+                    negate = false;
+                    add(CalculatorKey.SIGN);
+                }
+            } else if (key == CalculatorKey.SUBTRACT && operandExpected && !negate) {
+                negate = true;
+                continue;
+            } else if (negate) {
+                negate = false;
+                add(CalculatorKey.SUBTRACT);
+            }
+            operandExpected = isOperator(key);
+            add(key);
+        }
+        if (negate) {
+            add(inNumber ? CalculatorKey.SIGN : CalculatorKey.SUBTRACT);
+        }
+    }
+
+    /**
+     * Checks whether the separator at a position separates thousands: it follows a
+     * digit of an integer part and is followed by exactly three digits.
+     */
+    private static boolean isThousandsSeparator(CharSequence text, int separator, boolean inIntegerPart) {
+        if (!inIntegerPart || separator + 3 >= text.length()) {
+            return false;
+        }
+        for (int i = separator + 1; i <= separator + 3; i++) {
+            if (!isAsciiDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return separator + 4 == text.length() || !isAsciiDigit(text.charAt(separator + 4));
+    }
+
+    private static String nameOf(char separator) {
+        switch (separator) {
+            case ',':
+                return "Comma";
+            case '_':
+                return "Underscore";
+            case '\'':
+                return "Apostrophe";
+            default:
+                return "Space";
+        }
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static CalculatorKey keyOf(char c) {
+        switch (c) {
+            case '0': case '1': case '2': case '3': case '4':
+            case '5': case '6': case '7': case '8': case '9':
+                return CalculatorKey.digit(c - '0');
+            case '.':
+                return CalculatorKey.DECIMAL;
+            case '±':
+                return CalculatorKey.SIGN;
+            case '+':
+                return CalculatorKey.ADD;
+            case '-': case '−':
+                return CalculatorKey.SUBTRACT;
+            case '×': case '*': case 'x': case 'X':
+                return CalculatorKey.MULTIPLY;
+            case '÷': case '/':
+                return CalculatorKey.DIVIDE;
+            case '=':
+                return CalculatorKey.EQUALS;
+            case '←':
+                return CalculatorKey.BACKSPACE;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isOperator(CalculatorKey key) {
+        return key.getOperation() != null;
+    }
+
+    private CalculatorKey last() {
+        return KEYS[ring[(head + size - 1) & (ring.length - 1)]];
+    }
+
+    private void grow() {
+        byte[] grown = new byte[Math.min(ring.length * 2, MAX_KEYS)];
+        int firstPart = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, grown, 0, firstPart);
+        System.arraycopy(ring, 0, grown, firstPart, size - firstPart);
+        ring = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,173 @@
+package com.calculator;
+
+import java.nio.CharBuffer;
+
+/**
+ * Incremental tokenizer for keystroke scripts.
+ *
+ * A script is text made of the button labels: the digits, {@code .}, {@code ±},
+ * {@code + - × ÷}, {@code =}, {@code AC}, {@code CE}, {@code ←} and the undo and
+ * redo keys {@code ↶} and {@code ↷}. Spaces, tabs and carriage returns are ignored
+ * and each line is reported separately. Text can be fed in chunks of any size; a
+ * two-letter key split across chunks is still recognized.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class KeystrokeScanner {
+
+    /**
+     * Receives the keys of a script as they are recognized.
+     */
+    public interface Listener {
+
+        /**
+         * Called for every key.
+         *
+         * @param key the key
+         */
+        void onKey(CalculatorKey key);
+
+        /**
+         * Called at the end of every line that contained at least one key.
+         */
+        void onEndOfLine();
+    }
+
+    private final Listener listener;
+
+    /** First letter of a two-letter key waiting for its second letter, or 0. */
+    private char pending;
+    private long line = 1;
+    private long column;
+    private boolean lineHasKeys;
+
+    /**
+     * Creates a scanner reporting to the given listener.
+     *
+     * @param listener the listener receiving the keys
+     */
+    public KeystrokeScanner(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Scans all remaining characters of the buffer.
+     *
+     * @param input the characters to scan
+     * @throws IllegalArgumentException if a character is not part of any key
+     */
+    public void scan(CharBuffer input) {
+        while (input.hasRemaining()) {
+            accept(input.get());
+        }
+    }
+
+    /**
+     * Scans all characters of the text.
+     *
+     * @param input the characters to scan
+     * @throws IllegalArgumentException if a character is not part of any key
+     */
+    public void scan(CharSequence input) {
+        for (int i = 0; i < input.length(); i++) {
+            accept(input.charAt(i));
+        }
+    }
+
+    /**
+     * Ends the script, reporting the end of a last line without a line break.
+     *
+     * @throws IllegalArgumentException if the script ends inside a two-letter key
+     */
+    public void finish() {
+        if (pending != 0) {
+            throw unknownKey(pending);
+        }
+        endOfLine();
+    }
+
+    private void accept(char c) {
+        column++;
+        if (pending != 0) {
+            char first = pending;
+            pending = 0;
+            if (first == 'A' && c == 'C') {
+                key(CalculatorKey.CLEAR);
+                return;
+            }
+            if (first == 'C' && c == 'E') {
+                key(CalculatorKey.CLEAR_ENTRY);
+                return;
+            }
+            column--;
+            throw unknownKey(first);
+        }
+
+        switch (c) {
+            case '0': case '1': case '2': case '3': case '4':
+            case '5': case '6': case '7': case '8': case '9':
+                key(CalculatorKey.digit(c - '0'));
+                break;
+            case '.':
+                key(CalculatorKey.DECIMAL);
+                break;
+            case '±':
+                key(CalculatorKey.SIGN);
+                break;
+            case '+':
+                key(CalculatorKey.ADD);
+                break;
+            case '-':
+                key(CalculatorKey.SUBTRACT);
+                break;
+            case '×':
+                key(CalculatorKey.MULTIPLY);
+                break;
+            case '÷':
+                key(CalculatorKey.DIVIDE);
+                break;
+            case '=':
+                key(CalculatorKey.EQUALS);
+                break;
+            case '←':
+                key(CalculatorKey.BACKSPACE);
+                break;
+            case '↶':
+                key(CalculatorKey.UNDO);
+                break;
+            case '↷':
+                key(CalculatorKey.REDO);
+                break;
+            case 'A': case 'C':
+                pending = c;
+                break;
+            case '\n':
+                endOfLine();
+                line++;
+                column = 0;
+                break;
+            case ' ': case '\t': case '\r':
+                break;
+            default:
+                throw unknownKey(c);
+        }
+    }
+
+    private void key(CalculatorKey key) {
+        lineHasKeys = true;
+        listener.onKey(key);
+    }
+
+    private void endOfLine() {
+        if (lineHasKeys) {
+            lineHasKeys = false;
+            listener.onEndOfLine();
+        }
+    }
+
+    private IllegalArgumentException unknownKey(char c) {
+        return new IllegalArgumentException(
+            "Unknown key '" + c + "' at line " + line + ", column " + column);
+    }
+}
@@ -0,0 +1,102 @@
+package com.calculator;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Immutable percentile summary of a {@link LatencyHistogram}, in nanoseconds.
+ *
+ * Instances are what {@link CalculatorMetricsMXBean} publishes; JMX clients see them
+ * as composite data with the items {@code count}, {@code p50}, {@code p99},
+ * {@code p999} and {@code max}.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class LatencySummary {
+
+    private final long count;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long max;
+
+    /**
+     * Creates a summary.
+     *
+     * @param count the number of recorded latencies
+     * @param p50 the median
+     * @param p99 the 99th percentile
+     * @param p999 the 99.9th percentile
+     * @param max the largest latency
+     */
+    @ConstructorParameters({"count", "p50", "p99", "p999", "max"})
+    public LatencySummary(long count, long p50, long p99, long p999, long max) {
+        this.count = count;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    /**
+     * Summarizes a histogram.
+     *
+     * @param histogram the histogram
+     * @return the summary
+     */
+    public static LatencySummary of(LatencyHistogram histogram) {
+        return new LatencySummary(histogram.count(), histogram.percentile(50),
+                histogram.percentile(99), histogram.percentile(99.9), histogram.max());
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the median latency.
+     *
+     * @return the 50th percentile
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Gets the 99th percentile latency.
+     *
+     * @return the 99th percentile
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Gets the 99.9th percentile latency.
+     *
+     * @return the 99.9th percentile
+     */
+    public long getP999() {
+        return p999;
+    }
+
+    /**
+     * Gets the largest latency.
+     *
+     * @return the maximum
+     */
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                count, p50 / 1e3, p99 / 1e3, p999 / 1e3, max / 1e3);
+    }
+}
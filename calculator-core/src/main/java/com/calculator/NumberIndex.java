@@ -0,0 +1,228 @@
+package com.calculator;
+
+/**
+ * Sorted index of numbers for {@link CalculationHistory}, built as entries are
+ * recorded.
+ *
+ * The index is a log-structured merge of sorted runs held in two primitive arrays:
+ * each number is a sortable {@code long} key, see {@link #key(double)}, and a
+ * {@code long} reference to the number on the tape. New numbers are inserted in
+ * order into a short open run; a full open run is sealed and merged with the runs
+ * before it while they are not more than twice its length, so there are always
+ * O(log n) runs and each number is merged O(log n) times. Looking up a range is a
+ * binary search in each run followed by a walk over the matches.
+ *
+ * References are never removed one by one: the tape drops its oldest entries, so
+ * every reference below a threshold is dead. Dead references are skipped by lookups
+ * and left out of every merge; once they make up half the index, all runs are merged
+ * into one. Adding a number allocates nothing once the arrays have grown to size.
+ *
+ * Instances are not thread safe.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class NumberIndex {
+
+    /**
+     * Receives the numbers a lookup finds.
+     */
+    interface Visitor {
+
+        /**
+         * Visits one number.
+         *
+         * @param key the sortable key of the number
+         * @param reference the reference it was added with
+         */
+        void visit(long key, long reference);
+    }
+
+    /** Length at which the open run is sealed. */
+    static final int RUN_LENGTH = 256;
+
+    private static final int MAX_RUNS = 64;
+
+    /** Most live numbers the index holds; dead ones beyond as many again are compacted. */
+    private final long limit;
+
+    private long[] keys = new long[RUN_LENGTH * 4];
+    private long[] references = new long[RUN_LENGTH * 4];
+    private int size;
+
+    /** Starts of the sealed runs, oldest first; the open run starts at openStart. */
+    private final int[] runStarts = new int[MAX_RUNS];
+    private int runs;
+    private int openStart;
+
+    private long[] mergeKeys = new long[0];
+    private long[] mergeReferences = new long[0];
+
+    /**
+     * Creates an empty index.
+     *
+     * @param limit the most live numbers the index holds at once
+     */
+    NumberIndex(long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Converts a number to a key that sorts as the numbers do: larger numbers never
+     * get smaller keys, and adjacent {@code double}s get adjacent keys.
+     *
+     * @param value the number, which must not be NaN
+     * @return the key
+     */
+    static long key(double value) {
+        long bits = Double.doubleToRawLongBits(value + 0.0);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the number of references held, live or dead.
+     *
+     * @return the number of references
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a number. References must be added in increasing order.
+     *
+     * @param key the key of the number
+     * @param reference the reference to the number
+     * @param minReference the smallest reference still live
+     */
+    void add(long key, long reference, long minReference) {
+        if (size == keys.length) {
+            grow();
+        }
+        int position = size;
+        while (position > openStart && keys[position - 1] > key) {
+            position--;
+        }
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(references, position, references, position + 1, size - position);
+        keys[position] = key;
+        references[position] = reference;
+        size++;
+
+        if (size - openStart < RUN_LENGTH) {
+            return;
+        }
+        runStarts[runs++] = openStart;
+        openStart = size;
+        while (runs >= 2 && runLength(runs - 2) <= 2 * runLength(runs - 1)) {
+            mergeLast(minReference);
+        }
+        if (size > 2 * limit || runs == MAX_RUNS) {
+            while (runs >= 2) {
+                mergeLast(minReference);
+            }
+        }
+    }
+
+    /**
+     * Visits the live numbers with keys in a range, run by run, each run in key order.
+     *
+     * @param fromKey the smallest key, inclusive
+     * @param toKey the largest key, inclusive
+     * @param minReference the smallest reference still live
+     * @param visitor receives the numbers
+     */
+    void find(long fromKey, long toKey, long minReference, Visitor visitor) {
+        for (int run = 0; run <= runs; run++) {
+            int end = run == runs ? size : runEnd(run);
+            for (int i = lowerBound(run == runs ? openStart : runStarts[run], end, fromKey);
+                    i < end && keys[i] <= toKey; i++) {
+                if (references[i] >= minReference) {
+                    visitor.visit(keys[i], references[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every number.
+     */
+    void clear() {
+        size = 0;
+        runs = 0;
+        openStart = 0;
+    }
+
+    private int runEnd(int run) {
+        return run + 1 < runs ? runStarts[run + 1] : openStart;
+    }
+
+    private int runLength(int run) {
+        return runEnd(run) - runStarts[run];
+    }
+
+    private int lowerBound(int from, int to, long key) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (keys[middle] < key) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Merges the last two sealed runs, leaving out dead references. The older run is
+     * copied aside and merged forward into place; the write position never passes
+     * the read position of the newer run.
+     */
+    private void mergeLast(long minReference) {
+        int start = runStarts[runs - 2];
+        int middle = runStarts[runs - 1];
+        int end = openStart;
+        int leftLength = middle - start;
+        if (mergeKeys.length < leftLength) {
+            mergeKeys = new long[keys.length];
+            mergeReferences = new long[keys.length];
+        }
+        System.arraycopy(keys, start, mergeKeys, 0, leftLength);
+        System.arraycopy(references, start, mergeReferences, 0, leftLength);
+
+        int left = 0;
+        int right = middle;
+        int out = start;
+        while (left < leftLength || right < end) {
+            boolean takeLeft = right == end || left < leftLength
+                    && (mergeKeys[left] < keys[right]
+                        || mergeKeys[left] == keys[right] && mergeReferences[left] < references[right]);
+            long key;
+            long reference;
+            if (takeLeft) {
+                key = mergeKeys[left];
+                reference = mergeReferences[left++];
+            } else {
+                key = keys[right];
+                reference = references[right++];
+            }
+            if (reference >= minReference) {
+                keys[out] = key;
+                references[out++] = reference;
+            }
+        }
+        runs--;
+        size = out;
+        openStart = out;
+    }
+
+    private void grow() {
+        int length = keys.length * 2;
+        long[] grownKeys = new long[length];
+        long[] grownReferences = new long[length];
+        System.arraycopy(keys, 0, grownKeys, 0, size);
+        System.arraycopy(references, 0, grownReferences, 0, size);
+        keys = grownKeys;
+        references = grownReferences;
+    }
+}
@@ -0,0 +1,210 @@
+package com.calculator;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * Precision tier of a {@link CalculatorModel}: how many significant digits its
+ * results keep and which arithmetic computes them.
+ *
+ * <ul>
+ *   <li>{@link #FAST} computes in {@code double} and rounds every result to the 16
+ *       significant digits of IEEE 754 {@code decimal64}, without allocating. It is
+ *       the fastest tier, but decimal fractions carry binary rounding errors beyond
+ *       the 15th digit.</li>
+ *   <li>{@link #STANDARD}, the default, computes exactly in 15 digits, rounding
+ *       {@code HALF_UP}, on the primitive {@link FixedDecimal} path.</li>
+ *   <li>{@link #arbitrary(int) arbitrary} tiers compute in {@code BigDecimal} with
+ *       up to {@link #MAX_DIGITS} digits, rounding {@code HALF_UP}, and widen the
+ *       display to fit.</li>
+ * </ul>
+ *
+ * Tiers are immutable and may be shared freely.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class Precision {
+
+    /**
+     * System property selecting the tier of the desktop application and the batch
+     * evaluator, see {@link #fromSystemProperty()}.
+     */
+    public static final String PROPERTY = "calculator.precision";
+
+    /** Largest number of digits of an arbitrary tier. */
+    public static final int MAX_DIGITS = 10_000;
+
+    /** Display length of the fast and standard tiers. */
+    private static final int DISPLAY_LENGTH = 15;
+
+    /** Room an arbitrary display needs besides the digits: sign, point and exponent. */
+    private static final int DISPLAY_OVERHEAD = 8;
+
+    /**
+     * The arithmetic behind a tier.
+     */
+    public enum Tier {
+        FAST, STANDARD, ARBITRARY
+    }
+
+    /** Double arithmetic rounded to 16 digits. */
+    public static final Precision FAST =
+            new Precision(Tier.FAST, MathContext.DECIMAL64, DISPLAY_LENGTH);
+
+    /** Exact 15-digit arithmetic, the default. */
+    public static final Precision STANDARD =
+            new Precision(Tier.STANDARD, FixedDecimal.MATH_CONTEXT, DISPLAY_LENGTH);
+
+    private final Tier tier;
+    private final MathContext mathContext;
+    private final int displayLength;
+
+    private Precision(Tier tier, MathContext mathContext, int displayLength) {
+        this.tier = tier;
+        this.mathContext = mathContext;
+        this.displayLength = displayLength;
+    }
+
+    /**
+     * Gets an arbitrary-precision tier.
+     *
+     * @param digits the number of significant digits of every result
+     * @return the tier
+     * @throws IllegalArgumentException if digits is not between 1 and {@link #MAX_DIGITS}
+     */
+    public static Precision arbitrary(int digits) {
+        if (digits < 1 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException(
+                "Precision must be between 1 and " + MAX_DIGITS + " digits: " + digits);
+        }
+        return new Precision(Tier.ARBITRARY, new MathContext(digits, RoundingMode.HALF_UP),
+                digits + DISPLAY_OVERHEAD);
+    }
+
+    /**
+     * Parses a tier name: {@code fast}, {@code standard} or a number of digits for an
+     * arbitrary tier, such as {@code 500}.
+     *
+     * @param text the tier name, in any case
+     * @return the tier
+     * @throws IllegalArgumentException if the text names no tier
+     */
+    public static Precision parse(String text) {
+        String name = text.trim();
+        if (name.equalsIgnoreCase("fast")) {
+            return FAST;
+        }
+        if (name.equalsIgnoreCase("standard")) {
+            return STANDARD;
+        }
+        try {
+            return arbitrary(Integer.parseInt(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                "Unknown precision '" + text + "': expected fast, standard or a number of digits", e);
+        }
+    }
+
+    /**
+     * Gets the tier named by the {@value #PROPERTY} system property.
+     *
+     * @return the tier, or {@link #STANDARD} if the property is not set
+     * @throws IllegalArgumentException if the property names no tier
+     */
+    public static Precision fromSystemProperty() {
+        String name = System.getProperty(PROPERTY);
+        return name == null ? STANDARD : parse(name);
+    }
+
+    /**
+     * Decodes a tier stored by {@link #toCode()}.
+     *
+     * @param code the stored code
+     * @return the tier
+     * @throws IllegalArgumentException if the code names no tier
+     */
+    static Precision fromCode(int code) {
+        if (code == 0) {
+            return STANDARD;
+        }
+        return code == -1 ? FAST : arbitrary(code);
+    }
+
+    /**
+     * Encodes this tier for binary files: 0 for standard, -1 for fast and the number
+     * of digits for an arbitrary tier.
+     *
+     * @return the code
+     */
+    int toCode() {
+        switch (tier) {
+            case STANDARD:
+                return 0;
+            case FAST:
+                return -1;
+            default:
+                return getDigits();
+        }
+    }
+
+    /**
+     * Gets the arithmetic behind this tier.
+     *
+     * @return the tier
+     */
+    public Tier getTier() {
+        return tier;
+    }
+
+    /**
+     * Gets the number of significant digits of every result.
+     *
+     * @return the number of digits
+     */
+    public int getDigits() {
+        return mathContext.getPrecision();
+    }
+
+    /**
+     * Gets the precision and rounding of every result.
+     *
+     * @return the math context
+     */
+    public MathContext getMathContext() {
+        return mathContext;
+    }
+
+    /**
+     * Gets the longest input and result text the display shows.
+     *
+     * @return the display length in characters
+     */
+    public int getDisplayLength() {
+        return displayLength;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Precision)) {
+            return false;
+        }
+        Precision other = (Precision) obj;
+        return tier == other.tier && mathContext.equals(other.mathContext);
+    }
+
+    @Override
+    public int hashCode() {
+        return tier.hashCode() * 31 + mathContext.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tier == Tier.ARBITRARY
+                ? Integer.toString(getDigits()) : tier.name().toLowerCase(Locale.ROOT);
+    }
+}
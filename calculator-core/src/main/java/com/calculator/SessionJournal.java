@@ -0,0 +1,442 @@
+package com.calculator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit journal of the keys applied to calculator sessions.
+ *
+ * The journal is a directory of memory-mapped segment files of a fixed size. Every
+ * key is one byte; a session starts with a 21-byte record holding its number, its
+ * start time and its {@link Precision}. A session that does not start from a cleared
+ * calculator, such as one resumed from a {@link SnapshotFile}, is followed by a
+ * state record holding the state it started in, encoded as a snapshot, so replaying
+ * its keys rebuilds exactly what the user saw. When a segment is full, writing continues in
+ * the next one, which a background thread has already created and mapped, so
+ * appending a key is a single store into mapped memory: it never waits for the disk
+ * and allocates nothing. The operating system writes the pages back; a second
+ * background thread forces each full segment to disk, so a slow force never holds up
+ * the creation of the next segment, and {@link #close()} forces the rest. If a
+ * segment cannot be created, the journal disables itself: later keys are dropped
+ * rather than failing the thread that applies them, and {@link #getFailure()} tells
+ * why.
+ *
+ * A separate memory-mapped index, {@code sessions.idx}, holds the segment and offset
+ * at which each session starts, so {@link JournalReader} finds any session without
+ * scanning the segments before it.
+ *
+ * <pre>
+ * segment:  magic (int) | segment number (int) | records... | 0 padding
+ * record:   key ordinal + 1 (byte)
+ *         | 0x7F (byte) session (long) start millis (long) precision (int)
+ *         | 0x7E (byte) length (int) snapshot bytes, right after a session record
+ * index:    magic (int) | entry size (int) | entries...
+ * entry:    session (long) | start millis (long) | segment (int) | offset (int)
+ * </pre>
+ *
+ * Sessions are numbered from 1 in the order they are started. Opening an existing
+ * journal continues after its last record. Instances are not thread safe; all
+ * methods must be called on the thread that applies the keys.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class SessionJournal implements AutoCloseable {
+
+    /** System property naming the journal directory of the desktop application. */
+    public static final String PROPERTY = "calculator.journal";
+
+    /** Size of a segment file unless another is given: 4 MiB, four million keys. */
+    public static final int DEFAULT_SEGMENT_SIZE = 4 << 20;
+
+    static final int SEGMENT_MAGIC = 0x434A4E4C;
+    static final int INDEX_MAGIC = 0x434A4958;
+    static final int SEGMENT_HEADER = 8;
+    static final int INDEX_HEADER = 8;
+    static final int INDEX_ENTRY = 24;
+    static final String INDEX_FILE = "sessions.idx";
+
+    /** First byte of the unwritten part of a segment. */
+    static final byte END = 0;
+    static final byte SESSION = 0x7F;
+    static final int SESSION_RECORD = 21;
+    static final byte STATE = 0x7E;
+    static final int STATE_HEADER = 5;
+
+    private static final int INITIAL_INDEX_ENTRIES = 1024;
+    private static final int KEY_COUNT = CalculatorKey.values().length;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ExecutorService background = newThread("calculator-journal");
+    private final ExecutorService forcing = newThread("calculator-journal-force");
+
+    private MappedByteBuffer segment;
+    private int segmentNumber;
+    private CompletableFuture<MappedByteBuffer> nextSegment;
+    private CompletableFuture<Void> forced = CompletableFuture.completedFuture(null);
+    private IOException failure;
+
+    private MappedByteBuffer index;
+    private int sessionCount;
+    private long sessionId;
+
+    private SessionJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal in a directory, creating it if needed, with segments of
+     * {@link #DEFAULT_SEGMENT_SIZE}.
+     *
+     * @param directory the journal directory
+     * @return the journal
+     * @throws IOException if the journal cannot be opened or is damaged
+     */
+    public static SessionJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the journal in a directory, creating it if needed.
+     *
+     * @param directory the journal directory
+     * @param segmentSize the size of new segment files in bytes
+     * @return the journal
+     * @throws IOException if the journal cannot be opened or is damaged
+     * @throws IllegalArgumentException if the segment size cannot hold a session record
+     */
+    public static SessionJournal open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < SEGMENT_HEADER + SESSION_RECORD) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        SessionJournal journal = new SessionJournal(directory, segmentSize);
+        try {
+            journal.recover();
+        } catch (IOException | RuntimeException e) {
+            journal.background.shutdownNow();
+            journal.forcing.shutdownNow();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Opens the journal named by the {@value #PROPERTY} system property.
+     *
+     * @return the journal, or null if the property is not set
+     * @throws IOException if the journal cannot be opened or is damaged
+     */
+    public static SessionJournal openIfEnabled() throws IOException {
+        String name = System.getProperty(PROPERTY);
+        return name == null || name.isEmpty() ? null : open(Paths.get(name));
+    }
+
+    /**
+     * Starts a new session on a cleared calculator. The following keys belong to it.
+     *
+     * @param precision the precision tier the session computes in
+     * @return the number of the session
+     */
+    public long beginSession(Precision precision) {
+        return beginSession(precision, null);
+    }
+
+    /**
+     * Starts a new session in the current state of a model, which is recorded with
+     * it unless the model is cleared. The following keys belong to the session.
+     *
+     * @param model the model the keys will be applied to
+     * @return the number of the session
+     * @throws IllegalArgumentException if the state does not fit in a segment
+     */
+    public long beginSession(CalculatorModel model) {
+        CalculatorState state = model.snapshot(0);
+        boolean cleared = state.sameAs(new CalculatorModel(model.getPrecision()).snapshot(0));
+        return beginSession(model.getPrecision(), cleared ? null : SnapshotFile.encode(state));
+    }
+
+    private long beginSession(Precision precision, byte[] state) {
+        int length = SESSION_RECORD + (state == null ? 0 : STATE_HEADER + state.length);
+        if (length > segmentSize - SEGMENT_HEADER) {
+            throw new IllegalArgumentException("Session state of " + state.length
+                    + " bytes does not fit in segments of " + segmentSize + " bytes");
+        }
+        if (segment.remaining() < length && !roll()) {
+            throw new UncheckedIOException(failure);
+        }
+        long id = sessionCount + 1L;
+        long start = System.currentTimeMillis();
+        int offset = segment.position();
+        segment.put(SESSION).putLong(id).putLong(start).putInt(precision.toCode());
+        if (state != null) {
+            segment.put(STATE).putInt(state.length).put(state);
+        }
+
+        int entry = INDEX_HEADER + sessionCount * INDEX_ENTRY;
+        if (entry + INDEX_ENTRY > index.capacity()) {
+            index = mapIndex(index.capacity() * 2L);
+        }
+        index.putLong(entry, id).putLong(entry + 8, start)
+                .putInt(entry + 16, segmentNumber).putInt(entry + 20, offset);
+        sessionCount++;
+        sessionId = id;
+        return id;
+    }
+
+    /**
+     * Records a key applied to the current session. Once the journal has disabled
+     * itself, the key is dropped.
+     *
+     * @param key the key
+     * @throws IllegalStateException if no session has been started
+     */
+    public void append(CalculatorKey key) {
+        if (sessionId == 0) {
+            throw new IllegalStateException("No session started");
+        }
+        if (!segment.hasRemaining() && !roll()) {
+            return;
+        }
+        segment.put((byte) (key.ordinal() + 1));
+    }
+
+    /**
+     * Gets why the journal disabled itself.
+     *
+     * @return the error that stopped recording, or null while keys are recorded
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Gets the number of the current session.
+     *
+     * @return the session number, or 0 before the first session is started
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the number of sessions in the journal, including earlier runs.
+     *
+     * @return the number of sessions
+     */
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Gets the journal directory.
+     *
+     * @return the directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Writes the current segment and the index to disk, blocking until done.
+     */
+    public void flush() {
+        segment.force();
+        index.force();
+    }
+
+    /**
+     * Writes everything to disk and stops the background threads once the next
+     * segment is ready and the full ones are forced. The journal cannot be used
+     * afterwards.
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            nextSegment.join();
+        } catch (CompletionException e) {
+            // Only needed once this segment is full, which can no longer happen
+        }
+        forced.join();
+        background.shutdown();
+        forcing.shutdown();
+    }
+
+    /**
+     * Checks whether a record starts at a position, and gets the record's length.
+     *
+     * @param buffer the segment
+     * @param position the position of the record's first byte
+     * @return the record length, or 0 for {@link #END} and anything that is not a
+     *         complete record
+     */
+    static int recordLength(ByteBuffer buffer, int position) {
+        byte record = buffer.get(position);
+        if (record == SESSION) {
+            return SESSION_RECORD;
+        }
+        if (record == STATE) {
+            if (position + STATE_HEADER > buffer.limit()) {
+                return 0;
+            }
+            int length = buffer.getInt(position + 1);
+            return length < 0 || length > buffer.limit() - position - STATE_HEADER ? 0 : STATE_HEADER + length;
+        }
+        return record > 0 && record <= KEY_COUNT ? 1 : 0;
+    }
+
+    /**
+     * Gets the path of a segment file.
+     */
+    static Path segmentPath(Path directory, int number) {
+        return directory.resolve(String.format(Locale.ROOT, "journal-%08d.seg", number));
+    }
+
+    /**
+     * Maps the last segment and the index and finds where writing continues.
+     */
+    private void recover() throws IOException {
+        int last = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.matches("journal-\\d{8}\\.seg")) {
+                    last = Math.max(last, Integer.parseInt(name.substring(8, 16)));
+                }
+            }
+        }
+        if (last < 0) {
+            segmentNumber = 0;
+            segment = createSegment(0);
+        } else {
+            segmentNumber = last;
+            segment = map(segmentPath(directory, last), 0);
+            if (segment.getInt(0) != SEGMENT_MAGIC) {
+                throw new IOException("Not a journal segment: " + segmentPath(directory, last));
+            }
+            segment.position(endOf(segment));
+        }
+
+        Path indexPath = directory.resolve(INDEX_FILE);
+        long indexSize = Files.exists(indexPath) ? Files.size(indexPath) : 0;
+        long initialSize = INDEX_HEADER + (long) INITIAL_INDEX_ENTRIES * INDEX_ENTRY;
+        index = mapIndex(Math.max(indexSize, initialSize));
+        if (indexSize == 0) {
+            index.putInt(0, INDEX_MAGIC).putInt(4, INDEX_ENTRY);
+        } else if (index.getInt(0) != INDEX_MAGIC) {
+            throw new IOException("Not a journal index: " + indexPath);
+        }
+        int entries = (index.capacity() - INDEX_HEADER) / INDEX_ENTRY;
+        while (sessionCount < entries
+                && index.getLong(INDEX_HEADER + sessionCount * INDEX_ENTRY) != 0) {
+            sessionCount++;
+        }
+        prepareNextSegment();
+    }
+
+    /**
+     * Finds the end of the records in a segment.
+     */
+    private static int endOf(ByteBuffer buffer) throws IOException {
+        int position = SEGMENT_HEADER;
+        while (position < buffer.limit()) {
+            byte record = buffer.get(position);
+            if (record == END) {
+                break;
+            }
+            int length = recordLength(buffer, position);
+            if (length == 0) {
+                throw new IOException("Damaged journal record at offset " + position);
+            }
+            position += length;
+        }
+        return Math.min(position, buffer.limit());
+    }
+
+    /**
+     * Continues in the next segment, which the background thread has prepared, and
+     * forces the full one to disk on the forcing thread. If the next segment could not
+     * be created, disables the journal instead and leaves the full segment in place.
+     *
+     * @return true if writing continues, false if the journal is disabled
+     */
+    private boolean roll() {
+        if (failure != null) {
+            return false;
+        }
+        MappedByteBuffer full = segment;
+        try {
+            segment = nextSegment.join();
+        } catch (CompletionException e) {
+            UncheckedIOException cause = (UncheckedIOException) e.getCause();
+            failure = new IOException(cause.getMessage(), cause.getCause());
+            System.err.println("Session journal disabled: " + failure.getMessage());
+            return false;
+        }
+        segmentNumber++;
+        forced = CompletableFuture.runAsync(full::force, forcing);
+        prepareNextSegment();
+        return true;
+    }
+
+    private void prepareNextSegment() {
+        int number = segmentNumber + 1;
+        nextSegment = CompletableFuture.supplyAsync(() -> {
+            try {
+                return createSegment(number);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create journal segment " + number, e);
+            }
+        }, background);
+    }
+
+    private static ExecutorService newThread(String name) {
+        return Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private MappedByteBuffer createSegment(int number) throws IOException {
+        MappedByteBuffer created = map(segmentPath(directory, number), segmentSize);
+        created.putInt(SEGMENT_MAGIC).putInt(number);
+        return created;
+    }
+
+    private MappedByteBuffer mapIndex(long size) {
+        try {
+            return map(directory.resolve(INDEX_FILE), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map the journal index", e);
+        }
+    }
+
+    /**
+     * Maps a file for reading and writing, growing it to the given size; a size of 0
+     * maps the file as it is.
+     */
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long length = size == 0 ? channel.size() : size;
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * File holding the complete state of a {@link CalculatorModel}, so a relaunched
+ * calculator resumes exactly where it was left without replaying any keys: the
+ * display, the undo and redo steps, and the {@link CalculationHistory} tape.
+ *
+ * The file has a fixed 24-byte header followed by the texts of the state in a fixed
+ * order; numbers are stored as their exact decimal text, so values of any precision
+ * tier survive unchanged. A history section follows with the undo timeline, each
+ * state encoded like the file itself, and the tape entries as they are packed on the
+ * tape. Restoring maps the file and decodes it in place; the state takes
+ * microseconds, the tape grows with its entries. Saving writes a temporary file and
+ * renames it over the snapshot, so a crash while saving leaves the previous snapshot
+ * intact, and CRCs guard against anything else.
+ *
+ * <pre>
+ * header:  magic (int) | version (short) | operation + 1 (byte) | flags (byte)
+ *          | precision (int) | text bytes (int) | text CRC-32 (int) | history bytes (int)
+ * text:    current value, stored value, input, error message, expression,
+ *          each as a char count (int, -1 for none) and UTF-16 chars
+ * history: history CRC-32 (int) | undo states (int) | undo cursor (int)
+ *          | undo states, each as a length (int) and a snapshot without history
+ *          | tape entries (int) | tape entries, each as a time (long) and its bytes
+ * </pre>
+ *
+ * A file of version 1 has no history section; it restores the state alone. Writes
+ * happen on a background thread, one at a time, and the undo states, which are
+ * immutable, are encoded there too. Instances are thread safe, but a model must only
+ * be passed in on the thread that uses it.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class SnapshotFile {
+
+    /** System property naming the snapshot file of the desktop application. */
+    public static final String PROPERTY = "calculator.snapshot";
+
+    static final int MAGIC = 0x43534E50;
+    static final short VERSION = 2;
+    static final int HEADER = 24;
+
+    private static final int HAS_STORED_VALUE = 1;
+    private static final int HAS_ERROR = 2;
+    private static final int JUST_CALCULATED = 4;
+    private static final int INPUT_STARTED = 8;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /** Encoded entries of a missing tape: a count of 0. */
+    private static final byte[] EMPTY_TAPE = new byte[Integer.BYTES];
+
+    private final Path path;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "calculator-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Bytes of the last snapshot written or restored; guarded by this. */
+    private byte[] lastSaved;
+
+    /** The tape last encoded, the entries it held then and their bytes; guarded by tapeLock. */
+    private final Object tapeLock = new Object();
+    private CalculationHistory savedTape;
+    private long savedFirst;
+    private long savedNext;
+    private byte[] savedEntries;
+
+    /**
+     * Creates a snapshot file at a path. Nothing is read or written yet.
+     *
+     * @param path the snapshot file
+     */
+    public SnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Gets the snapshot file named by the {@value #PROPERTY} system property.
+     *
+     * @return the snapshot file, or null if the property is not set
+     */
+    public static SnapshotFile fromSystemProperty() {
+        String name = System.getProperty(PROPERTY);
+        return name == null || name.isEmpty() ? null : new SnapshotFile(Paths.get(name));
+    }
+
+    /**
+     * Gets the path of the snapshot file.
+     *
+     * @return the path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Replaces the state of a model with the snapshot, if there is one taken in the
+     * model's precision tier. The undo timeline is restored if undo is on, within the
+     * model's undo limit, and the tape entries if the model has a tape.
+     *
+     * @param model the model to restore
+     * @return true if the model was restored; false if there is no snapshot or it
+     *         was taken in another precision tier
+     * @throws IOException if the file cannot be read or is damaged
+     */
+    public boolean restore(CalculatorModel model) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        CalculatorState state = decode(mapped);
+        if (!state.precision.equals(model.getPrecision())) {
+            return false;
+        }
+        int historyBytes = mapped.getInt(20);
+        ByteBuffer history = mapped.duplicate()
+                .position(mapped.limit() - historyBytes).slice();
+        CalculatorState[] timeline = null;
+        int cursor = 0;
+        if (historyBytes > 0) {
+            try {
+                history.position(Integer.BYTES);
+                timeline = readTimeline(history, state.precision);
+                cursor = history.getInt(2 * Integer.BYTES);
+            } catch (RuntimeException e) {
+                throw new IOException("Damaged calculator snapshot", e);
+            }
+        }
+        model.restore(state, timeline, cursor);
+        CalculationHistory tape = model.getHistory();
+        if (tape != null && historyBytes > 0) {
+            try {
+                tape.decode(history);
+            } catch (RuntimeException e) {
+                tape.clear();
+                throw new IOException("Damaged calculator snapshot", e);
+            }
+        }
+        synchronized (this) {
+            lastSaved = new byte[mapped.rewind().remaining()];
+            mapped.get(lastSaved);
+        }
+        return true;
+    }
+
+    /**
+     * Saves the state of a model and waits until it is on disk.
+     *
+     * @param model the model to save
+     * @return true if the snapshot was written; false if it was unchanged
+     * @throws IOException if the file cannot be written
+     */
+    public boolean save(CalculatorModel model) throws IOException {
+        try {
+            return saveLater(model).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Captures the state of a model now and saves it on the background thread. A
+     * state equal to the last one saved is not written again. Only the tape entries
+     * are copied on the calling thread, and only if they changed since the last call.
+     *
+     * @param model the model to save
+     * @return completes with true once the snapshot is on disk, with false if it was
+     *         unchanged, or exceptionally with an {@link UncheckedIOException}
+     */
+    public CompletableFuture<Boolean> saveLater(CalculatorModel model) {
+        CalculatorState state = model.snapshot(0);
+        UndoHistory undo = model.getUndoHistory();
+        CalculatorState[] timeline = undo == null ? new CalculatorState[0] : undo.toArray();
+        int cursor = undo == null ? 0 : undo.getUndoCount();
+        byte[] entries = encodeTape(model.getHistory());
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return write(encode(state, timeline, cursor, entries));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot save snapshot " + path, e);
+            }
+        }, writer);
+    }
+
+    /**
+     * Stops the background thread after the pending writes.
+     */
+    public void close() {
+        writer.shutdown();
+    }
+
+    private synchronized boolean write(byte[] bytes) throws IOException {
+        if (Arrays.equals(bytes, lastSaved)) {
+            return false;
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, path,
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lastSaved = bytes;
+        return true;
+    }
+
+    /**
+     * Encodes the entries of a tape, or reuses the bytes of the last call if the
+     * tape still holds the same entries.
+     */
+    private byte[] encodeTape(CalculationHistory tape) {
+        if (tape == null) {
+            return EMPTY_TAPE;
+        }
+        synchronized (tapeLock) {
+            if (tape != savedTape || tape.getFirst() != savedFirst || tape.getNext() != savedNext) {
+                savedEntries = tape.encode();
+                savedTape = tape;
+                savedFirst = tape.getFirst();
+                savedNext = tape.getNext();
+            }
+            return savedEntries;
+        }
+    }
+
+    /**
+     * Encodes a state with its history section.
+     */
+    static byte[] encode(CalculatorState state, CalculatorState[] timeline, int cursor, byte[] entries) {
+        byte[][] states = new byte[timeline.length][];
+        int historyBytes = 3 * Integer.BYTES + entries.length;
+        for (int i = 0; i < timeline.length; i++) {
+            states[i] = encode(timeline[i]);
+            historyBytes += Integer.BYTES + states[i].length;
+        }
+        byte[] head = encode(state);
+        ByteBuffer buffer = ByteBuffer.allocate(head.length + historyBytes);
+        buffer.put(head).putInt(0).putInt(timeline.length).putInt(cursor);
+        for (byte[] encoded : states) {
+            buffer.putInt(encoded.length).put(encoded);
+        }
+        buffer.put(entries);
+        buffer.putInt(20, historyBytes)
+                .putInt(head.length, crc(buffer, head.length + Integer.BYTES, historyBytes - Integer.BYTES));
+        return buffer.array();
+    }
+
+    /**
+     * Encodes a state without a history section, as the undo states in a snapshot
+     * and the starting states in a {@link SessionJournal} are.
+     */
+    static byte[] encode(CalculatorState state) {
+        String[] texts = {
+            state.currentValue.toString(),
+            state.storedValue == null ? null : state.storedValue.toString(),
+            state.currentInput,
+            state.errorMessage,
+            state.displayExpression
+        };
+        int textBytes = 0;
+        for (String text : texts) {
+            textBytes += 4 + (text == null ? 0 : text.length() * 2);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + textBytes);
+        buffer.position(HEADER);
+        for (String text : texts) {
+            if (text == null) {
+                buffer.putInt(-1);
+                continue;
+            }
+            buffer.putInt(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                buffer.putChar(text.charAt(i));
+            }
+        }
+        int operation = state.currentOperation == null ? 0 : state.currentOperation.ordinal() + 1;
+        int flags = (state.storedValue != null ? HAS_STORED_VALUE : 0)
+                | (state.hasError ? HAS_ERROR : 0)
+                | (state.justCalculated ? JUST_CALCULATED : 0)
+                | (state.inputStarted ? INPUT_STARTED : 0);
+        buffer.putInt(0, MAGIC)
+                .putShort(4, VERSION)
+                .put(6, (byte) operation)
+                .put(7, (byte) flags)
+                .putInt(8, state.precision.toCode())
+                .putInt(12, textBytes)
+                .putInt(16, crc(buffer, HEADER, textBytes))
+                .putInt(20, 0);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes the state of a snapshot and checks its history section, if any, without
+     * decoding it.
+     */
+    static CalculatorState decode(ByteBuffer buffer) throws IOException {
+        return decode(buffer, null, 0);
+    }
+
+    /**
+     * Decodes the state of a snapshot, sharing the parts equal to those of a previous
+     * state.
+     */
+    private static CalculatorState decode(ByteBuffer buffer, CalculatorState previous, long version)
+            throws IOException {
+        if (buffer.limit() < HEADER || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a calculator snapshot");
+        }
+        if (buffer.getShort(4) < 1 || buffer.getShort(4) > VERSION) {
+            throw new IOException("Unsupported snapshot version " + buffer.getShort(4));
+        }
+        int textBytes = buffer.getInt(12);
+        int historyBytes = buffer.getInt(20);
+        if (textBytes < 0 || historyBytes < 0 || historyBytes != 0 && buffer.getShort(4) == 1
+                || (long) HEADER + textBytes + historyBytes != buffer.limit()
+                || crc(buffer, HEADER, textBytes) != buffer.getInt(16)) {
+            throw new IOException("Damaged calculator snapshot");
+        }
+        int history = HEADER + textBytes;
+        if (historyBytes > 0 && (historyBytes < 3 * Integer.BYTES
+                || crc(buffer, history + Integer.BYTES, historyBytes - Integer.BYTES) != buffer.getInt(history))) {
+            throw new IOException("Damaged calculator snapshot");
+        }
+        try {
+            int operation = buffer.get(6);
+            int flags = buffer.get(7);
+            Precision precision = Precision.fromCode(buffer.getInt(8));
+            buffer.position(HEADER);
+            String current = readText(buffer);
+            String stored = readText(buffer);
+            String input = readText(buffer);
+            String error = readText(buffer);
+            String expression = readText(buffer);
+            return new CalculatorState(previous, version, precision, new FixedDecimal().parse(current),
+                    (flags & HAS_STORED_VALUE) != 0 ? new FixedDecimal().parse(stored) : null,
+                    input, operation == 0 ? null : OPERATIONS[operation - 1], error, expression,
+                    (flags & HAS_ERROR) != 0, (flags & JUST_CALCULATED) != 0,
+                    (flags & INPUT_STARTED) != 0);
+        } catch (RuntimeException e) {
+            throw new IOException("Damaged calculator snapshot", e);
+        }
+    }
+
+    /**
+     * Decodes the undo states of a history section, read from its position.
+     *
+     * @return the states, oldest first, or null if undo was off
+     */
+    private static CalculatorState[] readTimeline(ByteBuffer history, Precision precision)
+            throws IOException {
+        int count = history.getInt();
+        int cursor = history.getInt();
+        if (count == 0) {
+            return null;
+        }
+        if (count < 0 || cursor < 0 || cursor >= count) {
+            throw new IOException("Damaged calculator snapshot");
+        }
+        CalculatorState[] timeline = new CalculatorState[count];
+        for (int i = 0; i < count; i++) {
+            int length = history.getInt();
+            ByteBuffer encoded = history.slice().limit(length);
+            timeline[i] = decode(encoded, i == 0 ? null : timeline[i - 1], i);
+            if (!timeline[i].precision.equals(precision)) {
+                throw new IOException("Damaged calculator snapshot");
+            }
+            history.position(history.position() + length);
+        }
+        return timeline;
+    }
+
+    private static String readText(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = buffer.getChar();
+        }
+        return new String(chars);
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(offset).limit(offset + length));
+        return (int) crc.getValue();
+    }
+}
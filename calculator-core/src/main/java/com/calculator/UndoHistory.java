@@ -0,0 +1,229 @@
+package com.calculator;
+
+/**
+ * Bounded undo and redo history of a {@link CalculatorModel}.
+ *
+ * The history is a timeline of immutable {@link CalculatorState}s in a growable ring,
+ * with a cursor on the current state: undo and redo move the cursor, and recording a
+ * new state drops the states after the cursor and appends. Each state is created from
+ * the one before it and shares every part that did not change, so a typed digit
+ * costs a state object and the new input text, not a copy of the model.
+ *
+ * The memory the states hold is estimated as they are recorded, see
+ * {@link CalculatorState#footprint}, and kept within a fixed limit by dropping the
+ * oldest states. Every operation is O(1), amortized over the growth of the ring and
+ * the states dropped.
+ *
+ * Instances are not thread safe.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class UndoHistory {
+
+    /** Bytes of a ring slot, a reference and a charge, with room for the ring's slack. */
+    private static final int SLOT_BYTES = 16;
+
+    private final long limit;
+
+    private CalculatorState[] states = new CalculatorState[64];
+
+    /** Estimated bytes each state adds to the one before it; the oldest in full. */
+    private int[] charges = new int[64];
+
+    private int head;
+    private int size;
+
+    /** Position of the current state, counted from the oldest. */
+    private int cursor;
+    private long memoryUsed;
+
+    /**
+     * Creates a history holding only the current state.
+     *
+     * @param limit the most memory the states may hold, in bytes
+     * @param current the current state
+     */
+    UndoHistory(long limit, CalculatorState current) {
+        this.limit = limit;
+        states[0] = current;
+        charges[0] = SLOT_BYTES + current.footprint(null);
+        memoryUsed = charges[0];
+        size = 1;
+    }
+
+    /**
+     * Creates a history holding a timeline restored from a {@link SnapshotFile}. The
+     * oldest states are dropped until the timeline fits the limit.
+     *
+     * @param limit the most memory the states may hold, in bytes
+     * @param timeline the states, oldest first, each sharing parts with the one before
+     * @param cursor the position of the current state in the timeline
+     */
+    UndoHistory(long limit, CalculatorState[] timeline, int cursor) {
+        this(limit, timeline[0]);
+        for (int i = 1; i < timeline.length; i++) {
+            append(timeline[i], timeline[i - 1]);
+        }
+        this.cursor = cursor;
+        while (memoryUsed > limit && this.cursor > 0) {
+            dropOldest();
+        }
+    }
+
+    /**
+     * Gets the memory limit.
+     *
+     * @return the most memory the states may hold, in bytes
+     */
+    long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the estimated memory the states hold.
+     *
+     * @return the estimate in bytes
+     */
+    long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    /**
+     * Gets the number of states undo can go back.
+     *
+     * @return the number of undo steps
+     */
+    int getUndoCount() {
+        return cursor;
+    }
+
+    /**
+     * Gets the number of states redo can go forward.
+     *
+     * @return the number of redo steps
+     */
+    int getRedoCount() {
+        return size - cursor - 1;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the state at the cursor
+     */
+    CalculatorState current() {
+        return get(cursor);
+    }
+
+    /**
+     * Gets the states, oldest first.
+     *
+     * @return a new array of the states
+     */
+    CalculatorState[] toArray() {
+        CalculatorState[] timeline = new CalculatorState[size];
+        for (int i = 0; i < size; i++) {
+            timeline[i] = get(i);
+        }
+        return timeline;
+    }
+
+    /**
+     * Records the state of a model after a change, unless the model is still in the
+     * current state. The states that could be redone are dropped, and the oldest
+     * states are dropped until the history fits its limit again.
+     *
+     * @param model the model
+     */
+    void record(CalculatorModel model) {
+        CalculatorState current = current();
+        CalculatorState next = model.snapshot(current.getVersion() + 1, current);
+        if (next.sameAs(current)) {
+            return;
+        }
+        while (size > cursor + 1) {
+            int dropped = index(--size);
+            memoryUsed -= charges[dropped];
+            states[dropped] = null;
+        }
+        append(next, current);
+        cursor++;
+        while (memoryUsed > limit && cursor > 0) {
+            dropOldest();
+        }
+    }
+
+    /**
+     * Moves back to the previous state.
+     *
+     * @return the previous state, or null if there is none
+     */
+    CalculatorState undo() {
+        if (cursor == 0) {
+            return null;
+        }
+        return get(--cursor);
+    }
+
+    /**
+     * Moves forward to the state last undone.
+     *
+     * @return the next state, or null if there is none
+     */
+    CalculatorState redo() {
+        if (cursor == size - 1) {
+            return null;
+        }
+        return get(++cursor);
+    }
+
+    /**
+     * Appends a state after the last one, charged for what it does not share with the
+     * state before it.
+     */
+    private void append(CalculatorState next, CalculatorState previous) {
+        if (size == states.length) {
+            grow();
+        }
+        int index = index(size++);
+        states[index] = next;
+        charges[index] = SLOT_BYTES + next.footprint(previous);
+        memoryUsed += charges[index];
+    }
+
+    /**
+     * Drops the oldest state. The next one becomes the oldest and is charged in full,
+     * since the parts it shared with the dropped state are now its own.
+     */
+    private void dropOldest() {
+        memoryUsed -= charges[head];
+        states[head] = null;
+        head = index(1);
+        size--;
+        cursor--;
+        int full = SLOT_BYTES + states[head].footprint(null);
+        memoryUsed += full - charges[head];
+        charges[head] = full;
+    }
+
+    private CalculatorState get(int position) {
+        return states[index(position)];
+    }
+
+    private int index(int position) {
+        return (head + position) & (states.length - 1);
+    }
+
+    private void grow() {
+        CalculatorState[] grownStates = new CalculatorState[states.length * 2];
+        int[] grownCharges = new int[states.length * 2];
+        for (int i = 0; i < size; i++) {
+            grownStates[i] = get(i);
+            grownCharges[i] = charges[index(i)];
+        }
+        states = grownStates;
+        charges = grownCharges;
+        head = 0;
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Module definition for the Java Calculator engine.
+ * 
+ * This module holds the calculator model, the decimal arithmetic and the headless
+ * batch evaluator. Besides {@code java.base} it depends only on {@code java.management}
+ * and {@code jdk.jfr}, for publishing its metrics and events, so servers and batch
+ * jobs can embed it without JavaFX on the module path.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+module com.calculator {
+    requires java.management;
+    requires jdk.jfr;
+    
+    exports com.calculator;
+}
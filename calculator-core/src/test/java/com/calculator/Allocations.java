@@ -0,0 +1,65 @@
+package com.calculator;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks for the allocation tests that a task allocates nothing per operation.
+ *
+ * The bytes the current thread allocates are read from its ThreadMXBean. A single
+ * run also picks up one-off allocations unrelated to the task: deoptimization and
+ * recompilation, a new TLAB, or the probes of a coverage agent. The task is therefore
+ * run until compiled, then measured several times, and only the best run is held to
+ * the budget: a fixed allowance for that noise plus one byte per thousand operations.
+ * A task that allocates per operation allocates at least 16 bytes each time and
+ * fails by orders of magnitude.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class Allocations {
+
+    /** Bytes allowed in every measured run for allocations the task did not make. */
+    static final long NOISE = 2048;
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    private Allocations() {
+    }
+
+    /**
+     * Asserts that a task allocates nothing per operation, or skips the test where
+     * the JVM cannot measure allocation.
+     *
+     * @param task the task, which performs the operations and may be run repeatedly
+     * @param operations the number of operations one run of the task performs
+     * @param unit what an operation is, for the failure message
+     */
+    static void assertNoAllocation(Runnable task, long operations, String unit) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        long threadId = Thread.currentThread().getId();
+
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            task.run();
+        }
+        long least = Long.MAX_VALUE;
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            task.run();
+            least = Math.min(least, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        long allocated = least;
+        long budget = NOISE + operations / 1000;
+        assertTrue(allocated < budget,
+            () -> allocated + " bytes allocated for " + operations + " " + unit
+                + ", budget " + budget);
+    }
+}
@@ -0,0 +1,200 @@
+package com.calculator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AsyncEvaluator class.
+ * Tests background evaluation, result hand-over and cancellation, including that
+ * cancelled calculations do not hold up later ones while a worker is free.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Async Evaluator Tests")
+class AsyncEvaluatorTest {
+
+    /** Tasks posted to the model's thread, run by the test when it chooses. */
+    private final BlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+    private final AtomicInteger done = new AtomicInteger();
+
+    private CalculatorModel model;
+    private AsyncEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        model = new CalculatorModel();
+        evaluator = new AsyncEvaluator(model, callbacks::add);
+        model.inputDigit("1");
+        model.inputDigit("0");
+        model.setOperation(CalculatorModel.Operation.DIVIDE);
+        model.inputDigit("4");
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluator.close();
+    }
+
+    @Test
+    @DisplayName("The result should be restored through the callback executor")
+    void testSubmit() throws InterruptedException {
+        evaluator.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+        assertTrue(evaluator.isBusy());
+        assertTrue(model.isEstimate());
+        assertEquals("2.5", model.getCurrentDisplay());
+        assertEquals("10 ÷ 4 ≈", model.getExpressionDisplay());
+
+        callbacks.poll(10, TimeUnit.SECONDS).run();
+
+        assertFalse(evaluator.isBusy());
+        assertFalse(model.isEstimate());
+        assertEquals("2.5", model.getCurrentDisplay());
+        assertEquals("10 ÷ 4 =", model.getExpressionDisplay());
+        assertEquals(1, done.get());
+    }
+
+    @Test
+    @DisplayName("Completing should wait for the result and ignore the late callback")
+    void testComplete() throws InterruptedException {
+        evaluator.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+        evaluator.complete();
+        assertEquals("2.5", model.getCurrentDisplay());
+
+        model.inputDigit("7");
+        callbacks.poll(10, TimeUnit.SECONDS).run();
+        assertEquals("7", model.getCurrentDisplay());
+        assertEquals(1, done.get());
+    }
+
+    @Test
+    @DisplayName("A cancelled evaluation should leave the model unchanged")
+    void testCancel() throws InterruptedException {
+        evaluator.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+        assertTrue(evaluator.cancel());
+        assertFalse(evaluator.cancel());
+
+        // Cancelled before it started, the evaluation posts no callback at all
+        Runnable late = callbacks.poll(200, TimeUnit.MILLISECONDS);
+        if (late != null) {
+            late.run();
+        }
+        assertFalse(model.isEstimate());
+        assertEquals("4", model.getCurrentDisplay());
+        assertEquals(CalculatorModel.Operation.DIVIDE, model.getCurrentOperation());
+        assertEquals(0, done.get());
+    }
+
+    @Test
+    @DisplayName("A cancelled calculation still running should not delay the next one")
+    void testCancelledDoesNotBlock() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncEvaluator held = holdingFirst(running, release, 2);
+        try {
+            held.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            assertTrue(held.cancel());
+
+            held.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+            assertTimeoutPreemptively(Duration.ofSeconds(10), held::complete);
+            assertEquals("2.5", model.getCurrentDisplay());
+            assertEquals("10 ÷ 4 =", model.getExpressionDisplay());
+            assertEquals(1, done.get());
+        } finally {
+            release.countDown();
+            held.close();
+        }
+    }
+
+    @Test
+    @DisplayName("With every worker busy, the next calculation should wait for one")
+    void testWorkersCapped() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncEvaluator held = holdingFirst(running, release, 1);
+        try {
+            held.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+            assertTrue(held.cancel());
+
+            held.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+            assertNull(callbacks.poll(200, TimeUnit.MILLISECONDS));
+            assertTrue(held.isBusy());
+            assertTrue(model.isEstimate());
+
+            release.countDown();
+            assertTimeoutPreemptively(Duration.ofSeconds(10), held::complete);
+            assertEquals("10 ÷ 4 =", model.getExpressionDisplay());
+            assertEquals(1, done.get());
+        } finally {
+            release.countDown();
+            held.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Only keys that make the result irrelevant should cancel it")
+    void testCancelFor() {
+        evaluator.submit(CalculatorKey.EQUALS, done::incrementAndGet);
+        assertFalse(evaluator.cancelFor(CalculatorKey.ADD));
+        assertFalse(evaluator.cancelFor(CalculatorKey.SIGN));
+        assertTrue(evaluator.cancelFor(CalculatorKey.DIGIT_5));
+        CalculatorKey.DIGIT_5.applyTo(model);
+        assertEquals("5", model.getCurrentDisplay());
+        assertNull(model.getCurrentOperation());
+
+        evaluator.submit(CalculatorKey.ADD, done::incrementAndGet);
+        assertFalse(evaluator.cancelFor(CalculatorKey.DIGIT_1));
+        assertTrue(evaluator.cancelFor(CalculatorKey.CLEAR));
+        assertFalse(evaluator.isBusy());
+        assertEquals(0, done.get());
+    }
+
+    @Test
+    @DisplayName("Equals and operation keys should be evaluated in the background")
+    void testEvaluates() {
+        assertTrue(AsyncEvaluator.evaluates(CalculatorKey.EQUALS));
+        assertTrue(AsyncEvaluator.evaluates(CalculatorKey.MULTIPLY));
+        assertFalse(AsyncEvaluator.evaluates(CalculatorKey.DIGIT_3));
+        assertFalse(AsyncEvaluator.evaluates(CalculatorKey.CLEAR));
+    }
+
+    /**
+     * Creates an evaluator whose first evaluation holds its worker in the hand-over
+     * until released and, like BigDecimal arithmetic, ignores interrupts: a
+     * calculation that takes long to finish.
+     */
+    private AsyncEvaluator holdingFirst(CountDownLatch running, CountDownLatch release, int workers) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        return new AsyncEvaluator(model, task -> {
+            if (first.getAndSet(false)) {
+                running.countDown();
+                boolean interrupted = false;
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            callbacks.add(task);
+        }, workers);
+    }
+}
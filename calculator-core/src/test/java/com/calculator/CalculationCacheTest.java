@@ -0,0 +1,153 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalculationCache class.
+ * Tests hits, misses, eviction and that cached results match computed ones.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Calculation Cache Tests")
+class CalculationCacheTest {
+
+    @Test
+    @DisplayName("Repeated divisions should be answered from the cache")
+    void testHitsAndMisses() {
+        CalculationCache cache = new CalculationCache(16);
+        CalculatorModel model = new CalculatorModel(cache);
+
+        for (int i = 0; i < 3; i++) {
+            model.clear();
+            type(model, "10");
+            model.setOperation(Operation.DIVIDE);
+            type(model, "3");
+            model.calculate();
+            assertEquals("3.3333333333333", model.getCurrentDisplay());
+            assertEquals("10 ÷ 3 =", model.getExpressionDisplay());
+        }
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Addition and subtraction should bypass the cache")
+    void testAdditionNotCached() {
+        CalculationCache cache = new CalculationCache(16);
+        CalculatorModel model = new CalculatorModel(cache);
+        type(model, "5");
+        model.setOperation(Operation.ADD);
+        type(model, "3");
+        model.calculate();
+
+        assertEquals("8", model.getCurrentDisplay());
+        assertEquals(0, cache.getHits() + cache.getMisses());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Operands with different scales should not share an entry")
+    void testScaleIsPartOfKey() {
+        CalculationCache cache = new CalculationCache(16);
+        FixedDecimal result = new FixedDecimal();
+        FixedDecimal two = new FixedDecimal().parse("2");
+        FixedDecimal twoPointZero = new FixedDecimal().parse("2.0");
+        FixedDecimal three = new FixedDecimal().parse("3");
+
+        cache.put(two, Operation.MULTIPLY, three, new FixedDecimal().parse("6"));
+        assertFalse(cache.get(twoPointZero, Operation.MULTIPLY, three, result));
+        assertFalse(cache.get(two, Operation.DIVIDE, three, result));
+        assertTrue(cache.get(two, Operation.MULTIPLY, three, result));
+        assertEquals("6", result.toBigDecimal().toString());
+    }
+
+    @Test
+    @DisplayName("A full cache should evict and stay within its capacity")
+    void testEviction() {
+        CalculationCache cache = new CalculationCache(8);
+        assertEquals(8, cache.getCapacity());
+        FixedDecimal left = new FixedDecimal();
+        FixedDecimal right = new FixedDecimal().parse("7");
+        FixedDecimal result = new FixedDecimal();
+        for (int i = 0; i < 100; i++) {
+            left.set(i, 0);
+            result.set(i * 7L, 0);
+            cache.put(left, Operation.MULTIPLY, right, result);
+        }
+
+        assertTrue(cache.size() <= cache.getCapacity());
+        assertEquals(100 - cache.size(), cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("The most recently used entry should survive eviction")
+    void testLeastRecentlyUsedEvicted() {
+        CalculationCache cache = new CalculationCache(4);
+        FixedDecimal left = new FixedDecimal();
+        FixedDecimal right = new FixedDecimal().parse("7");
+        FixedDecimal result = new FixedDecimal();
+        FixedDecimal kept = new FixedDecimal().set(1, 0);
+        cache.put(kept, Operation.MULTIPLY, right, result.set(7, 0));
+        for (int i = 2; i < 100; i++) {
+            assertTrue(cache.get(kept, Operation.MULTIPLY, right, result));
+            left.set(i, 0);
+            cache.put(left, Operation.MULTIPLY, right, result.set(i * 7L, 0));
+        }
+        assertTrue(cache.get(kept, Operation.MULTIPLY, right, result));
+        assertEquals(7, result.toBigDecimal().intValueExact());
+    }
+
+    @Test
+    @DisplayName("Cached sessions should match uncached sessions")
+    void testMatchesUncachedModel() {
+        CalculationCache cache = new CalculationCache(64);
+        CalculatorModel cached = new CalculatorModel(cache);
+        CalculatorModel plain = new CalculatorModel();
+        String[] operands = {"0", "1", "3", "7", "0.1", "2.50", "98765.4321098765", "3.14159265358979"};
+        Operation[] operations = Operation.values();
+        Random random = new Random(10);
+
+        for (int i = 0; i < 20_000; i++) {
+            String left = operands[random.nextInt(operands.length)];
+            String right = operands[random.nextInt(operands.length)];
+            Operation operation = operations[random.nextInt(operations.length)];
+            for (CalculatorModel model : new CalculatorModel[] {cached, plain}) {
+                model.clear();
+                type(model, left);
+                model.setOperation(operation);
+                type(model, right);
+                model.calculate();
+            }
+            assertEquals(plain.getCurrentDisplay(), cached.getCurrentDisplay());
+            assertEquals(plain.getCurrentValue(), cached.getCurrentValue());
+            assertEquals(plain.getExpressionDisplay(), cached.getExpressionDisplay());
+        }
+        assertTrue(cache.getHits() > cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Invalid sizes should be rejected")
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CalculationCache(0));
+        assertEquals(4, new CalculationCache(1).getCapacity());
+        assertEquals(8, new CalculationCache(5).getCapacity());
+    }
+
+    private static void type(CalculatorModel model, String number) {
+        for (char c : number.toCharArray()) {
+            if (c == '.') {
+                model.inputDecimal();
+            } else {
+                model.inputDigit(String.valueOf(c));
+            }
+        }
+    }
+}
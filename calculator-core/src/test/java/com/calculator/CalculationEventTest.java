@@ -0,0 +1,78 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalculationEvent class.
+ * Tests that calculations are visible in a Flight Recorder recording.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Calculation Event Tests")
+class CalculationEventTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Each calculation should be recorded with its operation and operand sizes")
+    void testEventsRecorded() throws IOException {
+        Path file = directory.resolve("calculator.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CalculationEvent.NAME);
+            recording.start();
+
+            CalculatorModel model = new CalculatorModel();
+            type(model, "12345");
+            model.setOperation(Operation.MULTIPLY);
+            type(model, "2.5");
+            model.calculate();
+            model.setOperation(Operation.DIVIDE);
+            type(model, "0");
+            model.calculate();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(CalculationEvent.NAME))
+                .collect(Collectors.toList());
+        assertEquals(2, events.size());
+
+        RecordedEvent multiply = events.get(0);
+        assertEquals("MULTIPLY", multiply.getString("operation"));
+        assertEquals(5, multiply.getInt("leftDigits"));
+        assertEquals(2, multiply.getInt("rightDigits"));
+        assertFalse(multiply.getBoolean("error"));
+        assertFalse(multiply.getDuration().isNegative());
+
+        RecordedEvent divide = events.get(1);
+        assertEquals("DIVIDE", divide.getString("operation"));
+        assertTrue(divide.getBoolean("error"));
+    }
+
+    private static void type(CalculatorModel model, String number) {
+        for (char c : number.toCharArray()) {
+            if (c == '.') {
+                model.inputDecimal();
+            } else {
+                model.inputDigit(String.valueOf(c));
+            }
+        }
+    }
+}
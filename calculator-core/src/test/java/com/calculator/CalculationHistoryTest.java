@@ -0,0 +1,283 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalculationHistory class.
+ * Tests recording from the model, formatting, overwriting the oldest entries,
+ * indexed lookups and the allocation budget of recording.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Calculation History Tests")
+class CalculationHistoryTest {
+
+    private CalculatorModel model;
+    private CalculationHistory history;
+
+    @BeforeEach
+    void setUp() {
+        model = new CalculatorModel();
+        history = new CalculationHistory(100);
+        model.setHistory(history);
+    }
+
+    @Test
+    @DisplayName("Every completed calculation should be recorded as shown")
+    void testRecordsCalculations() {
+        type("12+3=");
+        type("×2-1=");
+        type("5÷0=");
+        type("7=");
+
+        assertEquals(3, history.size());
+        assertEquals("12 + 3 = 15", history.format(0, 15));
+        assertEquals("15 × 2 = 30", history.format(1, 15));
+        assertEquals("30 - 1 = 29", history.format(2, 15));
+        assertEquals(Operation.MULTIPLY, history.getOperation(1));
+        assertEquals(new BigDecimal("15"), history.getLeft(1));
+        assertEquals(new BigDecimal("2"), history.getRight(1));
+        assertEquals(new BigDecimal("30"), history.getResult(1));
+        assertTrue(history.getTime(2) <= System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Calculations evaluated in the background should be recorded once applied")
+    void testRecordsBackgroundCalculations() {
+        try (AsyncEvaluator evaluator = new AsyncEvaluator(model, Runnable::run)) {
+            type("8÷");
+            CalculatorKey.DIGIT_4.applyTo(model);
+            evaluator.submit(CalculatorKey.MULTIPLY, () -> { });
+            evaluator.complete();
+            CalculatorKey.DIGIT_3.applyTo(model);
+            evaluator.submit(CalculatorKey.EQUALS, () -> { });
+            evaluator.complete();
+            evaluator.submit(CalculatorKey.EQUALS, () -> { });
+            evaluator.complete();
+        }
+        assertEquals(2, history.size());
+        assertEquals("8 ÷ 4 = 2", history.format(0, 15));
+        assertEquals("2 × 3 = 6", history.format(1, 15));
+    }
+
+    @Test
+    @DisplayName("Arbitrary-precision numbers should be kept with every digit")
+    void testArbitraryPrecision() {
+        model.setPrecision(Precision.arbitrary(500));
+        type("1÷7=");
+        BigDecimal expected = BigDecimal.ONE.divide(BigDecimal.valueOf(7), Precision.arbitrary(500).getMathContext());
+        assertEquals(expected, history.getResult(0));
+        assertEquals(model.getCurrentValue(), history.getResult(0));
+        assertEquals(new BigDecimal("7"), history.getRight(0));
+    }
+
+    @Test
+    @DisplayName("A full tape should overwrite its oldest entries")
+    void testOverwritesOldest() {
+        for (int i = 1; i <= 250; i++) {
+            type("AC" + i + "+1=");
+        }
+        assertEquals(100, history.size());
+        assertEquals(150, history.getFirst());
+        assertEquals(250, history.getNext());
+        assertFalse(history.contains(149));
+        assertThrows(IllegalArgumentException.class, () -> history.getResult(149));
+        assertEquals("151 + 1 = 152", history.format(150, 15));
+        assertEquals("250 + 1 = 251", history.format(249, 15));
+
+        history.clear();
+        assertEquals(0, history.size());
+        type("2+2=");
+        assertEquals(250, history.getFirst());
+        assertEquals("2 + 2 = 4", history.format(250, 15));
+    }
+
+    @Test
+    @DisplayName("Entries of any size should survive until the buffer wraps over them")
+    void testMixedSizes() {
+        CalculationHistory small = new CalculationHistory(64, 4096);
+        List<BigDecimal> results = new ArrayList<>();
+        Random random = new Random(11);
+        FixedDecimal one = new FixedDecimal().set(1, 0);
+        for (int i = 0; i < 2000; i++) {
+            BigDecimal value = random.nextInt(4) == 0
+                    ? new BigDecimal(new BigInteger(random.nextInt(1_000_000) + "1234567890123456789012345678901234567890"), 7)
+                    : BigDecimal.valueOf(random.nextInt(), random.nextInt(6));
+            results.add(value);
+            small.add(Operation.ADD, one, one, new FixedDecimal().set(value));
+
+            assertTrue(small.size() <= 64);
+            for (long entry = small.getFirst(); entry < small.getNext(); entry++) {
+                assertEquals(results.get((int) entry), small.getResult(entry), "entry " + entry);
+            }
+        }
+        assertTrue(small.size() > 30);
+    }
+
+    @Test
+    @DisplayName("Entries should be found by result, operand, range and operation")
+    void testFindsEntries() {
+        type("12+3=");
+        type("×2-1=");
+        type("AC5×3=");
+        type("AC0.5÷2=");
+
+        assertArrayEquals(new long[] {0, 3}, history.findResult(new BigDecimal("15")));
+        assertArrayEquals(new long[] {0, 3}, history.findResult(new BigDecimal("15.000")));
+        assertArrayEquals(new long[] {4}, history.findResult(new BigDecimal("0.25")));
+        assertArrayEquals(new long[0], history.findResult(new BigDecimal("16")));
+        assertArrayEquals(new long[] {0, 3}, history.findOperand(new BigDecimal("3")));
+        assertArrayEquals(new long[] {1}, history.findOperand(new BigDecimal("15")));
+        assertArrayEquals(new long[] {1, 2}, history.findResults(new BigDecimal("29"), new BigDecimal("30"), null));
+        assertArrayEquals(new long[] {3}, history.findResults(null, new BigDecimal("20"), Operation.MULTIPLY));
+        assertArrayEquals(new long[] {1, 2}, history.findResults(new BigDecimal("20"), null, null));
+        assertArrayEquals(new long[] {2, 4}, history.findOperands(null, BigDecimal.ONE, null));
+        assertArrayEquals(new long[0], history.findResults(BigDecimal.TEN, BigDecimal.ONE, null));
+        assertArrayEquals(new long[] {1, 3}, history.findOperation(Operation.MULTIPLY));
+        assertArrayEquals(new long[] {4}, history.findOperation(Operation.DIVIDE));
+
+        history.clear();
+        assertArrayEquals(new long[0], history.findResult(new BigDecimal("15")));
+        assertArrayEquals(new long[0], history.findOperation(Operation.MULTIPLY));
+    }
+
+    @Test
+    @DisplayName("Lookups should match a scan of the tape as it wraps")
+    void testFindMatchesScan() {
+        CalculationHistory tape = new CalculationHistory(3000, 3000 * 40);
+        Random random = new Random(25);
+        BigDecimal[] picks = new BigDecimal[64];
+        for (int i = 0; i < picks.length; i++) {
+            picks[i] = randomValue(random);
+        }
+        Operation[] operations = Operation.values();
+        for (int i = 0; i < 40_000; i++) {
+            BigDecimal left = random.nextBoolean() ? picks[random.nextInt(picks.length)] : randomValue(random);
+            BigDecimal right = randomValue(random);
+            BigDecimal result = random.nextBoolean() ? picks[random.nextInt(picks.length)] : randomValue(random);
+            tape.add(operations[random.nextInt(operations.length)], new FixedDecimal().set(left),
+                    new FixedDecimal().set(right), new FixedDecimal().set(result));
+
+            if (i % 997 != 0) {
+                continue;
+            }
+            for (int query = 0; query < 20; query++) {
+                BigDecimal a = random.nextBoolean() ? picks[random.nextInt(picks.length)] : randomValue(random);
+                BigDecimal b = random.nextInt(3) == 0 ? a : randomValue(random);
+                BigDecimal min = a.min(b);
+                BigDecimal max = a.max(b);
+                Operation operation = random.nextBoolean() ? null : operations[random.nextInt(operations.length)];
+                assertArrayEquals(scan(tape, min, max, operation, false),
+                        tape.findResults(min, max, operation), "results " + min + ".." + max);
+                assertArrayEquals(scan(tape, min, max, operation, true),
+                        tape.findOperands(min, max, operation), "operands " + min + ".." + max);
+            }
+            for (Operation operation : operations) {
+                assertArrayEquals(scan(tape, null, null, operation, false), tape.findOperation(operation));
+            }
+        }
+        assertTrue(tape.getFirst() > 0);
+    }
+
+    @Test
+    @DisplayName("Lookups over a million entries should take about a millisecond")
+    void testFindIsFast() {
+        CalculationHistory tape = new CalculationHistory(1_000_000);
+        FixedDecimal left = new FixedDecimal();
+        FixedDecimal right = new FixedDecimal().set(3, 0);
+        FixedDecimal result = new FixedDecimal();
+        for (int i = 0; i < 1_000_000; i++) {
+            left.set(i, 2);
+            result.set(i * 3L, 2);
+            tape.add(Operation.MULTIPLY, left, right, result);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            int value = i * 997;
+            long[] found = tape.findResult(BigDecimal.valueOf(value * 3L, 2));
+            assertArrayEquals(new long[] {value}, found);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertEquals(1000, tape.findResults(new BigDecimal("1500"), new BigDecimal("1529.97"), null).length);
+        assertEquals(1_000_000, tape.findOperation(Operation.MULTIPLY).length);
+        assertTrue(elapsed < 1_000_000_000L, () -> elapsed / 1_000_000 + " ms for 1000 lookups");
+    }
+
+    @Test
+    @DisplayName("Recording compact calculations should not allocate")
+    void testRecordingDoesNotAllocate() {
+        CalculationHistory tape = new CalculationHistory(1000);
+        FixedDecimal left = new FixedDecimal().set(12345, 2);
+        FixedDecimal right = new FixedDecimal().set(678, 1);
+        Allocations.assertNoAllocation(() -> {
+            for (int i = 0; i < 1_000_000; i++) {
+                tape.add(Operation.MULTIPLY, left, right, left);
+            }
+        }, 1_000_000, "entries");
+        assertEquals(1000, tape.size());
+    }
+
+    private static BigDecimal randomValue(Random random) {
+        switch (random.nextInt(5)) {
+            case 0:
+                return BigDecimal.valueOf(random.nextInt(21) - 10);
+            case 1:
+                return BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000_000L, random.nextInt(18));
+            case 2:
+                return new BigDecimal(new BigInteger(80, random).subtract(BigInteger.ONE.shiftLeft(79)), random.nextInt(30));
+            case 3:
+                // Values a unit in the last place of a double apart
+                return new BigDecimal("0.1").add(BigDecimal.valueOf(random.nextInt(5) - 2, 20));
+            default:
+                return BigDecimal.valueOf(random.nextInt(2000) - 1000, 1);
+        }
+    }
+
+    private static long[] scan(CalculationHistory tape, BigDecimal min, BigDecimal max,
+                               Operation operation, boolean operands) {
+        List<Long> found = new ArrayList<>();
+        for (long entry = tape.getFirst(); entry < tape.getNext(); entry++) {
+            if (operation != null && tape.getOperation(entry) != operation) {
+                continue;
+            }
+            boolean match = operands
+                    ? inRange(tape.getLeft(entry), min, max) || inRange(tape.getRight(entry), min, max)
+                    : inRange(tape.getResult(entry), min, max);
+            if (match) {
+                found.add(entry);
+            }
+        }
+        return found.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static boolean inRange(BigDecimal value, BigDecimal min, BigDecimal max) {
+        return (min == null || value.compareTo(min) >= 0) && (max == null || value.compareTo(max) <= 0);
+    }
+
+    private void type(String script) {
+        new KeystrokeScanner(new KeystrokeScanner.Listener() {
+            @Override
+            public void onKey(CalculatorKey key) {
+                key.applyTo(model);
+            }
+
+            @Override
+            public void onEndOfLine() {
+                // Scripts are single lines
+            }
+        }).scan(script);
+    }
+}
@@ -0,0 +1,140 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalculatorBatch class and its keystroke scanner.
+ * Tests script parsing, session boundaries and streaming through small buffers.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Calculator Batch Tests")
+class CalculatorBatchTest {
+
+    @Test
+    @DisplayName("Each equals should write the primary and expression displays")
+    void testResultLines() throws IOException {
+        assertEquals("8\t5 + 3 =\n80\t40 × 2 =\n", run("5 + 3 =\n15 + 25 × 2 =\n"));
+    }
+
+    @Test
+    @DisplayName("Each line should start a new session")
+    void testLinesAreSessions() throws IOException {
+        assertEquals("3\t1 + 2 =\n6\t4 + 2 =\n", run("1 + 2 =\n4 + 2 ="));
+    }
+
+    @Test
+    @DisplayName("Repeated equals should write one line each")
+    void testRepeatedEquals() throws IOException {
+        String output = run("2 × 3 = = =");
+        assertEquals(3, output.split("\n").length);
+    }
+
+    @Test
+    @DisplayName("Clear, clear entry, backspace and sign keys should be recognized")
+    void testEditingKeys() throws IOException {
+        assertEquals("-15\t12 - 27 =\n", run("9 AC 12 - 9 CE 28←7 =\n"));
+        assertEquals("-5\t-2 - 3 =\n", run("2 ± - 3 ="));
+    }
+
+    @Test
+    @DisplayName("Errors should be written like any other display")
+    void testErrorDisplay() throws IOException {
+        assertEquals("Error: Division by zero\t\n", run("5 ÷ 0 =\n"));
+    }
+
+    @Test
+    @DisplayName("Windows line endings and blank lines should be accepted")
+    void testLineEndings() throws IOException {
+        assertEquals("3\t1 + 2 =\n1\t3 - 2 =\n", run("1 + 2 =\r\n\r\n3 - 2 =\r\n"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64})
+    @DisplayName("Tiny buffers should give the same output as large ones")
+    void testSmallBuffers(int bufferSize) throws IOException {
+        StringBuilder script = new StringBuilder();
+        Random random = new Random(bufferSize);
+        CalculatorKey[] keys = CalculatorKey.values();
+        for (int line = 0; line < 200; line++) {
+            for (int i = 0; i < 12; i++) {
+                script.append(keys[random.nextInt(keys.length)].getLabel()).append(' ');
+            }
+            script.append("=\n");
+        }
+        assertEquals(run(script.toString(), 64 * 1024), run(script.toString(), bufferSize));
+    }
+
+    @Test
+    @DisplayName("Output should match driving the model directly")
+    void testMatchesModel() throws IOException {
+        CalculatorModel model = new CalculatorModel();
+        for (CalculatorKey key : new CalculatorKey[] {CalculatorKey.DIGIT_1, CalculatorKey.DECIMAL,
+                CalculatorKey.DIGIT_5, CalculatorKey.DIVIDE, CalculatorKey.DIGIT_7, CalculatorKey.EQUALS}) {
+            key.applyTo(model);
+        }
+        String expected = model.getCurrentDisplay() + "\t" + model.getExpressionDisplay() + "\n";
+        assertEquals(expected, run("1.5÷7="));
+    }
+
+    @Test
+    @DisplayName("Unknown keys should be reported with their position")
+    void testUnknownKey() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> run("1 + 2 =\n3 * 4 =\n"));
+        assertEquals("Unknown key '*' at line 2, column 3", e.getMessage());
+
+        e = assertThrows(IllegalArgumentException.class, () -> run("5 A"));
+        assertEquals("Unknown key 'A' at line 1, column 3", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Results before an unknown key should still be written")
+    void testOutputFlushedOnError() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CalculatorBatch batch = new CalculatorBatch(Channels.newChannel(bytes));
+        assertThrows(IllegalArgumentException.class, () -> batch.run(input("1 + 1 =\nx")));
+        assertEquals("2\t1 + 1 =\n", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Malformed UTF-8 should be rejected")
+    void testMalformedInput() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CalculatorBatch batch = new CalculatorBatch(Channels.newChannel(bytes));
+        byte[] malformed = {'1', (byte) 0xC3, '+'};
+        assertThrows(CharacterCodingException.class,
+            () -> batch.run(Channels.newChannel(new ByteArrayInputStream(malformed))));
+    }
+
+    private static String run(String script) throws IOException {
+        return run(script, 64 * 1024);
+    }
+
+    private static String run(String script, int bufferSize) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel output = Channels.newChannel(bytes);
+        new CalculatorBatch(output, bufferSize).run(input(script));
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ReadableByteChannel input(String script) {
+        return Channels.newChannel(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.calculator;
+
+import com.calculator.CalculatorModel.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalculatorMetrics class.
+ * Tests recording, the disabled fast path, the JMX view and allocation.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Calculator Metrics Tests")
+class CalculatorMetricsTest {
+
+    private static final int MEASURED_ROUNDS = 100_000;
+
+    private final CalculatorMetrics metrics = CalculatorMetrics.getInstance();
+
+    @BeforeEach
+    void setUp() {
+        metrics.reset();
+        metrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @Test
+    @DisplayName("Calculations, keystrokes and errors should be recorded")
+    void testRecording() {
+        CalculatorModel model = new CalculatorModel();
+        model.inputDigit("6");
+        model.setOperation(Operation.DIVIDE);
+        model.inputDigit("3");
+        model.calculate();
+        model.setOperation(Operation.DIVIDE);
+        model.inputDigit("0");
+        model.calculate();
+
+        assertEquals(2, metrics.getCalculationLatencies().get("DIVIDE").getCount());
+        assertEquals(0, metrics.getCalculationLatencies().get("ADD").getCount());
+        assertEquals(1L, metrics.getErrorCounts().get("DIVIDE"));
+        assertEquals(5, metrics.getKeystrokeLatency().getCount());
+        assertTrue(metrics.dump().contains("DIVIDE"));
+    }
+
+    @Test
+    @DisplayName("Nothing should be recorded while disabled")
+    void testDisabled() {
+        metrics.setEnabled(false);
+        CalculatorModel model = new CalculatorModel();
+        model.inputDigit("1");
+        model.setOperation(Operation.ADD);
+        model.inputDigit("2");
+        model.calculate();
+        CalculatorMetrics.recordDisplayUpdate(CalculatorMetrics.startTimer());
+
+        assertEquals(0, metrics.getKeystrokeLatency().getCount());
+        assertEquals(0, metrics.getCalculationLatencies().get("ADD").getCount());
+        assertEquals(0, metrics.getDisplayUpdateLatency().getCount());
+    }
+
+    @Test
+    @DisplayName("The MBean should publish the metrics as open data")
+    void testMBean() throws Exception {
+        CalculatorMetrics.install();
+        CalculatorMetrics.install();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(CalculatorMetrics.OBJECT_NAME);
+
+        CalculatorMetrics.recordDisplayUpdate(CalculatorMetrics.startTimer());
+        CompositeData display = (CompositeData) server.getAttribute(name, "DisplayUpdateLatency");
+        assertEquals(1L, display.get("count"));
+        TabularData calculations = (TabularData) server.getAttribute(name, "CalculationLatencies");
+        assertEquals(Operation.values().length, calculations.size());
+
+        server.setAttribute(name, new Attribute("Enabled", false));
+        assertFalse(metrics.isEnabled());
+    }
+
+    @Test
+    @DisplayName("Recording should not allocate")
+    void testRecordingDoesNotAllocate() {
+        CalculatorModel model = new CalculatorModel();
+        Allocations.assertNoAllocation(() -> typeAndErase(model, MEASURED_ROUNDS),
+            MEASURED_ROUNDS, "recorded rounds");
+        assertTrue(metrics.getKeystrokeLatency().getCount() >= MEASURED_ROUNDS);
+    }
+
+    /**
+     * Types and erases a digit, timed like a button event.
+     */
+    private static void typeAndErase(CalculatorModel model, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            long start = CalculatorMetrics.startTimer();
+            model.inputDigit("7");
+            model.backspace();
+            CalculatorMetrics.recordDisplayUpdate(start);
+        }
+    }
+}
@@ -407,4 +407,102 @@ class CalculatorModelTest {
         
         assertEquals("10", calculator.getCurrentDisplay()); // Should strip trailing zeros
     }
+
+    @Test
+    @DisplayName("Should show an estimate until the next operation")
+    void testEstimate() {
+        calculator.inputDigit("1");
+        calculator.inputDigit("0");
+        calculator.setOperation(CalculatorModel.Operation.DIVIDE);
+        calculator.inputDigit("3");
+        
+        assertFalse(calculator.showEstimate(CalculatorKey.SIGN));
+        assertTrue(calculator.showEstimate(CalculatorKey.EQUALS));
+        assertTrue(calculator.isEstimate());
+        assertEquals("3.3333333333333", calculator.getCurrentDisplay());
+        assertEquals("10 ÷ 3 ≈", calculator.getExpressionDisplay());
+        assertEquals(new BigDecimal("3"), calculator.getCurrentValue());
+        
+        calculator.calculate();
+        assertFalse(calculator.isEstimate());
+        assertEquals("10 ÷ 3 =", calculator.getExpressionDisplay());
+        
+        calculator.setOperation(CalculatorModel.Operation.ADD);
+        assertFalse(calculator.showEstimate(CalculatorKey.ADD));
+        calculator.inputDigit("1");
+        assertTrue(calculator.showEstimate(CalculatorKey.MULTIPLY));
+        calculator.withdrawEstimate();
+        assertEquals("1", calculator.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("Should not estimate a failing calculation")
+    void testNoEstimateForErrors() {
+        calculator.inputDigit("5");
+        calculator.setOperation(CalculatorModel.Operation.DIVIDE);
+        calculator.inputDigit("0");
+        
+        assertFalse(calculator.showEstimate(CalculatorKey.EQUALS));
+        assertEquals("0", calculator.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("The fast tier should round double results to 16 digits")
+    void testFastPrecision() {
+        calculator.setPrecision(Precision.FAST);
+        calculator.inputDecimal();
+        calculator.inputDigit("1");
+        calculator.setOperation(CalculatorModel.Operation.ADD);
+        calculator.inputDecimal();
+        calculator.inputDigit("2");
+        calculator.calculate();
+        assertEquals("0.3", calculator.getCurrentDisplay());
+        assertEquals(new BigDecimal("0.3"), calculator.getCurrentValue());
+        
+        calculator.setOperation(CalculatorModel.Operation.DIVIDE);
+        calculator.inputDigit("9");
+        calculator.calculate();
+        assertEquals(new BigDecimal("0.03333333333333333"), calculator.getCurrentValue());
+    }
+
+    @Test
+    @DisplayName("An arbitrary tier should compute and show every digit")
+    void testArbitraryPrecision() {
+        calculator = new CalculatorModel(Precision.arbitrary(500));
+        for (int i = 0; i < 20; i++) {
+            calculator.inputDigit("1");
+        }
+        assertEquals("11111111111111111111", calculator.getCurrentDisplay());
+        
+        calculator.setOperation(CalculatorModel.Operation.DIVIDE);
+        calculator.inputDigit("7");
+        calculator.calculate();
+        BigDecimal expected = new BigDecimal("11111111111111111111")
+            .divide(new BigDecimal("7"), Precision.arbitrary(500).getMathContext());
+        assertEquals(expected, calculator.getCurrentValue());
+        assertEquals(500, calculator.getCurrentValue().precision());
+        assertEquals(expected.toPlainString(), calculator.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("Switching tiers should clear the calculator and survive a snapshot")
+    void testSetPrecision() {
+        assertEquals(Precision.STANDARD, calculator.getPrecision());
+        calculator.inputDigit("2");
+        calculator.setOperation(CalculatorModel.Operation.DIVIDE);
+        calculator.setPrecision(Precision.arbitrary(30));
+        assertEquals("0", calculator.getCurrentDisplay());
+        assertNull(calculator.getCurrentOperation());
+        
+        calculator.inputDigit("2");
+        calculator.setOperation(CalculatorModel.Operation.DIVIDE);
+        calculator.inputDigit("3");
+        CalculatorState state = calculator.snapshot(0).apply(CalculatorKey.EQUALS);
+        assertEquals(Precision.arbitrary(30), state.getPrecision());
+        assertEquals("0.666666666666666666666666666667", state.getCurrentDisplay());
+        
+        calculator.restore(state);
+        assertEquals(Precision.arbitrary(30), calculator.getPrecision());
+        assertEquals("0.666666666666666666666666666667", calculator.getCurrentDisplay());
+    }
 }
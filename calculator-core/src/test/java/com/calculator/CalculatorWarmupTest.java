@@ -0,0 +1,94 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalculatorWarmup class.
+ * Tests the time budget, the background thread, the summary, the precision tier
+ * and that warm-up traffic stays out of the metrics.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Calculator Warm-up Tests")
+class CalculatorWarmupTest {
+
+    @Test
+    @DisplayName("The warm-up should run until its budget is used up")
+    void testRun() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CalculatorWarmup warmup = new CalculatorWarmup(50, TimeUnit.MILLISECONDS,
+            new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        assertFalse(warmup.isDone());
+        assertEquals("Warm-up running", warmup.toString());
+
+        warmup.run();
+
+        assertTrue(warmup.isDone());
+        assertTrue(warmup.getIterations() > 0);
+        assertTrue(warmup.getElapsed(TimeUnit.MILLISECONDS) >= 50);
+        String summary = bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(summary.startsWith("Warm-up: " + warmup.getIterations() + " iterations"), summary);
+    }
+
+    @Test
+    @DisplayName("The warm-up should run on a low-priority daemon thread")
+    void testStart() throws InterruptedException {
+        CalculatorWarmup warmup = new CalculatorWarmup(10, TimeUnit.MILLISECONDS, null);
+        Thread thread = warmup.start();
+        assertTrue(thread.isDaemon());
+        assertEquals(Thread.MIN_PRIORITY, thread.getPriority());
+
+        thread.join(10_000);
+        assertTrue(warmup.isDone());
+    }
+
+    @Test
+    @DisplayName("The warm-up should not show up in metrics")
+    void testNotRecorded() {
+        CalculatorMetrics metrics = CalculatorMetrics.getInstance();
+        metrics.reset();
+        metrics.setEnabled(true);
+        try {
+            new CalculatorWarmup(20, TimeUnit.MILLISECONDS, null).run();
+
+            assertTrue(metrics.isEnabled());
+
+            assertEquals(0, metrics.getKeystrokeLatency().getCount());
+            for (LatencySummary latency : metrics.getCalculationLatencies().values()) {
+                assertEquals(0, latency.getCount());
+            }
+            for (long errors : metrics.getErrorCounts().values()) {
+                assertEquals(0, errors);
+            }
+        } finally {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+    }
+
+    @Test
+    @DisplayName("The warm-up should compute in the tier it is given")
+    void testPrecision() {
+        assertEquals(Precision.STANDARD, new CalculatorWarmup(1, TimeUnit.MILLISECONDS, null).getPrecision());
+
+        CalculatorWarmup warmup = new CalculatorWarmup(10, TimeUnit.MILLISECONDS, null, Precision.arbitrary(50));
+        warmup.run();
+        assertEquals(Precision.arbitrary(50), warmup.getPrecision());
+        assertTrue(warmup.getIterations() > 0);
+    }
+
+    @Test
+    @DisplayName("The warm-up should be off unless enabled")
+    void testDisabledByDefault() {
+        assertNull(CalculatorWarmup.startIfEnabled());
+    }
+}
@@ -0,0 +1,203 @@
+package com.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ConcurrentCalculatorModel class and its immutable states.
+ * Tests that states are never modified and that concurrent keystrokes give the
+ * same results and the same metrics as the serial model.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Concurrent Calculator Model Tests")
+class ConcurrentCalculatorModelTest {
+
+    private static final int THREADS = 8;
+    private static final int KEYS_PER_THREAD = 20_000;
+
+    private ConcurrentCalculatorModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new ConcurrentCalculatorModel();
+    }
+
+    @Test
+    @DisplayName("Chained calculation should match the serial model")
+    void testChainedCalculation() {
+        model.inputDigit("1");
+        model.inputDigit("5");
+        model.setOperation(CalculatorModel.Operation.ADD);
+        model.inputDigit("2");
+        model.inputDigit("5");
+        model.setOperation(CalculatorModel.Operation.MULTIPLY);
+        assertEquals("40", model.getCurrentDisplay());
+        assertEquals("40 ×", model.getExpressionDisplay());
+        model.inputDigit("2");
+        model.calculate();
+        assertEquals("80", model.getCurrentDisplay());
+        assertEquals("40 × 2 =", model.getExpressionDisplay());
+        assertNull(model.getCurrentOperation());
+    }
+
+    @Test
+    @DisplayName("Applying a key should not modify the previous state")
+    void testStatesAreImmutable() {
+        CalculatorState five = CalculatorState.initial().apply(CalculatorKey.DIGIT_5);
+        CalculatorState plus = five.apply(CalculatorKey.ADD);
+        CalculatorState three = plus.apply(CalculatorKey.DIGIT_3);
+        CalculatorState equals = three.apply(CalculatorKey.EQUALS);
+
+        assertEquals("8", equals.getCurrentDisplay());
+        assertEquals("5", five.getCurrentDisplay());
+        assertEquals("", five.getExpressionDisplay());
+        assertEquals("5 +", plus.getExpressionDisplay());
+        assertEquals(CalculatorModel.Operation.ADD, three.getCurrentOperation());
+        assertEquals("3", three.getCurrentValue().toPlainString());
+        assertEquals(4, equals.getVersion());
+
+        // Branching from an old state gives an independent history
+        assertEquals("6", plus.apply(CalculatorKey.DIGIT_1).apply(CalculatorKey.EQUALS)
+                .getCurrentDisplay());
+        assertEquals("8", equals.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("Error state should be kept in the snapshot")
+    void testErrorState() {
+        model.inputDigit("5");
+        model.setOperation(CalculatorModel.Operation.DIVIDE);
+        model.inputDigit("0");
+        model.calculate();
+        assertTrue(model.hasError());
+        assertEquals("Error: Division by zero", model.getCurrentDisplay());
+
+        model.inputDigit("7");
+        assertFalse(model.hasError());
+        assertEquals("7", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("Concurrent keystrokes should be applied once each, in a serial order")
+    void testConcurrentKeystrokesMatchSerialModel() throws Exception {
+        CalculatorKey[] keys = CalculatorKey.values();
+        CalculatorState[][] results = new CalculatorState[THREADS][KEYS_PER_THREAD];
+        CalculatorKey[][] pressed = new CalculatorKey[THREADS][KEYS_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(thread);
+                    start.await();
+                    for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                        CalculatorKey key = keys[random.nextInt(keys.length)];
+                        pressed[thread][i] = key;
+                        results[thread][i] = model.press(key);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Every key got its own version: nothing was lost or applied twice
+        int total = THREADS * KEYS_PER_THREAD;
+        CalculatorKey[] order = new CalculatorKey[total];
+        CalculatorState[] states = new CalculatorState[total];
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < KEYS_PER_THREAD; i++) {
+                int index = (int) results[t][i].getVersion() - 1;
+                assertNull(order[index], "Version " + (index + 1) + " was produced twice");
+                order[index] = pressed[t][i];
+                states[index] = results[t][i];
+            }
+        }
+        assertEquals(total, model.getState().getVersion());
+
+        // Replaying the keys in version order through the serial model gives the same states
+        CalculatorModel serial = new CalculatorModel();
+        for (int i = 0; i < total; i++) {
+            order[i].applyTo(serial);
+            assertEquals(serial.getCurrentDisplay(), states[i].getCurrentDisplay(), "Display at version " + (i + 1));
+            assertEquals(serial.getExpressionDisplay(), states[i].getExpressionDisplay(), "Expression at version " + (i + 1));
+            assertEquals(serial.getCurrentValue(), states[i].getCurrentValue(), "Value at version " + (i + 1));
+            assertEquals(serial.getCurrentOperation(), states[i].getCurrentOperation(), "Operation at version " + (i + 1));
+        }
+        assertSame(states[total - 1], model.getState());
+    }
+
+    @Test
+    @DisplayName("Concurrent keystrokes should be reported once each, like the serial model's")
+    void testMetricsRecordedOnce() throws Exception {
+        CalculatorKey[] keys = CalculatorKey.values();
+        CalculatorKey[] order = new CalculatorKey[THREADS * 1000];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        CalculatorMetrics metrics = CalculatorMetrics.getInstance();
+        metrics.reset();
+        metrics.setEnabled(true);
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(thread);
+                    start.await();
+                    for (int i = 0; i < order.length / THREADS; i++) {
+                        CalculatorKey key = keys[random.nextInt(keys.length)];
+                        order[(int) model.press(key).getVersion() - 1] = key;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            long keystrokes = metrics.getKeystrokeLatency().getCount();
+            Map<String, Long> calculations = new HashMap<>();
+            metrics.getCalculationLatencies().forEach((name, latency) -> calculations.put(name, latency.getCount()));
+            Map<String, Long> errors = metrics.getErrorCounts();
+
+            // The serial model reports every key exactly once
+            metrics.reset();
+            CalculatorModel serial = new CalculatorModel();
+            for (CalculatorKey key : order) {
+                key.applyTo(serial);
+            }
+            assertEquals(metrics.getKeystrokeLatency().getCount(), keystrokes);
+            metrics.getCalculationLatencies().forEach((name, latency) ->
+                assertEquals(latency.getCount(), calculations.get(name), name));
+            assertEquals(metrics.getErrorCounts(), errors);
+        } finally {
+            executor.shutdownNow();
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+    }
+}
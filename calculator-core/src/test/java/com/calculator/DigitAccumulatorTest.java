@@ -0,0 +1,140 @@
+package com.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DigitAccumulator class.
+ * Tests incremental value tracking against BigDecimal parsing and the
+ * allocation budget of keystroke entry in CalculatorModel.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Digit Accumulator Tests")
+class DigitAccumulatorTest {
+
+    private static final int MEASURED_ROUNDS = 100_000;
+
+    private DigitAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        accumulator = new DigitAccumulator();
+    }
+
+    @Test
+    @DisplayName("Initial text should be zero")
+    void testInitialState() {
+        assertEquals("0", accumulator.toString());
+        assertTrue(accumulator.isZero());
+        assertFalse(accumulator.containsPoint());
+        assertEquals(BigDecimal.ZERO, valueOf(accumulator));
+    }
+
+    @Test
+    @DisplayName("Typed digits should track the parsed value")
+    void testTypedDigits() {
+        accumulator.setText("1");
+        for (char c : "2.50".toCharArray()) {
+            if (c == '.') {
+                accumulator.appendPoint();
+            } else {
+                accumulator.append(String.valueOf(c));
+            }
+            assertEquals(new BigDecimal(accumulator.toString()), valueOf(accumulator));
+        }
+        assertEquals("12.50", accumulator.toString());
+        assertTrue(accumulator.containsPoint());
+    }
+
+    @Test
+    @DisplayName("Removing characters should track the parsed value")
+    void testRemoveLast() {
+        accumulator.setText("-12.34");
+        while (accumulator.length() > 2) {
+            accumulator.removeLast();
+            assertEquals(new BigDecimal(accumulator.toString()), valueOf(accumulator));
+        }
+        assertEquals("-1", accumulator.toString());
+
+        accumulator.removeLast();
+        assertThrows(NumberFormatException.class, () -> valueOf(accumulator));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.", "-0.5", "1.2E+20", "1.0000000000000", "999999999999999999",
+                            "12345678901234567890", "10"})
+    @DisplayName("Loaded text should have the same value as BigDecimal parsing")
+    void testSetText(String text) {
+        accumulator.setText(text);
+        assertEquals(text, accumulator.toString());
+        assertEquals(new BigDecimal(text), valueOf(accumulator));
+        assertEquals(text.contains("."), accumulator.containsPoint());
+    }
+
+    @Test
+    @DisplayName("Digits beyond the compact range should fall back to parsing")
+    void testLongInput() {
+        accumulator.setText("9");
+        for (int i = 0; i < 20; i++) {
+            accumulator.append("9");
+            assertEquals(new BigDecimal(accumulator.toString()), valueOf(accumulator));
+        }
+        for (int i = 0; i < 20; i++) {
+            accumulator.removeLast();
+            assertEquals(new BigDecimal(accumulator.toString()), valueOf(accumulator));
+        }
+    }
+
+    @Test
+    @DisplayName("Display text should be cached until the next edit")
+    void testDisplayTextCached() {
+        accumulator.setText("4");
+        accumulator.append("2");
+        String text = accumulator.toString();
+        assertSame(text, accumulator.toString());
+
+        accumulator.append("0");
+        assertEquals("420", accumulator.toString());
+    }
+
+    @Test
+    @DisplayName("Digit entry and backspace should not allocate")
+    void testKeystrokesDoNotAllocate() {
+        CalculatorModel model = new CalculatorModel();
+        Allocations.assertNoAllocation(() -> typeAndErase(model, MEASURED_ROUNDS),
+            MEASURED_ROUNDS * 30L, "keystrokes");
+        assertEquals("0", model.getCurrentDisplay());
+    }
+
+    /**
+     * Types a 15-digit number with a decimal point and deletes it again.
+     */
+    private static void typeAndErase(CalculatorModel model, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            model.inputDigit("1");
+            model.inputDigit("2");
+            model.inputDecimal();
+            for (int i = 0; i < 12; i++) {
+                model.inputDigit("7");
+            }
+            for (int i = 0; i < 15; i++) {
+                model.backspace();
+            }
+        }
+    }
+
+    private static BigDecimal valueOf(DigitAccumulator accumulator) {
+        FixedDecimal value = new FixedDecimal();
+        accumulator.toValue(value);
+        return value.toBigDecimal();
+    }
+}
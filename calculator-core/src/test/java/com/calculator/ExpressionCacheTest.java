@@ -0,0 +1,53 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ExpressionCache class.
+ * Tests reuse of compiled expressions, LRU eviction and counters.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Expression Cache Tests")
+class ExpressionCacheTest {
+
+    @Test
+    @DisplayName("Repeated lookups should return the same compiled expression")
+    void testReuse() {
+        ExpressionCache cache = new ExpressionCache(10);
+        Expression first = cache.get("a + b × 2");
+        assertSame(first, cache.get("a + b × 2"));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("The least recently used expression should be evicted")
+    void testEviction() {
+        ExpressionCache cache = new ExpressionCache(2);
+        Expression one = cache.get("1");
+        cache.get("2");
+        cache.get("1");
+        cache.get("3");
+
+        assertEquals(2, cache.size());
+        assertSame(one, cache.get("1"));
+        long misses = cache.getMisses();
+        cache.get("2");
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Invalid expressions should not be cached")
+    void testInvalidExpression() {
+        ExpressionCache cache = new ExpressionCache(2);
+        assertThrows(IllegalArgumentException.class, () -> cache.get("1 +"));
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionCache(0));
+    }
+}
@@ -0,0 +1,133 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Expression class and its parser.
+ * Tests precedence, parentheses, variables, rounding and error reporting.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Expression Tests")
+class ExpressionTest {
+
+    private static final MathContext MC = new MathContext(15, RoundingMode.HALF_UP);
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "15 + 25 × 2; 65",
+        "(15 + 25) × 2; 80",
+        "15 + 25 * 2; 65",
+        "10 - 4 - 3; 3",
+        "100 ÷ 10 ÷ 2; 5",
+        "100 / (10 / 2); 20",
+        "-5 + 3; -2",
+        "10 - -3; 13",
+        "-(2 + 3) × 4; -20",
+        "--7; 7",
+        "+7; 7",
+        "3.14 + 2.86; 6.00",
+        "10.5 ÷ 2; 5.25",
+        ".5 × 4; 2.0",
+        "((((1)))); 1"
+    })
+    @DisplayName("Expressions should follow precedence and parentheses")
+    void testEvaluation(String source, String expected) {
+        assertEquals(new BigDecimal(expected), Expression.compile(source).evaluate());
+    }
+
+    @Test
+    @DisplayName("Division should round to 15 digits like the calculator")
+    void testRounding() {
+        assertEquals(new BigDecimal("3.33333333333333"), Expression.compile("10 ÷ 3").evaluate());
+        assertEquals(new BigDecimal("0.666666666666667"), Expression.compile("2/3").evaluate());
+    }
+
+    @Test
+    @DisplayName("Every intermediate result should be rounded like BigDecimal")
+    void testMatchesBigDecimal() {
+        Expression expression = Expression.compile("a × b + c ÷ (a - b)");
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal a = BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000L, random.nextInt(8));
+            BigDecimal b = BigDecimal.valueOf(random.nextInt(), random.nextInt(8));
+            BigDecimal c = BigDecimal.valueOf(random.nextLong() % 100_000_000_000_000L, random.nextInt(8));
+            if (a.compareTo(b) == 0) {
+                continue;
+            }
+            BigDecimal expected = a.multiply(b, MC).add(c.divide(a.subtract(b, MC), MC), MC);
+            assertEquals(expected, expression.evaluate(a, b, c), a + ", " + b + ", " + c);
+        }
+    }
+
+    @Test
+    @DisplayName("Variables should be bound by position and by name")
+    void testVariables() {
+        Expression expression = Expression.compile("price × (1 + rate) - price");
+        assertEquals(List.of("price", "rate"), expression.getVariables());
+        assertEquals(new BigDecimal("20.00"),
+                expression.evaluate(new BigDecimal("100"), new BigDecimal("0.20")));
+        assertEquals(new BigDecimal("5.000"),
+                expression.evaluate(Map.of("price", new BigDecimal("50"), "rate", new BigDecimal("0.100"))));
+
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(BigDecimal.ONE));
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(Map.of("price", BigDecimal.ONE)));
+    }
+
+    @Test
+    @DisplayName("Division by zero should throw at evaluation time")
+    void testDivisionByZero() {
+        Expression expression = Expression.compile("1 ÷ x");
+        ArithmeticException e = assertThrows(ArithmeticException.class,
+                () -> expression.evaluate(new BigDecimal("0.00")));
+        assertEquals("Division by zero", e.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1 +", "(1 + 2", "1 + 2)", "1 2", "1 $ 2", "×3", ".", "1..2"})
+    @DisplayName("Malformed expressions should be rejected")
+    void testMalformed(String source) {
+        assertThrows(IllegalArgumentException.class, () -> Expression.compile(source));
+    }
+
+    @Test
+    @DisplayName("Errors should name the column")
+    void testErrorColumn() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Expression.compile("1 + $"));
+        assertTrue(e.getMessage().contains("'$' at column 5"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deep nesting should be rejected instead of overflowing the stack")
+    void testNestingLimit() {
+        String deep = "(".repeat(100_000) + "1" + ")".repeat(100_000);
+        assertThrows(IllegalArgumentException.class, () -> Expression.compile(deep));
+        String allowed = "(".repeat(100) + "1" + ")".repeat(100);
+        assertEquals(BigDecimal.ONE, Expression.compile(allowed).evaluate());
+    }
+
+    @Test
+    @DisplayName("Long chains should evaluate with a small stack")
+    void testLongChain() {
+        StringBuilder source = new StringBuilder("0");
+        for (int i = 1; i <= 1000; i++) {
+            source.append(" + ").append(i);
+        }
+        assertEquals(BigDecimal.valueOf(500_500), Expression.compile(source.toString()).evaluate());
+    }
+}
@@ -0,0 +1,221 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FixedDecimal class.
+ * Every operation is checked against BigDecimal with the same MathContext:
+ * results must have the same unscaled value and scale, not just the same value.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Fixed Decimal Tests")
+class FixedDecimalTest {
+
+    private static final int RANDOM_CASES = 200_000;
+
+    @ParameterizedTest
+    @CsvSource({
+        "5, 3",
+        "3.14, 2.86",
+        "999999999999999, 1",
+        "999999999999999, 999999999999999",
+        "0.000000000000001, 1000000000000000",
+        "123456789012345, 0.5",
+        "-5, 0.00",
+        "0, 0.000",
+        "1E+20, 1E+20",
+        "1E-20, 3",
+        "2, 3",
+        "10, 0.5",
+        "1, 1024",
+        "98765.4321098765, 3.14159265358979",
+        "-99999999999999.9, 0.05"
+    })
+    @DisplayName("Edge cases should match BigDecimal exactly")
+    void testEdgeCases(String left, String right) {
+        assertAllOperationsMatch(new BigDecimal(left), new BigDecimal(right));
+        assertAllOperationsMatch(new BigDecimal(right), new BigDecimal(left));
+    }
+
+    @Test
+    @DisplayName("Random operands should match BigDecimal exactly")
+    void testRandomOperands() {
+        Random random = new Random(20240611L);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            assertAllOperationsMatch(randomOperand(random), randomOperand(random));
+        }
+    }
+
+    @Test
+    @DisplayName("Operands wider than a long should fall back to BigDecimal")
+    void testInflatedOperands() {
+        assertAllOperationsMatch(new BigDecimal("12345678901234567890123"), new BigDecimal("7"));
+        assertAllOperationsMatch(new BigDecimal("3"), new BigDecimal("-9223372036854775808"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-0", "5.", ".5", "-0.50", "007", "123456789012345", "1.2E+20",
+                            "+7", "999999999999999999", "1234567890123456789012"})
+    @DisplayName("Parsing should match the BigDecimal constructor")
+    void testParse(String text) {
+        assertEquals(new BigDecimal(text), new FixedDecimal().parse(text).toBigDecimal());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", ".", "1.2.3", "Error", "1E+"})
+    @DisplayName("Parsing invalid text should throw like the BigDecimal constructor")
+    void testParseInvalid(String text) {
+        assertThrows(NumberFormatException.class, () -> new FixedDecimal().parse(text));
+    }
+
+    @Test
+    @DisplayName("Division by zero should throw like BigDecimal")
+    void testDivisionByZero() {
+        FixedDecimal one = decimal(BigDecimal.ONE);
+        assertThrows(ArithmeticException.class, () -> one.divide(decimal(BigDecimal.ZERO)));
+        assertThrows(ArithmeticException.class, () -> one.divide(decimal(new BigDecimal("0.0"))));
+    }
+
+    @Test
+    @DisplayName("Plain zero should only match zero at scale zero")
+    void testPlainZero() {
+        assertTrue(decimal(BigDecimal.ZERO).isPlainZero());
+        assertFalse(decimal(new BigDecimal("0.0")).isPlainZero());
+        assertFalse(decimal(BigDecimal.ONE).isPlainZero());
+    }
+
+    @Test
+    @DisplayName("Negation should keep the scale")
+    void testNegate() {
+        assertEquals(new BigDecimal("-2.50"), decimal(new BigDecimal("2.50")).negate().toBigDecimal());
+        assertEquals(new BigDecimal("0.0"), decimal(new BigDecimal("0.0")).negate().toBigDecimal());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 0",
+        "10.00, 10",
+        "-0.50, -0.5",
+        "1E+3, 1000",
+        "0.333333333333333, 0.3333333333333",
+        "1.00000000000000E+20, 1.0000000000000",
+        "1.2E+20, 1.2E+20",
+        "-123456789012345, -12345678901234",
+        "0.0000001, 0.0000001",
+        "1.23E-11, 0.0000000000123",
+        "1.23E-12, 1.23E-12",
+        "0E-20, 0"
+    })
+    @DisplayName("Display formatting should match the BigDecimal formatting")
+    void testDisplayString(String value, String expected) {
+        assertEquals(expected, decimal(new BigDecimal(value)).toDisplayString(15));
+    }
+
+    @Test
+    @DisplayName("Random display formatting should match the BigDecimal formatting")
+    void testRandomDisplayString() {
+        Random random = new Random(7L);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            BigDecimal value = randomOperand(random);
+            assertEquals(referenceDisplayString(value), decimal(value).toDisplayString(15), value::toString);
+            assertEquals(value.toString(), decimal(value).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Rounding a double should keep 16 significant digits")
+    void testSetRounded() {
+        assertEquals(new BigDecimal("0.3"), new FixedDecimal().setRounded(0.1 + 0.2, 16).toBigDecimal());
+        assertEquals(new BigDecimal("100"), new FixedDecimal().setRounded(100, 16).toBigDecimal());
+        assertEquals("1E+300", new FixedDecimal().setRounded(1e300, 16).toDisplayString(15));
+        assertEquals(new BigDecimal("0.3333333333333333"),
+            new FixedDecimal().setRounded(1.0 / 3, 16).toBigDecimal());
+
+        Random random = new Random(16L);
+        for (int i = 0; i < RANDOM_CASES; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(600) - 300);
+            BigDecimal exact = new BigDecimal(value);
+            BigDecimal rounded = new FixedDecimal().setRounded(value, 16).toBigDecimal();
+            BigDecimal unit = BigDecimal.ONE.movePointLeft(exact.scale() - exact.precision() + 15);
+            assertTrue(rounded.precision() <= 16, rounded::toString);
+            assertTrue(rounded.subtract(exact).abs().compareTo(unit) <= 0, () -> value + " -> " + rounded);
+        }
+    }
+
+    private static void assertAllOperationsMatch(BigDecimal left, BigDecimal right) {
+        assertOperationMatches(left, right, "add",
+            (a, b) -> a.add(b, FixedDecimal.MATH_CONTEXT), FixedDecimal::add);
+        assertOperationMatches(left, right, "subtract",
+            (a, b) -> a.subtract(b, FixedDecimal.MATH_CONTEXT), FixedDecimal::subtract);
+        assertOperationMatches(left, right, "multiply",
+            (a, b) -> a.multiply(b, FixedDecimal.MATH_CONTEXT), FixedDecimal::multiply);
+        if (right.signum() != 0) {
+            assertOperationMatches(left, right, "divide",
+                (a, b) -> a.divide(b, FixedDecimal.MATH_CONTEXT), FixedDecimal::divide);
+        }
+    }
+
+    private static void assertOperationMatches(BigDecimal left, BigDecimal right, String name,
+                                               BinaryOperator<BigDecimal> reference,
+                                               BinaryOperator<FixedDecimal> operation) {
+        BigDecimal expected = reference.apply(left, right);
+        BigDecimal actual = operation.apply(decimal(left), decimal(right)).toBigDecimal();
+        // BigDecimal.equals compares the scale as well as the value
+        assertEquals(expected, actual, () -> left + " " + name + " " + right);
+    }
+
+    private static FixedDecimal decimal(BigDecimal value) {
+        return new FixedDecimal().set(value);
+    }
+
+    /**
+     * Operands with 1 to 15 digits and a scale around zero, biased towards the
+     * boundaries: all nines, trailing zeros and zero itself.
+     */
+    private static BigDecimal randomOperand(Random random) {
+        int digits = 1 + random.nextInt(15);
+        long unscaled;
+        switch (random.nextInt(6)) {
+            case 0:
+                unscaled = (long) Math.pow(10, digits) - 1;
+                break;
+            case 1:
+                unscaled = (long) Math.pow(10, digits - 1) * (1 + random.nextInt(9));
+                break;
+            case 2:
+                unscaled = random.nextInt(3);
+                break;
+            default:
+                unscaled = (long) (random.nextDouble() * Math.pow(10, digits));
+                break;
+        }
+        if (random.nextBoolean()) {
+            unscaled = -unscaled;
+        }
+        int scale = random.nextInt(31) - 15;
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private static String referenceDisplayString(BigDecimal number) {
+        String formatted = number.stripTrailingZeros().toPlainString();
+        if (formatted.length() > 15) {
+            formatted = number.toString();
+            if (formatted.length() > 15) {
+                formatted = formatted.substring(0, 15);
+            }
+        }
+        return formatted;
+    }
+}
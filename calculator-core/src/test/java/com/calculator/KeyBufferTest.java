@@ -0,0 +1,162 @@
+package com.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the KeyBuffer class.
+ * Tests pasted text, key order, partial draining and rejection, including decimal
+ * commas.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Key Buffer Tests")
+class KeyBufferTest {
+
+    private KeyBuffer buffer;
+    private CalculatorModel model;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new KeyBuffer();
+        model = new CalculatorModel();
+    }
+
+    @Test
+    @DisplayName("A pasted chain should give the same result as typing it")
+    void testPasteChain() {
+        assertEquals(8, buffer.addText("12+34×5="));
+        assertEquals(8, buffer.applyTo(model));
+        assertTrue(buffer.isEmpty());
+        assertEquals("230", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("A long pasted number should be entered in full")
+    void testPasteNumber() {
+        buffer.addText("123456789012345");
+        buffer.applyTo(model);
+        assertEquals("123456789012345", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("Spreadsheet formatting should be accepted")
+    void testLenientText() {
+        buffer.addText(" 1,234.5 * 2\r\n");
+        buffer.applyTo(model);
+        buffer.addText("=");
+        buffer.applyTo(model);
+        assertEquals("2469", model.getCurrentDisplay());
+
+        model.clear();
+        buffer.addText("10 / 4 =");
+        buffer.applyTo(model);
+        assertEquals("2.5", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("A leading minus should negate the number")
+    void testNegativeNumbers() {
+        buffer.addText("-42");
+        buffer.applyTo(model);
+        assertEquals("-42", model.getCurrentDisplay());
+
+        model.clear();
+        buffer.addText("5×−3=");
+        buffer.applyTo(model);
+        assertEquals("-15", model.getCurrentDisplay());
+
+        model.clear();
+        buffer.addText("9-4=");
+        buffer.applyTo(model);
+        assertEquals("5", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("Text with an unknown character should be rejected as a whole")
+    void testRejectedText() {
+        buffer.add(CalculatorKey.DIGIT_7);
+        IllegalArgumentException e =
+            assertThrows(IllegalArgumentException.class, () -> buffer.addText("12+(3)"));
+        assertTrue(e.getMessage().contains("position 4"));
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    @DisplayName("A comma should only be accepted between groups of thousands")
+    void testCommas() {
+        buffer.addText("1,234.5");
+        buffer.applyTo(model);
+        assertEquals("1234.5", model.getCurrentDisplay());
+
+        model.clear();
+        buffer.addText("1,234,567+2=");
+        buffer.applyTo(model);
+        assertEquals("1234569", model.getCurrentDisplay());
+
+        for (String text : new String[] {"3,14", "1,2345", "1.234,567", ",123", "12+,345", "1,23 4"}) {
+            IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> buffer.addText(text), text);
+            assertTrue(e.getMessage().contains("Comma"), text);
+            assertTrue(buffer.isEmpty(), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Other separators and spaces should only join digits between groups of thousands")
+    void testSeparators() {
+        for (String text : new String[] {"1 234", "1_234", "1'234", "1\u202F234", "1 234 567", "1  234"}) {
+            model.clear();
+            buffer.addText(text + " - 1 =");
+            buffer.applyTo(model);
+            assertEquals(text.startsWith("1 234 567") ? "1234566" : "1233", model.getCurrentDisplay(), text);
+        }
+
+        for (String text : new String[] {"3 14", "3_14", "1'2", "1_2345", "1.5 234", "_123", "12 + 3\n4"}) {
+            IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> buffer.addText(text), text);
+            assertTrue(e.getMessage().contains("does not separate thousands"), text);
+            assertTrue(buffer.isEmpty(), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Keys should be applied in order, in slices")
+    void testPartialDrain() {
+        buffer.addText("1+2");
+        buffer.add(CalculatorKey.EQUALS);
+
+        assertEquals(2, buffer.applyTo(model, 2));
+        assertEquals(2, buffer.size());
+        assertEquals("1", model.getCurrentDisplay());
+        assertEquals(2, buffer.applyTo(model, 10));
+        assertEquals("3", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("The ring should grow across the wrap point and stay bounded")
+    void testGrowthAndLimit() {
+        for (int i = 0; i < 50; i++) {
+            buffer.add(CalculatorKey.DIGIT_1);
+        }
+        buffer.applyTo(model, 40);
+        for (int i = 0; i < 100; i++) {
+            buffer.add(CalculatorKey.BACKSPACE);
+        }
+        assertEquals(110, buffer.size());
+        buffer.applyTo(model);
+        assertEquals("0", model.getCurrentDisplay());
+
+        buffer.clear();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i <= KeyBuffer.MAX_KEYS; i++) {
+            text.append('1');
+        }
+        assertThrows(IllegalArgumentException.class, () -> buffer.addText(text));
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LatencyHistogram class.
+ * Tests percentile accuracy, merging and concurrent recording.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Histogram percentiles should be within the bucket precision")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(99));
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000_000, histogram.max());
+        assertEquals(50_000_000, histogram.percentile(50), 50_000_000 / 16.0);
+        assertEquals(99_000_000, histogram.percentile(99), 99_000_000 / 16.0);
+        assertTrue(histogram.percentile(99) >= 99_000_000);
+        assertEquals(100_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    @DisplayName("Adding and resetting should combine and discard counts")
+    void testAddAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        LatencyHistogram other = new LatencyHistogram();
+        other.record(5);
+        other.record(-1);
+        histogram.add(other);
+        assertEquals(3, histogram.count());
+        assertEquals(1_000, histogram.max());
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    @DisplayName("Concurrent recording should not lose values")
+    void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(i % 100 + offset);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(200_000, histogram.count());
+        assertEquals(102, histogram.max());
+    }
+}
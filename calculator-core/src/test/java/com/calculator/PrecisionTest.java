@@ -0,0 +1,57 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Precision class.
+ * Tests the tiers, their display lengths and parsing tier names.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Precision Tests")
+class PrecisionTest {
+
+    @Test
+    @DisplayName("The fixed tiers should keep 16 and 15 digits on a 15-character display")
+    void testFixedTiers() {
+        assertEquals(Precision.Tier.FAST, Precision.FAST.getTier());
+        assertEquals(16, Precision.FAST.getDigits());
+        assertEquals(Precision.Tier.STANDARD, Precision.STANDARD.getTier());
+        assertEquals(new MathContext(15, RoundingMode.HALF_UP), Precision.STANDARD.getMathContext());
+        assertEquals(15, Precision.FAST.getDisplayLength());
+        assertEquals(15, Precision.STANDARD.getDisplayLength());
+    }
+
+    @Test
+    @DisplayName("An arbitrary tier should widen the display to its digits")
+    void testArbitrary() {
+        Precision precision = Precision.arbitrary(500);
+        assertEquals(Precision.Tier.ARBITRARY, precision.getTier());
+        assertEquals(500, precision.getDigits());
+        assertEquals(508, precision.getDisplayLength());
+        assertEquals(precision, Precision.arbitrary(500));
+        assertNotEquals(precision, Precision.arbitrary(501));
+        assertThrows(IllegalArgumentException.class, () -> Precision.arbitrary(0));
+        assertThrows(IllegalArgumentException.class, () -> Precision.arbitrary(Precision.MAX_DIGITS + 1));
+    }
+
+    @Test
+    @DisplayName("Tier names should parse back to their tiers")
+    void testParse() {
+        assertSame(Precision.FAST, Precision.parse("fast"));
+        assertSame(Precision.STANDARD, Precision.parse(" Standard "));
+        assertEquals(Precision.arbitrary(1000), Precision.parse("1000"));
+        for (Precision precision : new Precision[] {Precision.FAST, Precision.STANDARD, Precision.arbitrary(64)}) {
+            assertEquals(precision, Precision.parse(precision.toString()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Precision.parse("exact"));
+        assertSame(Precision.STANDARD, Precision.fromSystemProperty());
+    }
+}
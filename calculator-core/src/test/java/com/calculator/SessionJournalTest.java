@@ -0,0 +1,200 @@
+package com.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SessionJournal and JournalReader classes.
+ * Tests recording, segment rolling, reopening, replay, starting states, failed
+ * segments and the allocation budget of appending keys.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Session Journal Tests")
+class SessionJournalTest {
+
+    /** Segments this small roll every few keys. */
+    private static final int SMALL_SEGMENT = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Replaying a session should rebuild the model's state")
+    void testReplay() throws IOException {
+        CalculatorModel model = new CalculatorModel();
+        try (SessionJournal journal = SessionJournal.open(directory)) {
+            assertEquals(1, journal.beginSession(Precision.STANDARD));
+            apply(journal, model, "12.5 × 4 = ± + 7 ← 9 =");
+        }
+        assertEquals("-41", model.getCurrentDisplay());
+
+        JournalReader reader = JournalReader.open(directory);
+        assertEquals(1, reader.getSessionCount());
+        assertEquals(Precision.STANDARD, reader.getPrecision(1));
+        CalculatorModel replayed = new CalculatorModel();
+        assertEquals(13, reader.replay(1, replayed));
+        assertEquals("-41", replayed.getCurrentDisplay());
+        assertEquals("-50 + 9 =", replayed.getExpressionDisplay());
+    }
+
+    @Test
+    @DisplayName("Sessions should continue across segments and reopened journals")
+    void testRollingAndReopening() throws IOException {
+        List<String> scripts =
+            List.of("1 + 2 =", "123456789 × 987654321 =", "AC 7 ÷ 3 =", "2 ÷ 3 =");
+        List<String> displays = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            try (SessionJournal journal = SessionJournal.open(directory, SMALL_SEGMENT)) {
+                for (String script : scripts) {
+                    Precision precision = run == 0 ? Precision.STANDARD : Precision.arbitrary(40);
+                    CalculatorModel model = new CalculatorModel(precision);
+                    journal.beginSession(precision);
+                    apply(journal, model, script);
+                    displays.add(model.getCurrentDisplay());
+                }
+                assertEquals((run + 1) * scripts.size(), journal.getSessionCount());
+            }
+        }
+        assertTrue(Files.exists(SessionJournal.segmentPath(directory, 3)));
+
+        JournalReader reader = JournalReader.open(directory);
+        assertEquals(displays.size(), reader.getSessionCount());
+        for (int session = 1; session <= displays.size(); session++) {
+            CalculatorModel replayed = new CalculatorModel();
+            reader.replay(session, replayed);
+            String message = "session " + session;
+            assertEquals(displays.get(session - 1), replayed.getCurrentDisplay(), message);
+        }
+        assertEquals(Precision.arbitrary(40), reader.getPrecision(8));
+        assertEquals("0.6666666666666666666666666666666666666667", displays.get(7));
+        assertThrows(IllegalArgumentException.class, () -> reader.replay(9, new CalculatorModel()));
+    }
+
+    @Test
+    @DisplayName("A session resumed from a snapshot should replay from the restored state")
+    void testStartState() throws IOException {
+        CalculatorModel saved = new CalculatorModel(Precision.arbitrary(40));
+        apply(null, saved, "2 ÷ 7 = × 3 + 1");
+        SnapshotFile file = new SnapshotFile(directory.resolve("state.snap"));
+        assertTrue(file.save(saved));
+        CalculatorModel live = new CalculatorModel(Precision.arbitrary(40));
+        live.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        assertTrue(file.restore(live));
+        file.close();
+
+        Path journalDirectory = directory.resolve("journal");
+        try (SessionJournal journal = SessionJournal.open(journalDirectory, 1024)) {
+            journal.beginSession(Precision.STANDARD);
+            apply(journal, new CalculatorModel(), "1 + 2 =");
+            journal.beginSession(live);
+            apply(journal, live, "5 = ↶ ↶ 6 = × 2 =");
+            journal.beginSession(new CalculatorModel());
+            apply(journal, new CalculatorModel(), "9");
+            assertThrows(IllegalArgumentException.class, () -> {
+                try (SessionJournal small = SessionJournal.open(directory.resolve("small"), SMALL_SEGMENT)) {
+                    small.beginSession(live);
+                }
+            });
+        }
+
+        JournalReader reader = JournalReader.open(journalDirectory);
+        assertNull(reader.getStartState(1));
+        assertNull(reader.getStartState(3));
+        assertEquals("1", reader.getStartState(2).getCurrentDisplay());
+        CalculatorModel replayed = new CalculatorModel();
+        replayed.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        assertEquals(9, reader.replay(2, replayed));
+        assertEquals(live.getCurrentDisplay(), replayed.getCurrentDisplay());
+        assertEquals(live.getExpressionDisplay(), replayed.getExpressionDisplay());
+        assertEquals(Precision.arbitrary(40), replayed.getPrecision());
+        assertEquals(4, reader.forEachKey(1, key -> { }));
+        assertEquals(1, reader.forEachKey(3, key -> { }));
+    }
+
+    @Test
+    @DisplayName("Keys should only be recorded within a session")
+    void testNoSession() throws IOException {
+        try (SessionJournal journal = SessionJournal.open(directory)) {
+            assertEquals(0, journal.getSessionId());
+            assertThrows(IllegalStateException.class, () -> journal.append(CalculatorKey.DIGIT_1));
+        }
+        assertThrows(IOException.class, () -> JournalReader.open(directory.resolve("missing")));
+    }
+
+    @Test
+    @DisplayName("A segment that cannot be created should disable the journal")
+    void testFailedSegmentDisables() throws IOException, InterruptedException {
+        Path gone = directory.resolve("gone");
+        SessionJournal journal = SessionJournal.open(gone, SMALL_SEGMENT);
+        journal.beginSession(Precision.STANDARD);
+        Path prepared = SessionJournal.segmentPath(gone, 1);
+        for (int wait = 0; wait < 500; wait++) {
+            if (Files.exists(prepared) && Files.size(prepared) == SMALL_SEGMENT) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        // The mapped segments stay usable; only new segments cannot be created
+        try (Stream<Path> files = Files.list(gone)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(gone);
+
+        for (int i = 0; i < 3 * SMALL_SEGMENT; i++) {
+            journal.append(CalculatorKey.digit(i % 10));
+        }
+        assertNotNull(journal.getFailure());
+        assertTrue(journal.getFailure().getMessage().startsWith("Cannot create journal segment"));
+        assertThrows(UncheckedIOException.class, () -> journal.beginSession(Precision.STANDARD));
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Appending keys should not allocate")
+    void testAppendDoesNotAllocate() throws IOException {
+        // One segment holds every run, so rolling over is not part of the measurement
+        try (SessionJournal journal = SessionJournal.open(directory, 8 << 20)) {
+            journal.beginSession(Precision.STANDARD);
+            Allocations.assertNoAllocation(() -> {
+                for (int i = 0; i < 1_000_000; i++) {
+                    journal.append(CalculatorKey.digit(i % 10));
+                }
+            }, 1_000_000, "keys");
+        }
+    }
+
+    /**
+     * Applies the keys of a script to a model and records them, if there is a journal.
+     */
+    private static void apply(SessionJournal journal, CalculatorModel model, String script) {
+        new KeystrokeScanner(new KeystrokeScanner.Listener() {
+            @Override
+            public void onKey(CalculatorKey key) {
+                if (journal != null) {
+                    journal.append(key);
+                }
+                key.applyTo(model);
+            }
+
+            @Override
+            public void onEndOfLine() {
+                // One line per session
+            }
+        }).scan(script);
+    }
+}
@@ -0,0 +1,242 @@
+package com.calculator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SnapshotFile class.
+ * Tests that saved states, undo steps and history tapes resume exactly, and how
+ * older, missing and damaged files are handled.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Snapshot File Tests")
+class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private SnapshotFile file;
+
+    @AfterEach
+    void tearDown() {
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    @Test
+    @DisplayName("A restored model should continue exactly like the saved one")
+    void testRoundTrip() throws IOException {
+        String[] scripts = {"", "12.50", "7 × 3", "7 × 3 =", "1 ÷ 3 = ±", "5 ÷ 0 =", "9 + 1 ←", "2 - 0.50 × "};
+        for (String script : scripts) {
+            CalculatorModel saved = new CalculatorModel();
+            type(saved, script);
+            file = new SnapshotFile(directory.resolve("state.snap"));
+            assertTrue(file.save(saved), script);
+            file.close();
+
+            CalculatorModel restored = new CalculatorModel();
+            file = new SnapshotFile(directory.resolve("state.snap"));
+            assertTrue(file.restore(restored), script);
+            assertSameState(saved, restored, script);
+
+            type(saved, "4 = 6");
+            type(restored, "4 = 6");
+            assertSameState(saved, restored, script);
+            file.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Values of an arbitrary tier should survive with every digit")
+    void testArbitraryPrecision() throws IOException {
+        CalculatorModel saved = new CalculatorModel(Precision.arbitrary(300));
+        type(saved, "2 ÷ 7 = ×");
+        file = new SnapshotFile(directory.resolve("state.snap"));
+        file.save(saved);
+
+        assertFalse(file.restore(new CalculatorModel()));
+        CalculatorModel restored = new CalculatorModel(Precision.arbitrary(300));
+        assertTrue(file.restore(restored));
+        assertEquals(saved.getCurrentValue(), restored.getCurrentValue());
+        type(saved, "7 =");
+        type(restored, "7 =");
+        assertSameState(saved, restored, "2 ÷ 7 = × 7 =");
+    }
+
+    @Test
+    @DisplayName("Undo steps and the history tape should survive a relaunch")
+    void testUndoAndTape() throws IOException {
+        CalculatorModel saved = new CalculatorModel();
+        saved.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        saved.setHistory(new CalculationHistory(100));
+        type(saved, "1 + 2 = × 3 = 1 ÷ 8 = ↶ ↶");
+        file = new SnapshotFile(directory.resolve("state.snap"));
+        assertTrue(file.save(saved));
+
+        CalculatorModel restored = new CalculatorModel();
+        restored.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        restored.setHistory(new CalculationHistory(100));
+        assertTrue(file.restore(restored));
+        assertSameState(saved, restored, "restored");
+        CalculationHistory tape = restored.getHistory();
+        assertEquals(3, tape.size());
+        for (int i = 0; i < 3; i++) {
+            long entry = tape.getFirst() + i;
+            long savedEntry = saved.getHistory().getFirst() + i;
+            assertEquals(saved.getHistory().format(savedEntry, 40), tape.format(entry, 40));
+            assertEquals(saved.getHistory().getTime(savedEntry), tape.getTime(entry));
+        }
+        assertArrayEquals(new long[] {tape.getFirst() + 1}, tape.findResult(new BigDecimal("9")));
+
+        assertTrue(restored.canRedo());
+        for (String key : new String[] {"↷", "↷", "↶", "↶", "↶", "↶", "↶"}) {
+            type(saved, key);
+            type(restored, key);
+            assertSameState(saved, restored, key);
+        }
+        type(saved, "5 =");
+        type(restored, "5 =");
+        assertSameState(saved, restored, "5 =");
+        assertEquals(saved.getHistory().size(), tape.size());
+        // Only the entries are compared: the two models computed "5 =" at different times
+        for (int i = 0; i < tape.size(); i++) {
+            assertEquals(saved.getHistory().format(saved.getHistory().getFirst() + i, 40),
+                tape.format(tape.getFirst() + i, 40));
+        }
+    }
+
+    @Test
+    @DisplayName("A smaller tape or undo limit should keep the newest of a snapshot")
+    void testSmallerLimits() throws IOException {
+        CalculatorModel saved = new CalculatorModel();
+        saved.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        saved.setHistory(new CalculationHistory(100));
+        type(saved, "1 + 1 = + 1 = + 1 = + 1 =");
+        file = new SnapshotFile(directory.resolve("state.snap"));
+        file.save(saved);
+
+        CalculatorModel restored = new CalculatorModel();
+        restored.setUndoLimit(1);
+        restored.setHistory(new CalculationHistory(2));
+        assertTrue(file.restore(restored));
+        assertEquals("5", restored.getCurrentDisplay());
+        assertFalse(restored.canUndo());
+        CalculationHistory tape = restored.getHistory();
+        assertEquals(2, tape.size());
+        assertEquals(new BigDecimal("5"), tape.getResult(tape.getNext() - 1));
+
+        CalculatorModel plain = new CalculatorModel();
+        assertTrue(file.restore(plain));
+        assertSameState(saved, plain, "no undo, no tape");
+    }
+
+    @Test
+    @DisplayName("Snapshots of version 1 should restore their state")
+    void testVersion1() throws IOException {
+        CalculatorModel saved = new CalculatorModel();
+        type(saved, "6 × 7");
+        byte[] bytes = SnapshotFile.encode(saved.snapshot(0));
+        bytes[5] = 1;
+        Path path = directory.resolve("state.snap");
+        Files.write(path, bytes);
+
+        file = new SnapshotFile(path);
+        CalculatorModel restored = new CalculatorModel();
+        restored.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        restored.setHistory(new CalculationHistory(10));
+        assertTrue(file.restore(restored));
+        assertSameState(saved, restored, "6 × 7");
+        assertTrue(restored.canUndo());
+        assertEquals(0, restored.getHistory().size());
+    }
+
+    @Test
+    @DisplayName("Unchanged states should not be written again")
+    void testUnchanged() throws IOException {
+        CalculatorModel model = new CalculatorModel();
+        type(model, "3 +");
+        file = new SnapshotFile(directory.resolve("state.snap"));
+        assertTrue(file.saveLater(model).join());
+        assertFalse(file.save(model));
+        type(model, "4");
+        assertTrue(file.save(model));
+
+        SnapshotFile reopened = new SnapshotFile(directory.resolve("state.snap"));
+        assertTrue(reopened.restore(new CalculatorModel()));
+        assertFalse(reopened.save(model));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Missing and damaged snapshots should not be restored")
+    void testMissingAndDamaged() throws IOException {
+        Path path = directory.resolve("state.snap");
+        file = new SnapshotFile(path);
+        CalculatorModel model = new CalculatorModel();
+        assertFalse(file.restore(model));
+
+        type(model, "8 × 8");
+        file.save(model);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+        CalculatorModel restored = new CalculatorModel();
+        assertThrows(IOException.class, () -> file.restore(restored));
+        assertEquals("0", restored.getCurrentDisplay());
+
+        Files.write(path, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> file.restore(restored));
+    }
+
+    @Test
+    @DisplayName("Restoring should take well under a millisecond")
+    void testRestoreTime() throws IOException {
+        CalculatorModel model = new CalculatorModel();
+        type(model, "123456.789 × 987.654321");
+        file = new SnapshotFile(directory.resolve("state.snap"));
+        file.save(model);
+
+        int rounds = 2000;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            file.restore(new CalculatorModel());
+        }
+        long average = (System.nanoTime() - start) / rounds;
+        assertTrue(average < TimeUnit.MILLISECONDS.toNanos(1), () -> average + " ns per restore");
+    }
+
+    private static void assertSameState(CalculatorModel expected, CalculatorModel actual, String script) {
+        assertEquals(expected.getCurrentDisplay(), actual.getCurrentDisplay(), script);
+        assertEquals(expected.getExpressionDisplay(), actual.getExpressionDisplay(), script);
+        assertEquals(expected.getCurrentValue(), actual.getCurrentValue(), script);
+        assertEquals(expected.getCurrentOperation(), actual.getCurrentOperation(), script);
+        assertEquals(expected.hasError(), actual.hasError(), script);
+    }
+
+    private static void type(CalculatorModel model, String script) {
+        new KeystrokeScanner(new KeystrokeScanner.Listener() {
+            @Override
+            public void onKey(CalculatorKey key) {
+                key.applyTo(model);
+            }
+
+            @Override
+            public void onEndOfLine() {
+                // Scripts are single lines
+            }
+        }).scan(script);
+    }
+}
@@ -0,0 +1,183 @@
+package com.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for undo and redo in CalculatorModel and the UndoHistory behind them.
+ * Tests the order of undo and redo, structural sharing and the memory limit.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Undo History Tests")
+class UndoHistoryTest {
+
+    private CalculatorModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new CalculatorModel();
+        model.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Undo should step back one key at a time and redo forward again")
+    void testUndoRedo() {
+        type("12+3=");
+        assertEquals("15", model.getCurrentDisplay());
+
+        assertTrue(model.undo());
+        assertEquals("3", model.getCurrentDisplay());
+        assertEquals("12 +", model.getExpressionDisplay());
+        assertTrue(model.undo());
+        assertTrue(model.undo());
+        assertEquals("12", model.getCurrentDisplay());
+        assertNull(model.getCurrentOperation());
+
+        assertTrue(model.redo());
+        assertEquals(CalculatorModel.Operation.ADD, model.getCurrentOperation());
+        assertTrue(model.redo());
+        assertTrue(model.redo());
+        assertEquals("15", model.getCurrentDisplay());
+        assertFalse(model.redo());
+
+        while (model.undo()) {
+            // Back to the start
+        }
+        assertEquals("0", model.getCurrentDisplay());
+        assertFalse(model.canUndo());
+        assertTrue(model.canRedo());
+    }
+
+    @Test
+    @DisplayName("A new key after undo should drop the states to redo")
+    void testNewKeyDropsRedo() {
+        type("7×6");
+        model.undo();
+        type("8=");
+        assertEquals("56", model.getCurrentDisplay());
+        assertFalse(model.canRedo());
+        model.undo();
+        assertEquals("8", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("Keys that change nothing should not be undo steps")
+    void testUnchangedStatesNotRecorded() {
+        type("±=5");
+        model.undo();
+        assertEquals("0", model.getCurrentDisplay());
+        assertFalse(model.canUndo());
+
+        type("9+");
+        model.clear();
+        assertTrue(model.undo());
+        assertEquals("9 +", model.getExpressionDisplay());
+    }
+
+    @Test
+    @DisplayName("A chained operation should be a single undo step")
+    void testChainedOperation() {
+        type("2+3×");
+        assertEquals("5 ×", model.getExpressionDisplay());
+        model.undo();
+        assertEquals("3", model.getCurrentDisplay());
+        assertEquals("2 +", model.getExpressionDisplay());
+    }
+
+    @Test
+    @DisplayName("Undo should be off by default and after a limit of 0")
+    void testOff() {
+        CalculatorModel plain = new CalculatorModel();
+        CalculatorKey.DIGIT_4.applyTo(plain);
+        assertFalse(plain.undo());
+        CalculatorKey.UNDO.applyTo(plain);
+        assertEquals("4", plain.getCurrentDisplay());
+        assertEquals(0, plain.getUndoLimit());
+
+        type("4");
+        model.setUndoLimit(0);
+        assertFalse(model.canUndo());
+        assertThrows(IllegalArgumentException.class, () -> model.setUndoLimit(-1));
+    }
+
+    @Test
+    @DisplayName("Changing the precision should start a new history")
+    void testPrecisionStartsNewHistory() {
+        type("1+1=");
+        model.setPrecision(Precision.arbitrary(40));
+        assertFalse(model.canUndo());
+        assertEquals(CalculatorModel.DEFAULT_UNDO_LIMIT, model.getUndoLimit());
+    }
+
+    @Test
+    @DisplayName("Consecutive states should share the parts that did not change")
+    void testStructuralSharing() {
+        CalculatorModel source = new CalculatorModel();
+        UndoHistory history = new UndoHistory(1 << 20, source.snapshot(0));
+        type(source, "123+");
+        history.record(source);
+        CalculatorState operation = history.current();
+        type(source, "4");
+        history.record(source);
+        CalculatorState digit = history.current();
+
+        assertSame(operation.displayExpression, digit.displayExpression);
+        assertSame(operation.storedValue, digit.storedValue);
+        // The stored operand is the previous current value, not a copy
+        assertSame(operation.currentValue, operation.storedValue);
+        assertTrue(digit.footprint(operation) < digit.footprint(null));
+    }
+
+    @Test
+    @DisplayName("Long sessions should stay within the memory limit")
+    void testMemoryLimit() {
+        long limit = 64 * 1024;
+        CalculatorModel source = new CalculatorModel(Precision.arbitrary(200));
+        UndoHistory history = new UndoHistory(limit, source.snapshot(0));
+        Random random = new Random(3);
+        CalculatorKey[] keys = {
+            CalculatorKey.DIGIT_1, CalculatorKey.DIGIT_7, CalculatorKey.DIGIT_9, CalculatorKey.DECIMAL,
+            CalculatorKey.ADD, CalculatorKey.DIVIDE, CalculatorKey.EQUALS, CalculatorKey.SIGN,
+            CalculatorKey.BACKSPACE
+        };
+        for (int i = 0; i < 50_000; i++) {
+            keys[random.nextInt(keys.length)].applyTo(source);
+            history.record(source);
+            assertTrue(history.getMemoryUsed() <= limit, () -> history.getMemoryUsed() + " bytes");
+        }
+        assertTrue(history.getUndoCount() > 100);
+
+        // Every state kept can be undone to, and redone again
+        int steps = history.getUndoCount();
+        for (int i = 0; i < steps; i++) {
+            assertNotNull(history.undo());
+        }
+        assertNull(history.undo());
+        assertEquals(steps, history.getRedoCount());
+    }
+
+    private void type(String script) {
+        type(model, script);
+    }
+
+    private static void type(CalculatorModel model, String script) {
+        new KeystrokeScanner(new KeystrokeScanner.Listener() {
+            @Override
+            public void onKey(CalculatorKey key) {
+                key.applyTo(model);
+            }
+
+            @Override
+            public void onEndOfLine() {
+                // Scripts are single lines
+            }
+        }).scan(script);
+    }
+}
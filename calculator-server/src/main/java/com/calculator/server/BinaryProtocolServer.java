@@ -0,0 +1,355 @@
+package com.calculator.server;
+
+import com.calculator.CalculatorKey;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * NIO server for the binary {@link WireProtocol}.
+ *
+ * An acceptor thread hands new connections round-robin to worker threads, each
+ * running its own selector. A worker decodes every complete frame it has received,
+ * applies it to the shared {@link SessionStore} and queues the response, so pipelined
+ * requests are answered in order with one write per batch. When a client stops
+ * reading its responses, the worker stops reading its requests until the output
+ * buffer drains.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class BinaryProtocolServer {
+
+    private static final CalculatorKey[] KEYS = CalculatorKey.values();
+
+    /** Longest error message sent, in bytes. */
+    private static final int MAX_MESSAGE_BYTES = 256;
+
+    /** Largest response frame. */
+    private static final int MAX_RESPONSE = WireProtocol.LENGTH_BYTES + 1 + MAX_MESSAGE_BYTES;
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final SessionStore sessions;
+    private final ServerSocketChannel serverChannel;
+    private final Worker[] workers;
+    private final Thread acceptor;
+    private volatile boolean running;
+
+    /**
+     * Creates a server bound to an address. It does not accept connections until
+     * {@link #start()}.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @param sessions the session store
+     * @param workerCount the number of worker threads
+     * @throws IOException if the address cannot be bound
+     */
+    BinaryProtocolServer(InetSocketAddress address, SessionStore sessions, int workerCount) throws IOException {
+        this.sessions = sessions;
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        this.workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker();
+        }
+        this.acceptor = new Thread(this::accept, "calculator-binary-acceptor");
+        acceptor.setDaemon(true);
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    void start() {
+        running = true;
+        for (int i = 0; i < workers.length; i++) {
+            Thread thread = new Thread(workers[i], "calculator-binary-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        acceptor.start();
+    }
+
+    /**
+     * Stops the server and closes every connection.
+     */
+    void stop() {
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        for (Worker worker : workers) {
+            worker.selector.wakeup();
+        }
+    }
+
+    /**
+     * Gets the address the server is listening on.
+     *
+     * @return the bound address
+     */
+    InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            throw new IllegalStateException("Server is closed", e);
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.socket().setTcpNoDelay(true);
+                workers[next].add(channel);
+                next = (next + 1) % workers.length;
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // A failed accept only affects that client
+            }
+        }
+    }
+
+    /**
+     * Decodes one request payload and writes the response frame.
+     *
+     * @param request the request payload
+     * @param response the buffer receiving the response frame
+     */
+    void handle(ByteBuffer request, ByteBuffer response) {
+        int start = response.position();
+        response.position(start + WireProtocol.LENGTH_BYTES);
+        handlePayload(request, response);
+        response.putShort(start, (short) (response.position() - start - WireProtocol.LENGTH_BYTES));
+    }
+
+    private void handlePayload(ByteBuffer request, ByteBuffer response) {
+        if (!request.hasRemaining()) {
+            response.put(WireProtocol.BAD_REQUEST);
+            return;
+        }
+        byte opcode = request.get();
+        switch (opcode) {
+            case WireProtocol.OPEN:
+                if (request.hasRemaining()) {
+                    response.put(WireProtocol.BAD_REQUEST);
+                } else {
+                    response.put(WireProtocol.OK).putLong(sessions.create().getId());
+                }
+                return;
+            case WireProtocol.PRESS:
+                press(request, response);
+                return;
+            case WireProtocol.CLOSE:
+                if (request.remaining() != Long.BYTES) {
+                    response.put(WireProtocol.BAD_REQUEST);
+                } else {
+                    response.put(sessions.remove(request.getLong()) ? WireProtocol.OK : WireProtocol.NO_SESSION);
+                }
+                return;
+            default:
+                response.put(WireProtocol.BAD_REQUEST);
+        }
+    }
+
+    private void press(ByteBuffer request, ByteBuffer response) {
+        if (request.remaining() < Long.BYTES) {
+            response.put(WireProtocol.BAD_REQUEST);
+            return;
+        }
+        long id = request.getLong();
+        // Reject the whole request before applying any key
+        for (int i = request.position(); i < request.limit(); i++) {
+            int ordinal = request.get(i);
+            if (ordinal < 0 || ordinal >= KEYS.length) {
+                response.put(WireProtocol.BAD_REQUEST);
+                return;
+            }
+        }
+
+        Session session = sessions.get(id);
+        if (session == null) {
+            response.put(WireProtocol.NO_SESSION);
+            return;
+        }
+        synchronized (session) {
+            while (request.hasRemaining()) {
+                session.press(KEYS[request.get()]);
+            }
+            if (session.hasError()) {
+                byte[] message = session.getCurrentDisplay().getBytes(StandardCharsets.UTF_8);
+                response.put(WireProtocol.CALCULATOR_ERROR)
+                        .put(message, 0, Math.min(message.length, MAX_MESSAGE_BYTES));
+            } else {
+                response.put(WireProtocol.OK);
+                WireProtocol.putDecimal(session.getCurrentValue(), response);
+            }
+        }
+    }
+
+    /**
+     * Selector thread serving a share of the connections.
+     */
+    private final class Worker implements Runnable {
+
+        private final Selector selector;
+        private final Queue<SocketChannel> added = new ConcurrentLinkedQueue<>();
+
+        Worker() throws IOException {
+            this.selector = Selector.open();
+        }
+
+        void add(SocketChannel channel) {
+            added.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    registerAdded();
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isReadable()) {
+                                connection.onReadable();
+                            } else if (key.isWritable()) {
+                                connection.pump();
+                            }
+                        } catch (IOException e) {
+                            connection.close();
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException e) {
+                // Selector failure: fall through and close everything
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close();
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // Closing anyway
+                }
+            }
+        }
+
+        private void registerAdded() {
+            SocketChannel channel;
+            while ((channel = added.poll()) != null) {
+                try {
+                    channel.configureBlocking(false);
+                    SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                    key.attach(new Connection(channel, key));
+                } catch (IOException e) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                        // Already failed
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffers and frame decoding of one client connection.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        /** Always large enough for one whole frame. */
+        private final ByteBuffer input = ByteBuffer.allocate(WireProtocol.LENGTH_BYTES + WireProtocol.MAX_PAYLOAD);
+        private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void onReadable() throws IOException {
+            if (channel.read(input) < 0) {
+                close();
+                return;
+            }
+            pump();
+        }
+
+        /**
+         * Answers buffered requests and writes responses until either the input has no
+         * complete frame left or the client stops accepting output.
+         */
+        void pump() throws IOException {
+            boolean outputFull;
+            do {
+                outputFull = decodeFrames();
+                output.flip();
+                channel.write(output);
+                boolean drained = !output.hasRemaining();
+                output.compact();
+                if (!drained) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+            } while (outputFull);
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        /**
+         * Handles every complete frame in the input buffer while the output buffer
+         * has room for a response.
+         *
+         * @return true if decoding stopped because the output buffer is full
+         */
+        private boolean decodeFrames() {
+            input.flip();
+            try {
+                while (input.remaining() >= WireProtocol.LENGTH_BYTES) {
+                    int length = input.getShort(input.position()) & 0xFFFF;
+                    if (input.remaining() < WireProtocol.LENGTH_BYTES + length) {
+                        return false;
+                    }
+                    if (output.remaining() < MAX_RESPONSE) {
+                        return true;
+                    }
+                    int payloadStart = input.position() + WireProtocol.LENGTH_BYTES;
+                    int payloadEnd = payloadStart + length;
+                    ByteBuffer payload = input.duplicate();
+                    payload.limit(payloadEnd).position(payloadStart);
+                    handle(payload, output);
+                    input.position(payloadEnd);
+                }
+                return false;
+            } finally {
+                input.compact();
+            }
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+        }
+    }
+}
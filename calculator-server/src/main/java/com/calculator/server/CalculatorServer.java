@@ -0,0 +1,177 @@
+package com.calculator.server;
+
+import com.calculator.CalculatorMetrics;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Network service in which every client session owns its own calculator model.
+ *
+ * Sessions are served over HTTP by the JDK's built-in server (see
+ * {@link SessionHandler} for the resources) from a pool with one worker thread per
+ * processor, and optionally over the binary {@link WireProtocol} on a second port.
+ * Both protocols share one sharded {@link SessionStore}; a background task evicts
+ * sessions that have been idle for longer than the idle timeout.
+ *
+ * <pre>
+ * java -jar calculator-server.jar [port [idle-seconds [max-sessions [binary-port]]]]
+ * </pre>
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class CalculatorServer {
+
+    /** Port used when none is given on the command line. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** Idle timeout used when none is given on the command line. */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    /** Maximum number of sessions used when none is given on the command line. */
+    public static final int DEFAULT_MAX_SESSIONS = 1_000_000;
+
+    private final SessionStore sessions;
+    private final HttpServer server;
+    private final BinaryProtocolServer binaryServer;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService sweeper;
+    private final long sweepIntervalMillis;
+
+    /**
+     * Creates a server. It does not accept connections until {@link #start()}.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @param maxSessions the maximum number of sessions kept
+     * @param idleTimeout how long a session may go unused before it is evicted
+     * @throws IOException if the address cannot be bound
+     */
+    public CalculatorServer(InetSocketAddress address, int maxSessions, Duration idleTimeout) throws IOException {
+        this(address, null, maxSessions, idleTimeout);
+    }
+
+    /**
+     * Creates a server that also speaks the binary protocol. It does not accept
+     * connections until {@link #start()}.
+     *
+     * @param address the address to listen on for HTTP; port 0 picks a free port
+     * @param binaryAddress the address to listen on for the binary protocol, or null for none
+     * @param maxSessions the maximum number of sessions kept
+     * @param idleTimeout how long a session may go unused before it is evicted
+     * @throws IOException if an address cannot be bound
+     */
+    public CalculatorServer(InetSocketAddress address, InetSocketAddress binaryAddress,
+                            int maxSessions, Duration idleTimeout) throws IOException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        this.sessions = new SessionStore(processors * 4, maxSessions, idleTimeout.toNanos(), System::nanoTime);
+        this.sweepIntervalMillis = Math.max(1, idleTimeout.toMillis() / 2);
+
+        this.server = HttpServer.create(address, 0);
+        this.workers = Executors.newFixedThreadPool(processors, daemonThreads("calculator-server"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("calculator-session-sweeper"));
+        server.createContext(SessionHandler.PATH, new SessionHandler(sessions));
+        server.setExecutor(workers);
+        this.binaryServer = binaryAddress == null ? null
+                : new BinaryProtocolServer(binaryAddress, sessions, processors);
+    }
+
+    /**
+     * Starts accepting connections and evicting idle sessions.
+     */
+    public void start() {
+        server.start();
+        if (binaryServer != null) {
+            binaryServer.start();
+        }
+        sweeper.scheduleWithFixedDelay(sessions::evictIdle,
+                sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the server, giving exchanges in progress up to a second to finish.
+     */
+    public void stop() {
+        server.stop(1);
+        if (binaryServer != null) {
+            binaryServer.stop();
+        }
+        sweeper.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Gets the address the server is listening on.
+     *
+     * @return the bound address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Gets the address the binary protocol is served on.
+     *
+     * @return the bound address, or null if the binary protocol is not served
+     */
+    public InetSocketAddress getBinaryAddress() {
+        return binaryServer == null ? null : binaryServer.getAddress();
+    }
+
+    /**
+     * Gets the session store.
+     *
+     * @return the session store
+     */
+    SessionStore getSessions() {
+        return sessions;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     *
+     * @param args optional port, idle timeout in seconds, maximum number of sessions
+     *             and binary protocol port
+     */
+    public static void main(String[] args) {
+        try {
+            int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+            Duration idleTimeout = args.length > 1
+                    ? Duration.ofSeconds(Long.parseLong(args[1])) : DEFAULT_IDLE_TIMEOUT;
+            int maxSessions = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_SESSIONS;
+            InetSocketAddress binaryAddress = args.length > 3
+                    ? new InetSocketAddress(Integer.parseInt(args[3])) : null;
+
+            CalculatorServer server = new CalculatorServer(new InetSocketAddress(port), binaryAddress,
+                    maxSessions, idleTimeout);
+            CalculatorMetrics.install();
+            server.start();
+            System.err.println("CalculatorServer: listening on " + server.getAddress());
+            if (binaryAddress != null) {
+                System.err.println("CalculatorServer: binary protocol on " + server.getBinaryAddress());
+            }
+            // Worker threads are daemons; keep the process alive
+            Thread.currentThread().join();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("CalculatorServer: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.calculator.server;
+
+import com.calculator.CalculatorKey;
+import com.calculator.LatencyHistogram;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for the binary {@link WireProtocol}.
+ *
+ * Each connection opens a session and then keeps a fixed number of PRESS requests in
+ * flight, each entering {@code 15 + 25 × 2 =}. Every response is checked and its
+ * latency recorded from the moment the request was queued for sending. At the end
+ * the throughput and latency percentiles of all connections are printed.
+ *
+ * <pre>
+ * java -cp ... com.calculator.server.LoadGenerator host port [connections [depth [seconds]]]
+ * </pre>
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class LoadGenerator {
+
+    /** Upper limit of the pipeline depth, so that in-flight requests fit in the socket buffers. */
+    public static final int MAX_DEPTH = 1024;
+
+    private static final byte[] KEYS = {
+        (byte) CalculatorKey.DIGIT_1.ordinal(), (byte) CalculatorKey.DIGIT_5.ordinal(),
+        (byte) CalculatorKey.ADD.ordinal(),
+        (byte) CalculatorKey.DIGIT_2.ordinal(), (byte) CalculatorKey.DIGIT_5.ordinal(),
+        (byte) CalculatorKey.MULTIPLY.ordinal(),
+        (byte) CalculatorKey.DIGIT_2.ordinal(),
+        (byte) CalculatorKey.EQUALS.ordinal()
+    };
+
+    private static final BigDecimal EXPECTED = BigDecimal.valueOf(80);
+
+    private final InetSocketAddress address;
+    private final int depth;
+    private final long durationNanos;
+
+    /**
+     * Creates a load generator.
+     *
+     * @param address the server's binary protocol address
+     * @param depth the number of requests each connection keeps in flight
+     * @param duration how long to send requests
+     * @param unit the unit of {@code duration}
+     */
+    public LoadGenerator(InetSocketAddress address, int depth, long duration, TimeUnit unit) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH);
+        }
+        this.address = address;
+        this.depth = depth;
+        this.durationNanos = unit.toNanos(duration);
+    }
+
+    /**
+     * Runs the load from several connections in parallel.
+     *
+     * @param connections the number of connections
+     * @return the summary line
+     * @throws IOException if a connection fails or a response is wrong
+     * @throws InterruptedException if interrupted while waiting for the connections
+     */
+    public String run(int connections) throws IOException, InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        List<Run> runs = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Run run = new Run();
+            runs.add(run);
+            Thread thread = new Thread(run, "load-generator-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+
+        LatencyHistogram total = new LatencyHistogram();
+        long elapsed = 0;
+        for (int i = 0; i < connections; i++) {
+            threads.get(i).join();
+            Run run = runs.get(i);
+            if (run.failure != null) {
+                throw run.failure;
+            }
+            total.add(run.histogram);
+            elapsed = Math.max(elapsed, run.elapsedNanos);
+        }
+        return summary(total, elapsed);
+    }
+
+    private static String summary(LatencyHistogram histogram, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        return String.format("%d requests in %.2f s: %.0f req/s, latency us p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f",
+                histogram.count(), seconds, histogram.count() / seconds,
+                histogram.percentile(50) / 1e3, histogram.percentile(90) / 1e3,
+                histogram.percentile(99) / 1e3, histogram.percentile(99.9) / 1e3,
+                histogram.max() / 1e3);
+    }
+
+    /**
+     * One connection's request loop.
+     */
+    private final class Run implements Runnable {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final long[] sentAt = new long[depth];
+        private final ByteBuffer output = ByteBuffer.allocate(depth * (WireProtocol.LENGTH_BYTES + 1 + Long.BYTES + KEYS.length));
+        private final ByteBuffer input = ByteBuffer.allocate(64 * 1024);
+        private long elapsedNanos;
+        private IOException failure;
+
+        @Override
+        public void run() {
+            try (SocketChannel channel = SocketChannel.open(address)) {
+                channel.socket().setTcpNoDelay(true);
+                long session = open(channel);
+
+                long start = System.nanoTime();
+                long deadline = start + durationNanos;
+                long sent = 0;
+                long received = 0;
+                for (; sent < depth; sent++) {
+                    queuePress(session, sent);
+                }
+                flush(channel);
+
+                while (received < sent) {
+                    ByteBuffer response = readFrame(channel);
+                    long now = System.nanoTime();
+                    check(response);
+                    histogram.record(now - sentAt[(int) (received % depth)]);
+                    received++;
+                    if (now < deadline) {
+                        queuePress(session, sent++);
+                    }
+                    if (!nextFrameBuffered()) {
+                        // Send what was queued before waiting for more responses
+                        flush(channel);
+                    }
+                }
+                elapsedNanos = System.nanoTime() - start;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        private long open(SocketChannel channel) throws IOException {
+            output.putShort((short) 1).put(WireProtocol.OPEN);
+            flush(channel);
+            ByteBuffer response = readFrame(channel);
+            if (response.get() != WireProtocol.OK) {
+                throw new IOException("Could not open a session");
+            }
+            return response.getLong();
+        }
+
+        private void queuePress(long session, long sequence) {
+            sentAt[(int) (sequence % depth)] = System.nanoTime();
+            output.putShort((short) (1 + Long.BYTES + KEYS.length))
+                    .put(WireProtocol.PRESS).putLong(session).put(KEYS);
+        }
+
+        private void check(ByteBuffer response) throws IOException {
+            byte status = response.get();
+            if (status != WireProtocol.OK) {
+                throw new IOException("Request failed with status " + status);
+            }
+            BigDecimal value;
+            try {
+                value = WireProtocol.getDecimal(response);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed response: " + e.getMessage());
+            }
+            if (value.compareTo(EXPECTED) != 0) {
+                throw new IOException("Expected " + EXPECTED + " but got " + value);
+            }
+        }
+
+        private void flush(SocketChannel channel) throws IOException {
+            output.flip();
+            while (output.hasRemaining()) {
+                channel.write(output);
+            }
+            output.clear();
+        }
+
+        /**
+         * Checks whether a complete frame follows the one returned by the last read.
+         */
+        private boolean nextFrameBuffered() {
+            int next = WireProtocol.LENGTH_BYTES + (input.getShort(0) & 0xFFFF);
+            return input.position() >= next + WireProtocol.LENGTH_BYTES
+                    && input.position() >= next + WireProtocol.LENGTH_BYTES + (input.getShort(next) & 0xFFFF);
+        }
+
+        /**
+         * Reads the next response frame. The returned payload is only valid until the
+         * next call.
+         */
+        private ByteBuffer readFrame(SocketChannel channel) throws IOException {
+            // Drop the previous frame
+            input.flip();
+            if (input.remaining() >= WireProtocol.LENGTH_BYTES) {
+                int previous = input.getShort(input.position()) & 0xFFFF;
+                input.position(input.position() + WireProtocol.LENGTH_BYTES + previous);
+            }
+            input.compact();
+            while (true) {
+                if (input.position() >= WireProtocol.LENGTH_BYTES) {
+                    int length = input.getShort(0) & 0xFFFF;
+                    if (input.position() >= WireProtocol.LENGTH_BYTES + length) {
+                        ByteBuffer payload = input.duplicate();
+                        payload.limit(WireProtocol.LENGTH_BYTES + length).position(WireProtocol.LENGTH_BYTES);
+                        return payload;
+                    }
+                }
+                if (channel.read(input) < 0) {
+                    throw new EOFException("Server closed the connection");
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the load generator and prints the summary.
+     *
+     * @param args host, port and optional number of connections, pipeline depth and
+     *             duration in seconds
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadGenerator host port [connections [depth [seconds]]]");
+            System.exit(2);
+        }
+        try {
+            InetSocketAddress address = new InetSocketAddress(args[0], Integer.parseInt(args[1]));
+            int connections = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int depth = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+            long seconds = args.length > 4 ? Long.parseLong(args[4]) : 10;
+            System.out.println(new LoadGenerator(address, depth, seconds, TimeUnit.SECONDS).run(connections));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("LoadGenerator: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
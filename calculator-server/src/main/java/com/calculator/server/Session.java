@@ -0,0 +1,115 @@
+package com.calculator.server;
+
+import com.calculator.CalculatorKey;
+import com.calculator.CalculatorModel;
+import com.calculator.KeystrokeScanner;
+
+import java.math.BigDecimal;
+
+/**
+ * One client's calculator session: a model of its own plus the bookkeeping the
+ * {@link SessionStore} needs for idle eviction.
+ *
+ * Requests for the same session are applied one at a time; requests for different
+ * sessions never contend with each other.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class Session {
+
+    private final long id;
+    private final CalculatorModel model = new CalculatorModel();
+    private final KeystrokeScanner.Listener listener = new KeystrokeScanner.Listener() {
+        @Override
+        public void onKey(CalculatorKey key) {
+            key.applyTo(model);
+        }
+
+        @Override
+        public void onEndOfLine() {
+            // Line breaks carry no meaning within a session
+        }
+    };
+
+    /** Clock reading of the last lookup; guarded by the lock of the owning shard. */
+    long lastAccess;
+
+    /**
+     * Creates a session in the initial calculator state.
+     *
+     * @param id the session id
+     * @param now the current clock reading
+     */
+    Session(long id, long now) {
+        this.id = id;
+        this.lastAccess = now;
+    }
+
+    /**
+     * Gets the session id.
+     *
+     * @return the session id
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Presses a single key.
+     *
+     * @param key the key to press
+     */
+    synchronized void press(CalculatorKey key) {
+        key.applyTo(model);
+    }
+
+    /**
+     * Presses the keys of a keystroke script, in the format read by
+     * {@code CalculatorBatch}. Keys before an unknown key are kept.
+     *
+     * @param script the keys to press
+     * @throws IllegalArgumentException if the script contains an unknown key
+     */
+    synchronized void press(CharSequence script) {
+        KeystrokeScanner scanner = new KeystrokeScanner(listener);
+        scanner.scan(script);
+        scanner.finish();
+    }
+
+    /**
+     * Checks if the calculator is in an error state.
+     *
+     * @return true if there's an error, false otherwise
+     */
+    synchronized boolean hasError() {
+        return model.hasError();
+    }
+
+    /**
+     * Gets the current display value.
+     *
+     * @return the current display value
+     */
+    synchronized String getCurrentDisplay() {
+        return model.getCurrentDisplay();
+    }
+
+    /**
+     * Gets the current numeric value.
+     *
+     * @return the current numeric value
+     */
+    synchronized BigDecimal getCurrentValue() {
+        return model.getCurrentValue();
+    }
+
+    /**
+     * Gets the primary and expression displays as one tab-separated line.
+     *
+     * @return the display line, ending with a line break
+     */
+    synchronized String displayLine() {
+        return model.getCurrentDisplay() + "\t" + model.getExpressionDisplay() + "\n";
+    }
+}
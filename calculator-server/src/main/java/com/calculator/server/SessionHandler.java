@@ -0,0 +1,131 @@
+package com.calculator.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTTP handler for the {@code /sessions} resources.
+ *
+ * <pre>
+ * POST   /sessions        create a session; responds 201 with its id
+ * GET    /sessions/{id}   responds with the display line
+ * POST   /sessions/{id}   presses the keystroke script in the body; responds with the display line
+ * DELETE /sessions/{id}   ends the session; responds 204
+ * </pre>
+ *
+ * The display line is the primary and expression displays separated by a tab, as
+ * written by {@code CalculatorBatch}. All bodies are UTF-8 plain text.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class SessionHandler implements HttpHandler {
+
+    static final String PATH = "/sessions";
+
+    /** Largest accepted keystroke script, in bytes. */
+    static final int MAX_SCRIPT_BYTES = 64 * 1024;
+
+    private final SessionStore sessions;
+
+    /**
+     * Creates a handler serving the sessions of a store.
+     *
+     * @param sessions the session store
+     */
+    SessionHandler(SessionStore sessions) {
+        this.sessions = sessions;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals(PATH) || path.equals(PATH + "/")) {
+                if ("POST".equals(method)) {
+                    Session session = sessions.create();
+                    send(exchange, 201, Long.toHexString(session.getId()) + "\n");
+                } else {
+                    send(exchange, 405, "Method not allowed\n");
+                }
+                return;
+            }
+
+            long id;
+            try {
+                if (!path.startsWith(PATH + "/")) {
+                    throw new NumberFormatException(path);
+                }
+                id = Long.parseUnsignedLong(path.substring(PATH.length() + 1), 16);
+            } catch (NumberFormatException e) {
+                send(exchange, 404, "Not found\n");
+                return;
+            }
+            handleSession(exchange, method, id);
+        }
+    }
+
+    private void handleSession(HttpExchange exchange, String method, long id) throws IOException {
+        if ("DELETE".equals(method)) {
+            if (sessions.remove(id)) {
+                send(exchange, 204, null);
+            } else {
+                send(exchange, 404, "No such session\n");
+            }
+            return;
+        }
+        if (!"GET".equals(method) && !"POST".equals(method)) {
+            send(exchange, 405, "Method not allowed\n");
+            return;
+        }
+
+        Session session = sessions.get(id);
+        if (session == null) {
+            send(exchange, 404, "No such session\n");
+            return;
+        }
+        if ("POST".equals(method)) {
+            byte[] script = readBody(exchange.getRequestBody());
+            if (script == null) {
+                send(exchange, 413, "Script longer than " + MAX_SCRIPT_BYTES + " bytes\n");
+                return;
+            }
+            try {
+                session.press(new String(script, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, e.getMessage() + "\n");
+                return;
+            }
+        }
+        send(exchange, 200, session.displayLine());
+    }
+
+    /**
+     * Reads a request body of at most {@link #MAX_SCRIPT_BYTES}.
+     *
+     * @return the body, or null if it is too long
+     */
+    private static byte[] readBody(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(MAX_SCRIPT_BYTES + 1);
+        return bytes.length > MAX_SCRIPT_BYTES ? null : bytes;
+    }
+
+    private static void send(HttpExchange exchange, int status, String text) throws IOException {
+        if (text == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
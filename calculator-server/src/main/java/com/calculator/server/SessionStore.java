@@ -0,0 +1,215 @@
+package com.calculator.server;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sharded map of live sessions with idle eviction.
+ *
+ * Sessions are spread over a power-of-two number of shards by id, and each shard has
+ * its own lock, so threads serving different sessions rarely contend and there is no
+ * global lock. Each shard keeps its sessions in access order: idle eviction only
+ * visits sessions that have actually expired, and a shard that reaches its capacity
+ * drops its least recently used session. Memory is therefore bounded by the
+ * configured maximum number of sessions.
+ *
+ * Session ids are the only credential a client presents, so they are drawn from a
+ * {@link SecureRandom} and cannot be predicted from ids seen before. Every thread has
+ * its own DRBG generator: one shared instance, or the default {@code NativePRNG} that
+ * reads one shared {@code /dev/urandom} stream, would serialize every session created.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class SessionStore {
+
+    private static final ThreadLocal<SecureRandom> IDS = ThreadLocal.withInitial(SessionStore::newIdSource);
+
+    private final Shard[] shards;
+    private final int mask;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a store.
+     *
+     * @param shardCount the minimum number of shards; rounded up to a power of two
+     * @param maxSessions the maximum number of sessions kept
+     * @param idleTimeout how long a session may go unused before it is evicted
+     * @param unit the unit of {@code idleTimeout}
+     */
+    SessionStore(int shardCount, int maxSessions, long idleTimeout, TimeUnit unit) {
+        this(shardCount, maxSessions, unit.toNanos(idleTimeout), System::nanoTime);
+    }
+
+    /**
+     * Creates a store reading time from the given clock.
+     *
+     * @param shardCount the minimum number of shards; rounded up to a power of two
+     * @param maxSessions the maximum number of sessions kept
+     * @param idleTimeoutNanos how long a session may go unused before it is evicted
+     * @param clock the clock, in nanoseconds
+     */
+    SessionStore(int shardCount, int maxSessions, long idleTimeoutNanos, LongSupplier clock) {
+        if (shardCount < 1 || maxSessions < 1 || idleTimeoutNanos <= 0) {
+            throw new IllegalArgumentException("Shard count, maximum sessions and idle timeout must be positive");
+        }
+        int count = Integer.highestOneBit(Math.min(shardCount, 1 << 30));
+        if (count < shardCount) {
+            count <<= 1;
+        }
+        this.shards = new Shard[count];
+        this.mask = count - 1;
+        int capacity = Math.max(1, (maxSessions + count - 1) / count);
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(capacity);
+        }
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a new session with an unpredictable random id.
+     *
+     * @return the new session
+     */
+    Session create() {
+        long now = clock.getAsLong();
+        while (true) {
+            long id = IDS.get().nextLong();
+            Session session = new Session(id, now);
+            Shard shard = shardFor(id);
+            synchronized (shard) {
+                if (shard.putIfAbsent(id, session) == null) {
+                    return session;
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up a session and marks it as used. A session that has been idle for
+     * longer than the timeout is evicted instead of returned.
+     *
+     * @param id the session id
+     * @return the session, or null if there is no live session with this id
+     */
+    Session get(long id) {
+        long now = clock.getAsLong();
+        Shard shard = shardFor(id);
+        synchronized (shard) {
+            Session session = shard.get(id);
+            if (session == null) {
+                return null;
+            }
+            if (now - session.lastAccess > idleTimeoutNanos) {
+                shard.remove(id);
+                return null;
+            }
+            session.lastAccess = now;
+            return session;
+        }
+    }
+
+    /**
+     * Removes a session.
+     *
+     * @param id the session id
+     * @return true if the session existed
+     */
+    boolean remove(long id) {
+        Shard shard = shardFor(id);
+        synchronized (shard) {
+            return shard.remove(id) != null;
+        }
+    }
+
+    /**
+     * Removes every session that has been idle for longer than the timeout.
+     * Shards are locked one at a time.
+     *
+     * @return the number of sessions removed
+     */
+    int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                // Least recently used first: stop at the first session still in use
+                Iterator<Session> sessions = shard.values().iterator();
+                while (sessions.hasNext() && now - sessions.next().lastAccess > idleTimeoutNanos) {
+                    sessions.remove();
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Counts the live sessions. The count is not a snapshot while sessions are
+     * being created or removed.
+     *
+     * @return the number of sessions
+     */
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of shards.
+     *
+     * @return the number of shards, a power of two
+     */
+    int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Creates a generator for session ids, seeded from the system's entropy source.
+     */
+    private static SecureRandom newIdSource() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private Shard shardFor(long id) {
+        // Spread the id so that shard selection does not depend on its low bits alone
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return shards[(int) (hash >>> 32) & mask];
+    }
+
+    /**
+     * Sessions of one shard in access order, least recently used first.
+     */
+    private static final class Shard extends LinkedHashMap<Long, Session> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Session> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.calculator.server;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Constants and codecs of the binary calculator protocol.
+ *
+ * Every message is a frame: an unsigned 16-bit big-endian payload length followed by
+ * the payload. A request payload starts with an opcode, a response payload with a
+ * status. Responses are sent in request order, so a client may send any number of
+ * requests before reading the first response.
+ *
+ * <pre>
+ * OPEN                        -&gt; OK session-id
+ * PRESS session-id key*       -&gt; OK value | CALCULATOR_ERROR message | NO_SESSION | BAD_REQUEST
+ * CLOSE session-id            -&gt; OK | NO_SESSION
+ * </pre>
+ *
+ * Session ids are 8-byte big-endian longs. A key is one byte, the ordinal of its
+ * {@code CalculatorKey}: digits are 0-9 and the operation keys are
+ * {@code CalculatorKey.ADD} plus the {@code Operation} ordinal. A PRESS without keys
+ * just reads the session. A value is a packed decimal: the unscaled value and then the
+ * scale, each as a zig-zag encoded variable-length integer, so small results take two
+ * or three bytes. Error messages are UTF-8.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public final class WireProtocol {
+
+    /** Largest frame payload. */
+    public static final int MAX_PAYLOAD = 0xFFFF;
+
+    /** Size of the frame length prefix. */
+    public static final int LENGTH_BYTES = 2;
+
+    /** Opens a session. */
+    public static final byte OPEN = 1;
+    /** Presses keys in a session and returns its value. */
+    public static final byte PRESS = 2;
+    /** Ends a session. */
+    public static final byte CLOSE = 3;
+
+    /** The request succeeded. */
+    public static final byte OK = 0;
+    /** The calculator is in an error state, such as after a division by zero. */
+    public static final byte CALCULATOR_ERROR = 1;
+    /** The session does not exist or has expired. */
+    public static final byte NO_SESSION = 2;
+    /** The request is malformed. Nothing was applied. */
+    public static final byte BAD_REQUEST = 3;
+
+    /** Largest encoded packed decimal: a 64-bit and a 32-bit variable-length integer. */
+    public static final int MAX_DECIMAL_BYTES = 10 + 5;
+
+    private static final MathContext LONG_PRECISION = new MathContext(18);
+
+    private WireProtocol() {
+    }
+
+    /**
+     * Writes a decimal as a packed decimal. Values whose unscaled value does not fit
+     * in a {@code long} are rounded to 18 digits first.
+     *
+     * @param value the value to write
+     * @param target the buffer to write to
+     */
+    public static void putDecimal(BigDecimal value, ByteBuffer target) {
+        if (value.unscaledValue().bitLength() > 63) {
+            value = value.round(LONG_PRECISION);
+        }
+        putVarLong(value.unscaledValue().longValue(), target);
+        putVarLong(value.scale(), target);
+    }
+
+    /**
+     * Reads a packed decimal.
+     *
+     * @param source the buffer to read from
+     * @return the value, with the encoded unscaled value and scale
+     * @throws IllegalArgumentException if the encoding is invalid
+     */
+    public static BigDecimal getDecimal(ByteBuffer source) {
+        long unscaled = getVarLong(source);
+        long scale = getVarLong(source);
+        if (scale != (int) scale) {
+            throw new IllegalArgumentException("Scale out of range: " + scale);
+        }
+        return BigDecimal.valueOf(unscaled, (int) scale);
+    }
+
+    /**
+     * Writes a zig-zag encoded variable-length integer: seven bits per byte, least
+     * significant first, with the high bit set on every byte but the last.
+     *
+     * @param value the value to write
+     * @param target the buffer to write to
+     */
+    public static void putVarLong(long value, ByteBuffer target) {
+        long bits = (value << 1) ^ (value >> 63);
+        while ((bits & ~0x7FL) != 0) {
+            target.put((byte) ((bits & 0x7F) | 0x80));
+            bits >>>= 7;
+        }
+        target.put((byte) bits);
+    }
+
+    /**
+     * Reads a zig-zag encoded variable-length integer.
+     *
+     * @param source the buffer to read from
+     * @return the value
+     * @throws IllegalArgumentException if the encoding is longer than ten bytes or truncated
+     */
+    public static long getVarLong(ByteBuffer source) {
+        long bits = 0;
+        try {
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = source.get();
+                bits |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return (bits >>> 1) ^ -(bits & 1);
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated integer");
+        }
+        throw new IllegalArgumentException("Integer longer than ten bytes");
+    }
+}
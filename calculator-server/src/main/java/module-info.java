@@ -0,0 +1,16 @@
+/**
+ * Module definition for the Java Calculator server.
+ * 
+ * This module serves calculator sessions over HTTP using the JDK's built-in
+ * HTTP server. Each client session owns its own model from the
+ * {@code com.calculator} module.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+module com.calculator.server {
+    requires com.calculator;
+    requires jdk.httpserver;
+    
+    exports com.calculator.server;
+}
@@ -0,0 +1,160 @@
+package com.calculator.server;
+
+import com.calculator.CalculatorKey;
+import com.calculator.CalculatorModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BinaryProtocolServer class and the load generator.
+ * Tests the protocol over a real connection, including pipelined requests.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Binary Protocol Server Tests")
+class BinaryProtocolServerTest {
+
+    private CalculatorServer server;
+    private SocketChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        server = new CalculatorServer(loopback, loopback, 100, Duration.ofMinutes(1));
+        server.start();
+        channel = SocketChannel.open(server.getBinaryAddress());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        channel.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Pipelined requests should be answered in order with the serial results")
+    void testPipelinedRequests() throws IOException {
+        long session = open();
+        CalculatorKey[] keys = CalculatorKey.values();
+        Random random = new Random(7);
+        int requests = 2_000;
+        CalculatorModel serial = new CalculatorModel();
+        String[] expected = new String[requests];
+
+        // Send everything before reading any response
+        ByteBuffer out = ByteBuffer.allocate(requests * 16);
+        for (int i = 0; i < requests; i++) {
+            int count = random.nextInt(4);
+            out.putShort((short) (1 + Long.BYTES + count)).put(WireProtocol.PRESS).putLong(session);
+            for (int k = 0; k < count; k++) {
+                CalculatorKey key = keys[random.nextInt(keys.length)];
+                out.put((byte) key.ordinal());
+                key.applyTo(serial);
+            }
+            expected[i] = serial.hasError() ? "!" + serial.getCurrentDisplay() : serial.getCurrentValue().toString();
+        }
+        write(out);
+
+        for (int i = 0; i < requests; i++) {
+            ByteBuffer response = read();
+            byte status = response.get();
+            String actual = status == WireProtocol.CALCULATOR_ERROR
+                    ? "!" + StandardCharsets.UTF_8.decode(response)
+                    : WireProtocol.getDecimal(response).toString();
+            assertEquals(expected[i], actual, "Response " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Errors, unknown sessions and malformed requests should get their status")
+    void testStatuses() throws IOException {
+        long session = open();
+        ByteBuffer result = press(session, CalculatorKey.DIGIT_5, CalculatorKey.DIVIDE,
+                CalculatorKey.DIGIT_0, CalculatorKey.EQUALS);
+        assertEquals(WireProtocol.CALCULATOR_ERROR, result.get());
+        assertEquals("Error: Division by zero", StandardCharsets.UTF_8.decode(result).toString());
+
+        // An invalid key rejects the whole request
+        write(frame(WireProtocol.PRESS, session, (byte) 1, (byte) 99));
+        assertEquals(WireProtocol.BAD_REQUEST, read().get());
+        ByteBuffer unchanged = press(session);
+        assertEquals(WireProtocol.CALCULATOR_ERROR, unchanged.get());
+
+        write(frame((byte) 42, session));
+        assertEquals(WireProtocol.BAD_REQUEST, read().get());
+        write(ByteBuffer.allocate(2).putShort((short) 0));
+        assertEquals(WireProtocol.BAD_REQUEST, read().get());
+
+        write(frame(WireProtocol.CLOSE, session));
+        assertEquals(WireProtocol.OK, read().get());
+        write(frame(WireProtocol.CLOSE, session));
+        assertEquals(WireProtocol.NO_SESSION, read().get());
+        assertEquals(WireProtocol.NO_SESSION, press(session, CalculatorKey.DIGIT_1).get());
+    }
+
+    @Test
+    @DisplayName("Load generator should complete and report latency percentiles")
+    void testLoadGenerator() throws Exception {
+        String summary = new LoadGenerator(server.getBinaryAddress(), 16, 200, TimeUnit.MILLISECONDS).run(2);
+        assertTrue(summary.contains("req/s"), summary);
+        assertTrue(summary.contains("p99.9="), summary);
+    }
+
+    private long open() throws IOException {
+        write(ByteBuffer.allocate(3).putShort((short) 1).put(WireProtocol.OPEN));
+        ByteBuffer response = read();
+        assertEquals(WireProtocol.OK, response.get());
+        return response.getLong();
+    }
+
+    private ByteBuffer press(long session, CalculatorKey... keys) throws IOException {
+        byte[] bytes = new byte[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bytes[i] = (byte) keys[i].ordinal();
+        }
+        write(frame(WireProtocol.PRESS, session, bytes));
+        return read();
+    }
+
+    private static ByteBuffer frame(byte opcode, long session, byte... keys) {
+        return ByteBuffer.allocate(WireProtocol.LENGTH_BYTES + 1 + Long.BYTES + keys.length)
+                .putShort((short) (1 + Long.BYTES + keys.length)).put(opcode).putLong(session).put(keys);
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private ByteBuffer read() throws IOException {
+        ByteBuffer length = readFully(ByteBuffer.allocate(WireProtocol.LENGTH_BYTES));
+        return readFully(ByteBuffer.allocate(length.getShort() & 0xFFFF));
+    }
+
+    private ByteBuffer readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,105 @@
+package com.calculator.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CalculatorServer class.
+ * Tests the session resources over a real HTTP connection.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Calculator Server Tests")
+class CalculatorServerTest {
+
+    private CalculatorServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new CalculatorServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                100, Duration.ofMinutes(1));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("A session should keep its state across requests")
+    void testSessionLifecycle() throws IOException {
+        Response created = request("POST", "/sessions", null);
+        assertEquals(201, created.status);
+        String session = "/sessions/" + created.body.trim();
+
+        assertEquals("15\t15 +\n", request("POST", session, "15 +").body);
+        assertEquals("80\t40 × 2 =\n", request("POST", session, "25 × 2 =").body);
+        assertEquals("80\t40 × 2 =\n", request("GET", session, null).body);
+
+        assertEquals(204, request("DELETE", session, null).status);
+        assertEquals(404, request("GET", session, null).status);
+    }
+
+    @Test
+    @DisplayName("Invalid requests should be rejected")
+    void testErrors() throws IOException {
+        String session = "/sessions/" + request("POST", "/sessions", null).body.trim();
+
+        Response unknownKey = request("POST", session, "1 + x");
+        assertEquals(400, unknownKey.status);
+        assertTrue(unknownKey.body.contains("Unknown key 'x'"));
+
+        assertEquals(404, request("GET", "/sessions/not-hex", null).status);
+        assertEquals(404, request("GET", "/sessions/0", null).status);
+        assertEquals(405, request("GET", "/sessions", null).status);
+        assertEquals(405, request("PUT", session, "1").status);
+        assertEquals(413, request("POST", session, "1".repeat(SessionHandler.MAX_SCRIPT_BYTES + 1)).status);
+    }
+
+    private Response request(String method, String path, String body) throws IOException {
+        InetSocketAddress address = server.getAddress();
+        URL url = new URL("http", address.getHostString(), address.getPort(), path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod(method);
+            if (body != null) {
+                connection.setDoOutput(true);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            String text = in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return new Response(status, text);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.calculator.server;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SessionStore class.
+ * Tests lookup, idle eviction, capacity limits and concurrent use.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Session Store Tests")
+class SessionStoreTest {
+
+    private static final long TIMEOUT = 1_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private SessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new SessionStore(4, 1_000, TIMEOUT, clock::get);
+    }
+
+    @Test
+    @DisplayName("Shard count should be rounded up to a power of two")
+    void testShardCount() {
+        assertEquals(4, store.shardCount());
+        assertEquals(8, new SessionStore(5, 10, TIMEOUT, clock::get).shardCount());
+        assertEquals(1, new SessionStore(1, 10, TIMEOUT, clock::get).shardCount());
+        assertThrows(IllegalArgumentException.class, () -> new SessionStore(0, 10, TIMEOUT, clock::get));
+    }
+
+    @Test
+    @DisplayName("Created sessions should be found until removed")
+    void testCreateGetRemove() {
+        Session session = store.create();
+        assertSame(session, store.get(session.getId()));
+        assertEquals(1, store.size());
+
+        assertTrue(store.remove(session.getId()));
+        assertFalse(store.remove(session.getId()));
+        assertNull(store.get(session.getId()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Sessions should keep their own calculator state")
+    void testSessionsAreIndependent() {
+        Session first = store.create();
+        Session second = store.create();
+        first.press("15 + 25 =");
+        second.press("7 ×");
+        assertEquals("40\t15 + 25 =\n", first.displayLine());
+        assertEquals("7\t7 ×\n", second.displayLine());
+    }
+
+    @Test
+    @DisplayName("Idle sessions should be evicted and used sessions kept")
+    void testIdleEviction() {
+        Session idle = store.create();
+        Session used = store.create();
+
+        clock.set(TIMEOUT / 2);
+        assertNotNull(store.get(used.getId()));
+
+        clock.set(TIMEOUT + 1);
+        assertEquals(1, store.evictIdle());
+        assertNull(store.get(idle.getId()));
+        assertSame(used, store.get(used.getId()));
+    }
+
+    @Test
+    @DisplayName("Expired sessions should not be returned before the sweep runs")
+    void testExpiredLookup() {
+        Session session = store.create();
+        clock.set(TIMEOUT + 1);
+        assertNull(store.get(session.getId()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("A full shard should drop its least recently used session")
+    void testCapacity() {
+        SessionStore single = new SessionStore(1, 2, TIMEOUT, clock::get);
+        Session first = single.create();
+        Session second = single.create();
+        single.get(first.getId());
+        single.create();
+
+        assertEquals(2, single.size());
+        assertNull(single.get(second.getId()));
+        assertSame(first, single.get(first.getId()));
+    }
+
+    @Test
+    @DisplayName("Concurrent clients should each see only their own session")
+    void testConcurrentSessions() throws Exception {
+        store = new SessionStore(16, 100_000, Long.MAX_VALUE, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        long id = store.create().getId();
+                        store.get(id).press(i % 10 + " + 1 =");
+                        assertEquals((i % 10 + 1) + "\t" + i % 10 + " + 1 =\n", store.get(id).displayLine());
+                        if (i % 2 == 0) {
+                            assertTrue(store.remove(id));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(8 * 1_000, store.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.calculator.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the WireProtocol codecs.
+ * Tests round trips of variable-length integers and packed decimals.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Wire Protocol Tests")
+class WireProtocolTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, -1, 63, -64, 64, 127, 128, 300, -300, Long.MAX_VALUE, Long.MIN_VALUE})
+    @DisplayName("Variable-length integers should round-trip")
+    void testVarLongRoundTrip(long value) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        WireProtocol.putVarLong(value, buffer);
+        assertTrue(buffer.position() <= 10);
+        buffer.flip();
+        assertEquals(value, WireProtocol.getVarLong(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Small values should take one byte")
+    void testSmallValuesAreCompact() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        WireProtocol.putVarLong(-64, buffer);
+        WireProtocol.putVarLong(63, buffer);
+        assertEquals(2, buffer.position());
+
+        buffer.clear();
+        WireProtocol.putDecimal(new BigDecimal("5.25"), buffer);
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Packed decimals should keep the unscaled value and scale")
+    void testDecimalRoundTrip() {
+        Random random = new Random(42);
+        ByteBuffer buffer = ByteBuffer.allocate(WireProtocol.MAX_DECIMAL_BYTES);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal value = BigDecimal.valueOf(random.nextLong(), random.nextInt(41) - 20);
+            buffer.clear();
+            WireProtocol.putDecimal(value, buffer);
+            buffer.flip();
+            assertEquals(value, WireProtocol.getDecimal(buffer));
+        }
+
+        buffer.clear();
+        WireProtocol.putDecimal(new BigDecimal("1E+300"), buffer);
+        buffer.flip();
+        assertEquals(new BigDecimal("1E+300"), WireProtocol.getDecimal(buffer));
+    }
+
+    @Test
+    @DisplayName("Decimals too wide for a long should be rounded to 18 digits")
+    void testWideDecimal() {
+        ByteBuffer buffer = ByteBuffer.allocate(WireProtocol.MAX_DECIMAL_BYTES);
+        WireProtocol.putDecimal(new BigDecimal("12345678901234567890.5"), buffer);
+        buffer.flip();
+        assertEquals(new BigDecimal("1.23456789012345679E+19"), WireProtocol.getDecimal(buffer));
+    }
+
+    @Test
+    @DisplayName("Malformed integers should be rejected")
+    void testMalformedVarLong() {
+        assertThrows(IllegalArgumentException.class,
+                () -> WireProtocol.getVarLong(ByteBuffer.wrap(new byte[] {(byte) 0x80})));
+        byte[] tooLong = new byte[11];
+        Arrays.fill(tooLong, (byte) 0x80);
+        assertThrows(IllegalArgumentException.class, () -> WireProtocol.getVarLong(ByteBuffer.wrap(tooLong)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.calculator.ui;
+
+import com.calculator.CalculationHistory;
+import com.calculator.CalculatorMetrics;
+import com.calculator.CalculatorModel;
+import com.calculator.CalculatorWarmup;
+import com.calculator.Precision;
+import com.calculator.SessionJournal;
+import com.calculator.SnapshotFile;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.io.IOException;
+
+/**
+ * Main application class for the Java Calculator.
+ * This class serves as the entry point for the JavaFX application.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public class CalculatorApp extends Application {
+
+    /** Interval between periodic snapshots; only changed states are written. */
+    static final Duration SNAPSHOT_INTERVAL = Duration.seconds(5);
+
+    private CalculatorController controller;
+    private SessionJournal journal;
+    private SnapshotFile snapshot;
+    private Timeline snapshotTimer;
+
+    @Override
+    public void start(Stage primaryStage) {
+        try {
+            StartupReport startup = StartupReport.begin();
+            
+            // Publish the metrics MBean; recording stays off unless requested
+            CalculatorMetrics.install();
+            
+            // Compile the engine in the background while the first frame is shown
+            CalculatorWarmup.startIfEnabled();
+            
+            // Create the calculator model, resumed from the last snapshot, and controller
+            CalculatorModel model = new CalculatorModel(Precision.fromSystemProperty());
+            model.setUndoLimit(Long.getLong(CalculatorModel.UNDO_LIMIT_PROPERTY,
+                    CalculatorModel.DEFAULT_UNDO_LIMIT));
+            model.setHistory(CalculationHistory.fromSystemProperty());
+            restoreSnapshot(model);
+            controller = new CalculatorController(model);
+            openJournal(controller);
+            startup.mark();
+            
+            // Create and configure the main scene, styled before it is first shown; the
+            // history panel adds to the height
+            int height = model.getHistory() == null ? 400 : 520;
+            Scene scene = new Scene(controller.getView(), 300, height);
+            scene.getStylesheets().add(getClass().getResource("/calculator.css").toExternalForm());
+            scene.getRoot().applyCss();
+            startup.mark();
+            
+            // Configure the primary stage
+            primaryStage.setTitle("Java Calculator v1.0.0");
+            primaryStage.setScene(scene);
+            primaryStage.setMinWidth(300);
+            primaryStage.setMinHeight(height);
+            primaryStage.setResizable(true);
+            
+            // Show the application
+            startup.markFirstPaint(scene, getParameters().getRaw());
+            primaryStage.show();
+            startSnapshots(model);
+            
+            // Request focus on the view for keyboard input
+            controller.getView().requestFocus();
+            
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("Failed to start calculator application: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (controller == null) {
+            return;
+        }
+        controller.flushDisplay();
+        if (snapshot != null) {
+            if (snapshotTimer != null) {
+                snapshotTimer.stop();
+            }
+            try {
+                snapshot.save(controller.getModel());
+            } catch (IOException e) {
+                System.err.println("Cannot save snapshot: " + e.getMessage());
+            }
+            snapshot.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Restores the state saved in the snapshot named by {@code -Dcalculator.snapshot},
+     * if any, before the model is first shown. A missing or damaged snapshot, or one
+     * taken in another precision tier, starts a cleared calculator.
+     */
+    private void restoreSnapshot(CalculatorModel model) {
+        snapshot = SnapshotFile.fromSystemProperty();
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            snapshot.restore(model);
+        } catch (IOException e) {
+            System.err.println("Snapshot not restored: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the model state every {@link #SNAPSHOT_INTERVAL}, in the background.
+     */
+    private void startSnapshots(CalculatorModel model) {
+        if (snapshot == null) {
+            return;
+        }
+        snapshotTimer = new Timeline(new KeyFrame(SNAPSHOT_INTERVAL, e -> snapshot.saveLater(model)));
+        snapshotTimer.setCycleCount(Animation.INDEFINITE);
+        snapshotTimer.play();
+    }
+
+    /**
+     * Records the session in the journal named by {@code -Dcalculator.journal}, if
+     * any, starting from the state restored from the snapshot. The calculator still
+     * starts if the journal cannot be opened.
+     */
+    private void openJournal(CalculatorController controller) {
+        try {
+            journal = SessionJournal.openIfEnabled();
+            if (journal != null) {
+                journal.beginSession(controller.getModel());
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Session journal disabled: " + e.getMessage());
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            return;
+        }
+        if (journal != null) {
+            controller.setJournal(journal);
+        }
+    }
+
+    /**
+     * Main method to launch the JavaFX application.
+     * 
+     * {@code --startup-report} prints how long each phase of the launch took, and
+     * {@code --exit-after-startup} exits once the window is first painted.
+     * 
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        StartupReport.markMain();
+        launch(args);
+    }
+}
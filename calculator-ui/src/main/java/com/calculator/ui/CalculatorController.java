@@ -0,0 +1,293 @@
+package com.calculator.ui;
+
+import com.calculator.AsyncEvaluator;
+import com.calculator.CalculationHistory;
+import com.calculator.CalculatorKey;
+import com.calculator.CalculatorMetrics;
+import com.calculator.CalculatorModel;
+import com.calculator.SessionJournal;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.scene.control.Button;
+import javafx.util.Duration;
+
+/**
+ * Controller class for the calculator that handles user interactions and updates the model and view.
+ * This class implements the MVC pattern by coordinating between the model and view.
+ * 
+ * Calculations run on a background thread, so the JavaFX application thread never
+ * waits for one; a calculation still running after {@link #BUSY_DELAY} is shown as
+ * busy until its result arrives or the user cancels it with AC.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+public class CalculatorController {
+    
+    /** Time a calculation may take before the busy indicator is shown. */
+    static final Duration BUSY_DELAY = Duration.millis(150);
+    
+    private CalculatorModel model;
+    private CalculatorView view;
+    private final AsyncEvaluator evaluator;
+    private final InputQueue inputQueue;
+    private final DisplayUpdater displayUpdater;
+    private final PauseTransition busyDelay = new PauseTransition(BUSY_DELAY);
+    private long evaluationStart;
+    
+    /**
+     * Constructor initializes the controller with the given model.
+     * Creates the view and sets up event handlers.
+     * 
+     * @param model the calculator model
+     */
+    public CalculatorController(CalculatorModel model) {
+        this.model = model;
+        this.view = new CalculatorView();
+        this.evaluator = new AsyncEvaluator(model, Platform::runLater);
+        this.inputQueue = new InputQueue(model, evaluator,
+                this::handleEvaluationStarted, this::handleEvaluationEnded);
+        CalculationHistory history = model.getHistory();
+        if (history != null) {
+            this.displayUpdater = new DisplayUpdater(model, view, inputQueue,
+                    new HistoryTape(history, model, view.getHistoryList()));
+        } else {
+            view.getHistoryList().setVisible(false);
+            view.getHistoryList().setManaged(false);
+            this.displayUpdater = new DisplayUpdater(model, view, inputQueue, null);
+        }
+        busyDelay.setOnFinished(e -> view.setBusy(true));
+        setupEventHandlers();
+    }
+    
+    /**
+     * Records every key applied from now on in a session journal.
+     * 
+     * @param journal the journal, with a session started, or null to stop recording
+     */
+    public void setJournal(SessionJournal journal) {
+        inputQueue.setJournal(journal);
+    }
+    
+    /**
+     * Sets up event handlers for all buttons in the view.
+     */
+    private void setupEventHandlers() {
+        setupNumberButtonHandlers();
+        setupOperationButtonHandlers();
+        setupFunctionButtonHandlers();
+        view.setOnCalculatorKey(this::handleKey);
+        view.setOnPaste(this::handlePaste);
+    }
+    
+    /**
+     * Sets up event handlers for number buttons (0-9).
+     */
+    private void setupNumberButtonHandlers() {
+        Button[][] numberButtons = view.getNumberButtons();
+        
+        for (int row = 0; row < numberButtons.length; row++) {
+            for (int col = 0; col < numberButtons[row].length; col++) {
+                Button button = numberButtons[row][col];
+                if (button != null) {
+                    button.setOnAction(this::handleNumberInput);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Sets up event handlers for operation buttons (+, -, ×, ÷).
+     */
+    private void setupOperationButtonHandlers() {
+        Button[] operationButtons = view.getOperationButtons();
+        
+        operationButtons[0].setOnAction(e -> handleOperation(CalculatorKey.DIVIDE));
+        operationButtons[1].setOnAction(e -> handleOperation(CalculatorKey.MULTIPLY));
+        operationButtons[2].setOnAction(e -> handleOperation(CalculatorKey.SUBTRACT));
+        operationButtons[3].setOnAction(e -> handleOperation(CalculatorKey.ADD));
+    }
+    
+    /**
+     * Sets up event handlers for function buttons (clear, equals, etc.).
+     */
+    private void setupFunctionButtonHandlers() {
+        view.getClearButton().setOnAction(this::handleClear);
+        view.getClearEntryButton().setOnAction(this::handleClearEntry);
+        view.getBackspaceButton().setOnAction(this::handleBackspace);
+        view.getDecimalButton().setOnAction(this::handleDecimal);
+        view.getSignButton().setOnAction(this::handleSign);
+        view.getEqualsButton().setOnAction(this::handleEquals);
+    }
+    
+    /**
+     * Handles a key typed on the keyboard, the same command its button performs.
+     * 
+     * @param key the calculator key
+     */
+    private void handleKey(CalculatorKey key) {
+        input(key);
+    }
+    
+    /**
+     * Handles text pasted from the clipboard. The keys of the text are queued behind
+     * any pending keys and applied from the next pulse on, in order: each pulse
+     * applies them up to the next equals or operation key, which is evaluated in the
+     * background, and the rest wait for its result. The display is updated once per
+     * pulse. Text that is not a number or chain is ignored, as is text that does not
+     * fit in the type-ahead buffer.
+     * 
+     * @param text the pasted text
+     */
+    void handlePaste(String text) {
+        long start = CalculatorMetrics.startTimer();
+        try {
+            inputQueue.acceptText(text);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        displayUpdater.requestUpdate(start, 0);
+    }
+    
+    /**
+     * Handles number button input.
+     * 
+     * @param event the action event from the button click
+     */
+    private void handleNumberInput(ActionEvent event) {
+        Button source = (Button) event.getSource();
+        input(CalculatorKey.digit((Integer) source.getUserData()));
+    }
+    
+    /**
+     * Handles operation button input.
+     * 
+     * @param operation the operation key
+     */
+    private void handleOperation(CalculatorKey operation) {
+        input(operation);
+    }
+    
+    /**
+     * Handles the clear (AC) button.
+     * 
+     * @param event the action event
+     */
+    private void handleClear(ActionEvent event) {
+        input(CalculatorKey.CLEAR);
+    }
+    
+    /**
+     * Handles the clear entry (CE) button.
+     * 
+     * @param event the action event
+     */
+    private void handleClearEntry(ActionEvent event) {
+        input(CalculatorKey.CLEAR_ENTRY);
+    }
+    
+    /**
+     * Handles the backspace button.
+     * 
+     * @param event the action event
+     */
+    private void handleBackspace(ActionEvent event) {
+        input(CalculatorKey.BACKSPACE);
+    }
+    
+    /**
+     * Handles the decimal point button.
+     * 
+     * @param event the action event
+     */
+    private void handleDecimal(ActionEvent event) {
+        input(CalculatorKey.DECIMAL);
+    }
+    
+    /**
+     * Handles the sign toggle (±) button.
+     * 
+     * @param event the action event
+     */
+    private void handleSign(ActionEvent event) {
+        input(CalculatorKey.SIGN);
+    }
+    
+    /**
+     * Handles the equals button.
+     * 
+     * @param event the action event
+     */
+    private void handleEquals(ActionEvent event) {
+        input(CalculatorKey.EQUALS);
+    }
+    
+    /**
+     * Passes a key to the input queue, which applies it, evaluates it in the
+     * background or queues it, and schedules a display update for the next pulse.
+     * 
+     * @param key the calculator key
+     */
+    private void input(CalculatorKey key) {
+        long start = CalculatorMetrics.startTimer();
+        InputEvent input = new InputEvent();
+        input.begin();
+        
+        inputQueue.accept(key);
+        if (inputQueue.isBusy()) {
+            evaluationStart = start;
+        }
+        
+        displayUpdater.requestUpdate(start);
+        input.end();
+        if (input.shouldCommit()) {
+            input.key = key.getLabel();
+            input.inputLength = model.getCurrentDisplay().length();
+            input.commit();
+        }
+    }
+    
+    /**
+     * Starts the delay after which a pending evaluation is shown as busy.
+     */
+    private void handleEvaluationStarted() {
+        busyDelay.playFromStart();
+    }
+    
+    /**
+     * Hides the busy indicator and shows the result of an evaluation, or the state
+     * before it if it was cancelled.
+     */
+    private void handleEvaluationEnded() {
+        busyDelay.stop();
+        view.setBusy(false);
+        displayUpdater.requestUpdate(evaluationStart, 0);
+    }
+    
+    /**
+     * Applies queued keys, waits for pending calculations and applies the display
+     * update immediately instead of on the next pulse.
+     */
+    void flushDisplay() {
+        displayUpdater.flush();
+    }
+    
+    /**
+     * Gets the view for use by the main application.
+     * 
+     * @return the calculator view
+     */
+    public CalculatorView getView() {
+        return view;
+    }
+    
+    /**
+     * Gets the model for testing purposes.
+     * 
+     * @return the calculator model
+     */
+    public CalculatorModel getModel() {
+        return model;
+    }
+}
@@ -1,9 +1,20 @@
-package com.calculator;
+package com.calculator.ui;
 
+import com.calculator.CalculatorKey;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
@@ -18,8 +29,25 @@ import javafx.scene.layout.VBox;
  */
 public class CalculatorView extends VBox {
     
+    /** Pseudo-class the stylesheet uses for a pressed button. */
+    private static final PseudoClass PRESSED = PseudoClass.getPseudoClass("pressed");
+    private static final PseudoClass BUSY = PseudoClass.getPseudoClass("busy");
+    private static final double HISTORY_ROW_HEIGHT = 22;
+    private static final KeyCombination PASTE =
+        new KeyCodeCombination(KeyCode.V, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination PASTE_INSERT =
+        new KeyCodeCombination(KeyCode.INSERT, KeyCombination.SHIFT_DOWN);
+    private static final KeyCombination UNDO =
+        new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO =
+        new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO_SHIFT =
+        new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+    
     private Label primaryDisplay;
     private Label secondaryDisplay;
+    private ProgressIndicator busyIndicator;
+    private ListView<Long> historyList;
     private GridPane buttonGrid;
     
     // Button references for styling and event handling
@@ -32,6 +60,11 @@ public class CalculatorView extends VBox {
     private Button decimalButton;
     private Button signButton;
     
+    private final Map<CalculatorKey, Button> keyButtons = new EnumMap<>(CalculatorKey.class);
+    private final Map<KeyCode, Button> pressedButtons = new EnumMap<>(KeyCode.class);
+    private Consumer<CalculatorKey> keyHandler;
+    private Consumer<String> pasteHandler;
+    
     /**
      * Constructor creates and initializes the calculator view.
      */
@@ -49,6 +82,10 @@ public class CalculatorView extends VBox {
         // Create display labels
         primaryDisplay = new Label("0");
         secondaryDisplay = new Label("");
+        busyIndicator = new ProgressIndicator();
+        
+        // History panel, filled by the controller
+        historyList = new ListView<>();
         
         // Create button grid
         buttonGrid = new GridPane();
@@ -87,6 +124,22 @@ public class CalculatorView extends VBox {
         decimalButton = new Button(".");
         signButton = new Button("±");
         equalsButton = new Button("=");
+        
+        // Button of every calculator key, for keyboard input
+        for (int i = 0; i <= 9; i++) {
+            keyButtons.put(CalculatorKey.digit(i), i == 0 ? numberButtons[3][1]
+                    : numberButtons[2 - (i - 1) / 3][(i - 1) % 3]);
+        }
+        keyButtons.put(CalculatorKey.DIVIDE, operationButtons[0]);
+        keyButtons.put(CalculatorKey.MULTIPLY, operationButtons[1]);
+        keyButtons.put(CalculatorKey.SUBTRACT, operationButtons[2]);
+        keyButtons.put(CalculatorKey.ADD, operationButtons[3]);
+        keyButtons.put(CalculatorKey.CLEAR, clearButton);
+        keyButtons.put(CalculatorKey.CLEAR_ENTRY, clearEntryButton);
+        keyButtons.put(CalculatorKey.BACKSPACE, backspaceButton);
+        keyButtons.put(CalculatorKey.DECIMAL, decimalButton);
+        keyButtons.put(CalculatorKey.SIGN, signButton);
+        keyButtons.put(CalculatorKey.EQUALS, equalsButton);
     }
     
     /**
@@ -102,7 +155,7 @@ public class CalculatorView extends VBox {
         setupButtonGrid();
         
         // Main layout
-        this.getChildren().addAll(displayArea, buttonGrid);
+        this.getChildren().addAll(historyList, displayArea, buttonGrid);
         this.setPadding(new Insets(10));
         this.setSpacing(10);
         
@@ -174,6 +227,16 @@ public class CalculatorView extends VBox {
         secondaryDisplay.setAlignment(Pos.CENTER_RIGHT);
         secondaryDisplay.setMaxWidth(Double.MAX_VALUE);
         
+        busyIndicator.getStyleClass().add("busy-indicator");
+        busyIndicator.setPrefSize(16, 16);
+        
+        // Rows of one height let the list lay out only the rows in sight; the list
+        // never takes the keyboard focus from the calculator
+        historyList.getStyleClass().add("history-list");
+        historyList.setFixedCellSize(HISTORY_ROW_HEIGHT);
+        historyList.setPrefHeight(HISTORY_ROW_HEIGHT * 5 + 2);
+        historyList.setFocusTraversable(false);
+        
         // Style buttons
         styleAllButtons();
         
@@ -227,101 +290,142 @@ public class CalculatorView extends VBox {
      */
     private void setupKeyboardHandling() {
         this.setOnKeyPressed(this::handleKeyPressed);
+        this.setOnKeyReleased(this::handleKeyReleased);
     }
     
     /**
      * Handles keyboard input events.
      * 
+     * The key is looked up in {@link KeyBindings} and passed straight to the key
+     * handler, without firing the button through the scene graph; the button only
+     * shows its pressed state until the key is released. Shortcut+V and Shift+Insert
+     * pass the clipboard text to the paste handler. Shortcut+Z is the undo key, and
+     * Shortcut+Y and Shortcut+Shift+Z the redo key, which have no buttons.
+     * 
      * @param event the key event
      */
     private void handleKeyPressed(KeyEvent event) {
-        String keyText = event.getText();
+        KeyPressEvent keyPress = new KeyPressEvent();
+        keyPress.begin();
         
-        switch (event.getCode()) {
-            case DIGIT0: case DIGIT1: case DIGIT2: case DIGIT3: case DIGIT4:
-            case DIGIT5: case DIGIT6: case DIGIT7: case DIGIT8: case DIGIT9:
-            case NUMPAD0: case NUMPAD1: case NUMPAD2: case NUMPAD3: case NUMPAD4:
-            case NUMPAD5: case NUMPAD6: case NUMPAD7: case NUMPAD8: case NUMPAD9:
-                // Handle number input
-                if (keyText.matches("[0-9]")) {
-                    Button numberButton = findNumberButton(keyText);
-                    if (numberButton != null) {
-                        numberButton.fire();
-                    }
-                }
-                break;
-                
-            case PLUS: case ADD:
-                operationButtons[3].fire(); // +
-                break;
-                
-            case MINUS: case SUBTRACT:
-                operationButtons[2].fire(); // -
-                break;
-                
-            case MULTIPLY:
-                operationButtons[1].fire(); // ×
-                break;
-                
-            case DIVIDE: case SLASH:
-                operationButtons[0].fire(); // ÷
-                break;
-                
-            case PERIOD: case DECIMAL:
-                decimalButton.fire();
-                break;
-                
-            case ENTER: case EQUALS:
-                equalsButton.fire();
-                break;
-                
-            case ESCAPE:
-                clearButton.fire(); // AC
-                break;
-                
-            case DELETE:
-                clearEntryButton.fire(); // CE
-                break;
-                
-            case BACK_SPACE:
-                backspaceButton.fire();
-                break;
-                
-            default:
-                // Handle character-based input for operations
-                if (keyText.equals("=")) {
-                    equalsButton.fire();
-                } else if (keyText.equals(".")) {
-                    decimalButton.fire();
-                }
-                break;
+        CalculatorKey key = resolve(event);
+        if (pasteHandler != null && (PASTE.match(event) || PASTE_INSERT.match(event))) {
+            String text = Clipboard.getSystemClipboard().getString();
+            if (text != null) {
+                pasteHandler.accept(text);
+            }
+        } else if (key != null) {
+            Button button = keyButtons.get(key);
+            if (button != null) {
+                showPressed(event.getCode(), button);
+            }
+            if (keyHandler != null) {
+                keyHandler.accept(key);
+            } else if (button != null) {
+                button.fire();
+            }
         }
         
         event.consume();
+        
+        keyPress.end();
+        if (keyPress.shouldCommit()) {
+            keyPress.keyCode = event.getCode().getName();
+            keyPress.text = event.getText();
+            keyPress.commit();
+        }
     }
     
     /**
-     * Finds the number button corresponding to a digit string.
+     * Finds the calculator key for a key press, including the undo and redo
+     * shortcuts.
      * 
-     * @param digit the digit as a string
-     * @return the corresponding button, or null if not found
+     * @param event the key event
+     * @return the calculator key, or null if the key has no binding
      */
-    private Button findNumberButton(String digit) {
-        for (int row = 0; row < numberButtons.length; row++) {
-            for (int col = 0; col < numberButtons[row].length; col++) {
-                Button button = numberButtons[row][col];
-                if (button != null && button.getText().equals(digit)) {
-                    return button;
-                }
-            }
+    private static CalculatorKey resolve(KeyEvent event) {
+        if (UNDO.match(event)) {
+            return CalculatorKey.UNDO;
+        }
+        if (REDO.match(event) || REDO_SHIFT.match(event)) {
+            return CalculatorKey.REDO;
+        }
+        return KeyBindings.resolve(event.getCode(), event.getText());
+    }
+    
+    /**
+     * Releases the button shown as pressed by a key.
+     * 
+     * @param event the key event
+     */
+    private void handleKeyReleased(KeyEvent event) {
+        Button button = pressedButtons.remove(event.getCode());
+        if (button != null) {
+            button.pseudoClassStateChanged(PRESSED, false);
+        }
+        event.consume();
+    }
+    
+    /**
+     * Shows a button as pressed while its key is held down.
+     * 
+     * @param code the key holding the button down
+     * @param button the button to show as pressed
+     */
+    private void showPressed(KeyCode code, Button button) {
+        Button previous = pressedButtons.put(code, button);
+        if (previous != null && previous != button) {
+            previous.pseudoClassStateChanged(PRESSED, false);
         }
-        return null;
+        button.pseudoClassStateChanged(PRESSED, true);
+    }
+    
+    /**
+     * Sets the handler that receives the calculator keys typed on the keyboard.
+     * Without a handler, typed keys fire their buttons.
+     * 
+     * @param handler the key handler, or null to fire the buttons
+     */
+    public void setOnCalculatorKey(Consumer<CalculatorKey> handler) {
+        this.keyHandler = handler;
+    }
+    
+    /**
+     * Sets the handler that receives text pasted from the clipboard.
+     * Without a handler, paste shortcuts are ignored.
+     * 
+     * @param handler the paste handler, or null to ignore pastes
+     */
+    public void setOnPaste(Consumer<String> handler) {
+        this.pasteHandler = handler;
+    }
+    
+    /**
+     * Shows or hides that a calculation is running: a progress indicator next to the
+     * expression and the {@code :busy} pseudo-class on the primary display.
+     * 
+     * @param busy true while a calculation is running
+     */
+    public void setBusy(boolean busy) {
+        secondaryDisplay.setGraphic(busy ? busyIndicator : null);
+        primaryDisplay.pseudoClassStateChanged(BUSY, busy);
+    }
+    
+    /**
+     * Gets the button of a calculator key.
+     * 
+     * @param key the calculator key
+     * @return the button
+     */
+    public Button getButton(CalculatorKey key) {
+        return keyButtons.get(key);
     }
     
     // Getter methods for controller access
     
     public Label getPrimaryDisplay() { return primaryDisplay; }
     public Label getSecondaryDisplay() { return secondaryDisplay; }
+    public ListView<Long> getHistoryList() { return historyList; }
     
     public Button[][] getNumberButtons() { return numberButtons; }
     public Button[] getOperationButtons() { return operationButtons; }
@@ -0,0 +1,36 @@
+package com.calculator.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one update of the display labels by
+ * {@link DisplayUpdater}, which applies the inputs of one pulse at once.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@Name("com.calculator.ui.DisplayUpdate")
+@Label("Display Update")
+@Category({"Calculator", "User Interface"})
+@Description("Copying the model state into the display labels")
+final class DisplayUpdateEvent extends Event {
+
+    @Label("Display Length")
+    @Description("Characters on the primary display")
+    int displayLength;
+
+    @Label("Expression Length")
+    @Description("Characters on the expression display")
+    int expressionLength;
+
+    @Label("Error")
+    boolean error;
+
+    @Label("Coalesced Inputs")
+    @Description("Inputs since the previous update that this update applies")
+    int coalescedInputs;
+}
@@ -0,0 +1,187 @@
+package com.calculator.ui;
+
+import com.calculator.CalculatorMetrics;
+import com.calculator.CalculatorModel;
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Label;
+
+/**
+ * Applies the model state to the display labels at most once per JavaFX pulse.
+ *
+ * Input handlers only mark the display dirty. On the next pulse the updater compares
+ * the model state with what the labels show and touches only what changed: the text
+ * of each label, the style classes only when the error state flips, and the
+ * {@code :estimate} pseudo-class only when an estimate appears or is replaced by the
+ * exact result. A burst of keys arriving within one frame - fast typing, paste or
+ * replay - therefore costs one CSS and layout pass instead of one per key.
+ *
+ * Keys waiting in the {@link InputQueue} are applied to the model at the start of
+ * each pulse, at most {@link #KEYS_PER_PULSE} of them, so a pasted chain costs one
+ * display update and even a very long paste never holds up a frame for long.
+ *
+ * The history panel, if there is one, is brought up to date with the tape in the
+ * same pass, so a calculation and its row appear in the same frame.
+ *
+ * The timer runs only while an update, or queued keys that can be applied, are
+ * pending. All methods must be called on the JavaFX application thread.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class DisplayUpdater extends AnimationTimer {
+
+    /** Largest number of buffered keys applied in one pulse. */
+    static final int KEYS_PER_PULSE = 4096;
+
+    private static final PseudoClass ESTIMATE = PseudoClass.getPseudoClass("estimate");
+
+    private final CalculatorModel model;
+    private final InputQueue input;
+    private final HistoryTape historyTape;
+    private final Label primaryDisplay;
+    private final Label secondaryDisplay;
+
+    private boolean dirty;
+    private boolean running;
+    private int pendingInputs;
+    private long firstInputStart;
+
+    private String shownPrimary;
+    private String shownSecondary;
+    private boolean shownError;
+    private boolean shownEstimate;
+
+    /**
+     * Creates an updater and shows the current model state immediately.
+     *
+     * @param model the model to display
+     * @param view the view holding the display labels
+     * @param input the queue of keys waiting to be applied to the model
+     * @param historyTape the items of the history panel, or null if there is none
+     */
+    DisplayUpdater(CalculatorModel model, CalculatorView view, InputQueue input,
+                   HistoryTape historyTape) {
+        this.model = model;
+        this.input = input;
+        this.historyTape = historyTape;
+        this.primaryDisplay = view.getPrimaryDisplay();
+        this.secondaryDisplay = view.getSecondaryDisplay();
+        this.shownError = primaryDisplay.getStyleClass().contains("error-display");
+        apply();
+    }
+
+    /**
+     * Marks the display dirty so it is updated on the next pulse.
+     *
+     * @param inputStart the value of {@link CalculatorMetrics#startTimer()} when the
+     *                   input arrived; the display update latency is recorded from
+     *                   the first input of each pulse
+     */
+    void requestUpdate(long inputStart) {
+        requestUpdate(inputStart, 1);
+    }
+
+    /**
+     * Marks the display dirty for inputs that are applied or buffered.
+     *
+     * @param inputStart the value of {@link CalculatorMetrics#startTimer()} when the
+     *                   inputs arrived
+     * @param inputs the number of inputs already applied to the model; queued keys
+     *               are counted when they are applied
+     */
+    void requestUpdate(long inputStart, int inputs) {
+        if (!dirty) {
+            dirty = true;
+            firstInputStart = inputStart;
+        }
+        pendingInputs += inputs;
+        if (!running) {
+            running = true;
+            start();
+        }
+    }
+
+    /**
+     * Applies the queued keys, waiting for their evaluations, and a pending update now
+     * instead of on the next pulse.
+     */
+    void flush() {
+        pendingInputs += input.complete();
+        update();
+    }
+
+    @Override
+    public void handle(long now) {
+        pendingInputs += input.applyQueued(KEYS_PER_PULSE);
+        update();
+        if (!input.isReady()) {
+            running = false;
+            stop();
+        } else {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Applies a pending update and records its latency.
+     */
+    private void update() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        apply();
+        CalculatorMetrics.recordDisplayUpdate(firstInputStart);
+    }
+
+    /**
+     * Copies the model state to the labels, touching only what changed.
+     */
+    private void apply() {
+        DisplayUpdateEvent event = new DisplayUpdateEvent();
+        event.begin();
+
+        String primary = model.getCurrentDisplay();
+        if (!primary.equals(shownPrimary)) {
+            primaryDisplay.setText(primary);
+            shownPrimary = primary;
+        }
+        String secondary = model.getExpressionDisplay();
+        if (!secondary.equals(shownSecondary)) {
+            secondaryDisplay.setText(secondary);
+            shownSecondary = secondary;
+        }
+        boolean error = model.hasError();
+        if (error != shownError) {
+            ObservableList<String> styles = primaryDisplay.getStyleClass();
+            if (error) {
+                styles.remove("primary-display");
+                styles.add("error-display");
+            } else {
+                styles.remove("error-display");
+                styles.add("primary-display");
+            }
+            shownError = error;
+        }
+        boolean estimate = model.isEstimate();
+        if (estimate != shownEstimate) {
+            primaryDisplay.pseudoClassStateChanged(ESTIMATE, estimate);
+            shownEstimate = estimate;
+        }
+        if (historyTape != null) {
+            historyTape.refresh();
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.displayLength = primary.length();
+            event.expressionLength = secondary.length();
+            event.error = error;
+            event.coalescedInputs = pendingInputs;
+            event.commit();
+        }
+        pendingInputs = 0;
+    }
+}
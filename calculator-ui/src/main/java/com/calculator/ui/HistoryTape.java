@@ -0,0 +1,130 @@
+package com.calculator.ui;
+
+import com.calculator.CalculationHistory;
+import com.calculator.CalculatorModel;
+import java.util.AbstractList;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+/**
+ * Items of the history panel: the entry numbers of a {@link CalculationHistory}.
+ *
+ * The list holds no elements of its own. Its size and its items are computed from the
+ * first and next entry numbers of the tape, so it costs the same whether the tape holds
+ * ten entries or a hundred thousand. The list view creates cells only for the rows in
+ * sight, and a cell formats its entry as {@code left op right = result} only when it
+ * is given one to show, so scrolling formats a handful of rows per frame however long
+ * the tape is.
+ *
+ * The list follows the tape on {@link #refresh()}, which the {@link DisplayUpdater}
+ * calls once per display update, and scrolls to the newest entry when one was added.
+ * All methods must be called on the JavaFX application thread.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class HistoryTape extends ObservableListBase<Long> {
+
+    private final CalculationHistory history;
+    private final CalculatorModel model;
+    private final ListView<Long> list;
+
+    /** Entry numbers the list shows, from first inclusive to next exclusive. */
+    private long shownFirst;
+    private long shownNext;
+
+    /**
+     * Creates the items of a history panel and shows the entries already on the tape.
+     *
+     * @param history the tape
+     * @param model the model, whose precision tier sets the length of the numbers shown
+     * @param list the list view of the panel
+     */
+    HistoryTape(CalculationHistory history, CalculatorModel model, ListView<Long> list) {
+        this.history = history;
+        this.model = model;
+        this.list = list;
+        this.shownFirst = history.getFirst();
+        this.shownNext = history.getNext();
+        list.setCellFactory(view -> new EntryCell());
+        list.setItems(this);
+        list.scrollTo(size() - 1);
+    }
+
+    @Override
+    public Long get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size());
+        }
+        return shownFirst + index;
+    }
+
+    @Override
+    public int size() {
+        return (int) (shownNext - shownFirst);
+    }
+
+    /**
+     * Reports the entries dropped from and added to the tape since the last refresh.
+     */
+    void refresh() {
+        long first = history.getFirst();
+        long next = history.getNext();
+        if (first == shownFirst && next == shownNext) {
+            return;
+        }
+        long kept = Math.max(first, shownFirst);
+        int removed = (int) (Math.min(kept, shownNext) - shownFirst);
+        int remaining = (int) Math.max(0, shownNext - kept);
+        int added = (int) (next - Math.max(shownNext, first));
+
+        beginChange();
+        if (removed > 0) {
+            nextRemove(0, entries(shownFirst, removed));
+        }
+        if (added > 0) {
+            nextAdd(remaining, remaining + added);
+        }
+        shownFirst = first;
+        shownNext = next;
+        endChange();
+
+        if (added > 0) {
+            list.scrollTo(size() - 1);
+        }
+    }
+
+    /**
+     * Gets a run of entry numbers as a list, for the removal of entries.
+     */
+    private static AbstractList<Long> entries(long from, int count) {
+        return new AbstractList<Long>() {
+            @Override
+            public Long get(int index) {
+                return from + index;
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Row of the panel, formatting its entry when it is given one.
+     */
+    private final class EntryCell extends ListCell<Long> {
+
+        @Override
+        protected void updateItem(Long entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null || !history.contains(entry)) {
+                setText(null);
+            } else {
+                setText(history.format(entry, model.getPrecision().getDisplayLength()));
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.calculator.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one button action handled by {@link CalculatorController}:
+ * the model update and scheduling of the display update, which follows on the next
+ * pulse as a {@link DisplayUpdateEvent}.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@Name("com.calculator.ui.Input")
+@Label("Calculator Input")
+@Category({"Calculator", "User Interface"})
+@Description("A calculator button or key action, up to the scheduled display update")
+final class InputEvent extends Event {
+
+    @Label("Key")
+    @Description("The key as written in keystroke scripts, such as 7, ×, = or AC")
+    String key;
+
+    @Label("Input Length")
+    @Description("Characters on the primary display after the input")
+    int inputLength;
+}
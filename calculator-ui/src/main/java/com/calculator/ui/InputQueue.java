@@ -0,0 +1,152 @@
+package com.calculator.ui;
+
+import com.calculator.AsyncEvaluator;
+import com.calculator.CalculatorKey;
+import com.calculator.CalculatorModel;
+import com.calculator.KeyBuffer;
+import com.calculator.SessionJournal;
+
+/**
+ * Path of every calculator key from the controller to the model.
+ *
+ * Keys are applied to the model directly, except the equals and operation keys,
+ * which are evaluated in the background by an {@link AsyncEvaluator}. While an
+ * evaluation is pending, and while pasted keys are still waiting, new keys are
+ * queued in a type-ahead {@link KeyBuffer} and applied in order once the model is
+ * ready again, so no key is lost and none overtakes another. The exceptions are the
+ * keys that make the pending result irrelevant: all clear cancels the evaluation and
+ * discards the queue, and a digit or decimal point after equals cancels it and starts
+ * a new calculation.
+ *
+ * Every key is recorded in the session journal, if there is one, at the moment it is
+ * applied or submitted, so the journal holds the keys in the order the model saw them.
+ *
+ * All methods must be called on the JavaFX application thread.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class InputQueue {
+
+    private final CalculatorModel model;
+    private final AsyncEvaluator evaluator;
+    private final KeyBuffer typeAhead = new KeyBuffer();
+    private final Runnable onEvaluationStarted;
+    private final Runnable onEvaluationEnded;
+    private SessionJournal journal;
+
+    /**
+     * Creates a queue for a model.
+     *
+     * @param model the model
+     * @param evaluator the evaluator running the model's calculations
+     * @param onEvaluationStarted run when an evaluation is submitted
+     * @param onEvaluationEnded run when an evaluation has been applied or cancelled
+     */
+    InputQueue(CalculatorModel model, AsyncEvaluator evaluator,
+               Runnable onEvaluationStarted, Runnable onEvaluationEnded) {
+        this.model = model;
+        this.evaluator = evaluator;
+        this.onEvaluationStarted = onEvaluationStarted;
+        this.onEvaluationEnded = onEvaluationEnded;
+    }
+
+    /**
+     * Sets the journal recording the keys applied from now on.
+     *
+     * @param journal the journal, with a session started, or null for none
+     */
+    void setJournal(SessionJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Applies a key, or queues it behind the keys and evaluation still pending.
+     *
+     * @param key the key
+     */
+    void accept(CalculatorKey key) {
+        if (key == CalculatorKey.CLEAR) {
+            typeAhead.clear();
+        }
+        if (typeAhead.isEmpty() && evaluator.cancelFor(key)) {
+            onEvaluationEnded.run();
+        }
+        if (isBusy() || !typeAhead.isEmpty()) {
+            typeAhead.add(key);
+            return;
+        }
+        apply(key);
+    }
+
+    /**
+     * Queues the keys of pasted text. Either all keys are queued or none.
+     *
+     * @param text the pasted text
+     * @throws IllegalArgumentException if the text is not a number or chain, or
+     *                                  does not fit in the buffer
+     */
+    void acceptText(CharSequence text) {
+        typeAhead.addText(text);
+    }
+
+    /**
+     * Checks whether an evaluation is pending.
+     *
+     * @return true while the model waits for a result
+     */
+    boolean isBusy() {
+        return evaluator.isBusy();
+    }
+
+    /**
+     * Checks whether queued keys can be applied now.
+     *
+     * @return true if keys are waiting and no evaluation is pending
+     */
+    boolean isReady() {
+        return !typeAhead.isEmpty() && !evaluator.isBusy();
+    }
+
+    /**
+     * Applies queued keys until one of them starts an evaluation.
+     *
+     * @param maxKeys the largest number of keys to apply
+     * @return the number of keys applied or submitted
+     */
+    int applyQueued(int maxKeys) {
+        int applied = 0;
+        while (applied < maxKeys && isReady()) {
+            apply(typeAhead.poll());
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Applies all queued keys and waits for their evaluations, blocking the calling
+     * thread.
+     *
+     * @return the number of keys applied
+     */
+    int complete() {
+        int applied = 0;
+        do {
+            evaluator.complete();
+            applied += applyQueued(Integer.MAX_VALUE);
+        } while (evaluator.isBusy());
+        return applied;
+    }
+
+    private void apply(CalculatorKey key) {
+        if (journal != null) {
+            journal.append(key);
+        }
+        if (AsyncEvaluator.evaluates(key)) {
+            evaluator.submit(key, onEvaluationEnded);
+            onEvaluationStarted.run();
+        } else {
+            key.applyTo(model);
+        }
+    }
+}
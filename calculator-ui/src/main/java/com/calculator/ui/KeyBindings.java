@@ -0,0 +1,82 @@
+package com.calculator.ui;
+
+import com.calculator.CalculatorKey;
+import java.util.EnumMap;
+import java.util.Map;
+import javafx.scene.input.KeyCode;
+
+/**
+ * Precomputed table from keyboard keys to calculator keys.
+ *
+ * Most keys are found by their {@link KeyCode} in an {@link EnumMap}, which is an
+ * array lookup by ordinal. The digit row and the numeric keypad are resolved from the
+ * character the key produced, so a shifted digit row key that types a symbol is
+ * ignored, and {@code =} and {@code .} typed on keys without a binding of their own
+ * are recognized by their character. No lookup allocates or scans.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class KeyBindings {
+
+    private static final Map<KeyCode, CalculatorKey> KEY_CODES = new EnumMap<>(KeyCode.class);
+
+    /** Key codes whose calculator key is the digit they typed. */
+    private static final boolean[] DIGIT_CODES = new boolean[KeyCode.values().length];
+
+    static {
+        bind(CalculatorKey.ADD, KeyCode.PLUS, KeyCode.ADD);
+        bind(CalculatorKey.SUBTRACT, KeyCode.MINUS, KeyCode.SUBTRACT);
+        bind(CalculatorKey.MULTIPLY, KeyCode.MULTIPLY);
+        bind(CalculatorKey.DIVIDE, KeyCode.DIVIDE, KeyCode.SLASH);
+        bind(CalculatorKey.DECIMAL, KeyCode.PERIOD, KeyCode.DECIMAL);
+        bind(CalculatorKey.EQUALS, KeyCode.ENTER, KeyCode.EQUALS);
+        bind(CalculatorKey.CLEAR, KeyCode.ESCAPE);
+        bind(CalculatorKey.CLEAR_ENTRY, KeyCode.DELETE);
+        bind(CalculatorKey.BACKSPACE, KeyCode.BACK_SPACE);
+
+        KeyCode[] digits = {
+            KeyCode.DIGIT0, KeyCode.DIGIT1, KeyCode.DIGIT2, KeyCode.DIGIT3, KeyCode.DIGIT4,
+            KeyCode.DIGIT5, KeyCode.DIGIT6, KeyCode.DIGIT7, KeyCode.DIGIT8, KeyCode.DIGIT9,
+            KeyCode.NUMPAD0, KeyCode.NUMPAD1, KeyCode.NUMPAD2, KeyCode.NUMPAD3, KeyCode.NUMPAD4,
+            KeyCode.NUMPAD5, KeyCode.NUMPAD6, KeyCode.NUMPAD7, KeyCode.NUMPAD8, KeyCode.NUMPAD9
+        };
+        for (KeyCode code : digits) {
+            DIGIT_CODES[code.ordinal()] = true;
+        }
+    }
+
+    private KeyBindings() {
+    }
+
+    private static void bind(CalculatorKey key, KeyCode... codes) {
+        for (KeyCode code : codes) {
+            KEY_CODES.put(code, key);
+        }
+    }
+
+    /**
+     * Finds the calculator key for a key press.
+     *
+     * @param code the key code of the event
+     * @param text the text of the event
+     * @return the calculator key, or null if the key has no binding
+     */
+    static CalculatorKey resolve(KeyCode code, String text) {
+        CalculatorKey key = KEY_CODES.get(code);
+        if (key != null || text.length() != 1) {
+            return key;
+        }
+        char c = text.charAt(0);
+        if (DIGIT_CODES[code.ordinal()]) {
+            return c >= '0' && c <= '9' ? CalculatorKey.digit(c - '0') : null;
+        }
+        if (c == '=') {
+            return CalculatorKey.EQUALS;
+        }
+        if (c == '.') {
+            return CalculatorKey.DECIMAL;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.calculator.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one key press handled by {@link CalculatorView}.
+ *
+ * The duration covers the whole handler, including the button action it fires and
+ * the resulting model and display updates, so it nests the {@link InputEvent} and
+ * {@link DisplayUpdateEvent} of the same key.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@Name("com.calculator.ui.KeyPress")
+@Label("Key Press")
+@Category({"Calculator", "User Interface"})
+@Description("A keyboard key handled by the calculator view")
+final class KeyPressEvent extends Event {
+
+    @Label("Key Code")
+    String keyCode;
+
+    @Label("Text")
+    @Description("The character the key produced, if any")
+    String text;
+}
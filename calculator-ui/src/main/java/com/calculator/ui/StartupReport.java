@@ -0,0 +1,156 @@
+package com.calculator.ui;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+/**
+ * Per-phase timings of an application launch, from process start to first paint.
+ *
+ * {@link CalculatorApp} marks the end of each phase as it gets there. The report
+ * splits the launch into:
+ * <ul>
+ *   <li>JVM - process start to {@code main}, as far as the operating system reports
+ *       the start time (usually to the nearest 10 ms)</li>
+ *   <li>Toolkit - {@code main} to {@code Application.start}: JavaFX initialization</li>
+ *   <li>View - building the model, controller and {@link CalculatorView}</li>
+ *   <li>CSS - loading {@code calculator.css} and applying it to the scene graph</li>
+ *   <li>First paint - showing the stage until the end of its first pulse, which
+ *       lays out the scene and hands it to the renderer</li>
+ * </ul>
+ *
+ * Marks are cheap and always taken; the report is only printed when the application
+ * is started with {@code --startup-report}. With {@code --exit-after-startup} the
+ * application exits after the first paint, which is how the AppCDS training run of
+ * the {@code fast-startup} build profile launches it.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+final class StartupReport {
+
+    /** Command line flag printing the report after the first paint. */
+    static final String REPORT_FLAG = "--startup-report";
+
+    /** Command line flag exiting the application after the first paint. */
+    static final String EXIT_FLAG = "--exit-after-startup";
+
+    private static final String[] PHASES = {"JVM", "Toolkit", "View", "CSS", "First paint"};
+
+    /** Wall-clock and monotonic time of {@code main}, or null if it was not called. */
+    private static Instant mainInstant;
+    private static long mainNanos;
+
+    /** Duration of each phase in nanoseconds, or -1 if it is unknown. */
+    private final long[] marks = new long[PHASES.length];
+    private int phase;
+    private long start;
+
+    private StartupReport() {
+    }
+
+    /**
+     * Notes the time {@code main} was entered. Must be the first thing {@code main} does.
+     */
+    static void markMain() {
+        mainNanos = System.nanoTime();
+        mainInstant = Instant.now();
+    }
+
+    /**
+     * Starts a report at {@code Application.start}, ending the JVM and toolkit phases.
+     *
+     * @return the report
+     */
+    static StartupReport begin() {
+        StartupReport report = new StartupReport();
+        long now = System.nanoTime();
+        if (mainInstant != null) {
+            long jvm = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, mainInstant).toNanos())
+                .orElse(-1L);
+            report.marks[0] = jvm;
+            report.marks[1] = now - mainNanos;
+        } else {
+            report.marks[0] = -1;
+            report.marks[1] = -1;
+        }
+        report.phase = 2;
+        report.start = now;
+        return report;
+    }
+
+    /**
+     * Ends the current phase.
+     */
+    void mark() {
+        long now = System.nanoTime();
+        marks[phase++] = now - start;
+        start = now;
+    }
+
+    /**
+     * Ends the first paint phase after the first pulse of the scene, then prints the
+     * report and exits as the command line asks.
+     *
+     * @param scene the scene about to be shown
+     * @param args the raw command line arguments
+     */
+    void markFirstPaint(Scene scene, List<String> args) {
+        boolean print = args.contains(REPORT_FLAG);
+        boolean exit = args.contains(EXIT_FLAG);
+        start = System.nanoTime();
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            mark();
+            if (print) {
+                print(System.out);
+            }
+            if (exit) {
+                Platform.exit();
+            }
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    /**
+     * Gets the duration of a phase.
+     *
+     * @param index the phase, in report order
+     * @return the duration, or empty if it is unknown
+     */
+    Optional<Duration> phase(int index) {
+        return marks[index] < 0 || index >= phase
+            ? Optional.empty()
+            : Optional.of(Duration.ofNanos(marks[index]));
+    }
+
+    /**
+     * Prints the report.
+     *
+     * @param out the stream to print to
+     */
+    void print(PrintStream out) {
+        long total = 0;
+        out.println("Startup report");
+        for (int i = 0; i < PHASES.length; i++) {
+            Optional<Duration> duration = phase(i);
+            if (duration.isPresent()) {
+                total += duration.get().toNanos();
+            }
+            out.printf(Locale.ROOT, "  %-12s %s%n", PHASES[i],
+                duration.map(StartupReport::format).orElse("n/a"));
+        }
+        out.printf(Locale.ROOT, "  %-12s %s%n", "Total", format(Duration.ofNanos(total)));
+    }
+
+    private static String format(Duration duration) {
+        return String.format(Locale.ROOT, "%8.1f ms", duration.toNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * Module definition for the Java Calculator desktop application.
+ * 
+ * This module provides the JavaFX user interface on top of the calculator engine
+ * in the {@code com.calculator} module.
+ * It requires JavaFX controls and FXML modules for the user interface.
+ * 
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+module com.calculator.ui {
+    requires com.calculator;
+    requires javafx.controls;
+    requires javafx.fxml;
+    requires java.desktop;
+    requires jdk.jfr;
+    
+    exports com.calculator.ui;
+}
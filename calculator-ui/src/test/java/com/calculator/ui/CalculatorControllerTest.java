@@ -1,5 +1,6 @@
-package com.calculator;
+package com.calculator.ui;
 
+import com.calculator.CalculatorModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +15,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * Unit tests for the CalculatorController class.
  * Tests user interaction handling and model-view coordination.
  * 
- * Note: These tests require JavaFX to be initialized.
+ * Note: These tests require JavaFX to be initialized. The display is updated once
+ * per pulse, so the tests flush it before checking the labels.
  * 
  * @author Java Calculator Team
  * @version 1.0.0
@@ -69,9 +71,11 @@ class CalculatorControllerTest {
             
             if (button5 != null && button3 != null) {
                 button5.fire();
+                controller.flushDisplay();
                 assertEquals("5", view.getPrimaryDisplay().getText());
                 
                 button3.fire();
+                controller.flushDisplay();
                 assertEquals("53", view.getPrimaryDisplay().getText());
             }
         });
@@ -87,6 +91,7 @@ class CalculatorControllerTest {
             if (button5 != null && addButton != null) {
                 button5.fire();
                 addButton.fire();
+                controller.flushDisplay();
                 assertEquals("5 +", view.getSecondaryDisplay().getText());
             }
         });
@@ -101,9 +106,11 @@ class CalculatorControllerTest {
             
             if (button5 != null && clearButton != null) {
                 button5.fire();
+                controller.flushDisplay();
                 assertEquals("5", view.getPrimaryDisplay().getText());
                 
                 clearButton.fire();
+                controller.flushDisplay();
                 assertEquals("0", view.getPrimaryDisplay().getText());
                 assertEquals("", view.getSecondaryDisplay().getText());
             }
@@ -125,6 +132,7 @@ class CalculatorControllerTest {
                 button3.fire();
                 
                 clearEntryButton.fire();
+                controller.flushDisplay();
                 assertEquals("0", view.getPrimaryDisplay().getText());
                 assertEquals("5 +", view.getSecondaryDisplay().getText());
             }
@@ -146,6 +154,7 @@ class CalculatorControllerTest {
                 button3.fire();
                 equalsButton.fire();
                 
+                controller.flushDisplay();
                 assertEquals("8", view.getPrimaryDisplay().getText());
                 assertEquals("5 + 3 =", view.getSecondaryDisplay().getText());
             }
@@ -165,6 +174,7 @@ class CalculatorControllerTest {
                 decimalButton.fire();
                 button1.fire();
                 
+                controller.flushDisplay();
                 assertEquals("3.1", view.getPrimaryDisplay().getText());
             }
         });
@@ -181,9 +191,11 @@ class CalculatorControllerTest {
                 button5.fire();
                 signButton.fire();
                 
+                controller.flushDisplay();
                 assertEquals("-5", view.getPrimaryDisplay().getText());
                 
                 signButton.fire();
+                controller.flushDisplay();
                 assertEquals("5", view.getPrimaryDisplay().getText());
             }
         });
@@ -202,15 +214,19 @@ class CalculatorControllerTest {
                 button1.fire();
                 button2.fire();
                 button3.fire();
+                controller.flushDisplay();
                 assertEquals("123", view.getPrimaryDisplay().getText());
                 
                 backspaceButton.fire();
+                controller.flushDisplay();
                 assertEquals("12", view.getPrimaryDisplay().getText());
                 
                 backspaceButton.fire();
+                controller.flushDisplay();
                 assertEquals("1", view.getPrimaryDisplay().getText());
                 
                 backspaceButton.fire();
+                controller.flushDisplay();
                 assertEquals("0", view.getPrimaryDisplay().getText());
             }
         });
@@ -232,6 +248,7 @@ class CalculatorControllerTest {
                 button0.fire();
                 equalsButton.fire();
                 
+                controller.flushDisplay();
                 assertTrue(view.getPrimaryDisplay().getStyleClass().contains("error-display"));
                 assertEquals("Error: Division by zero", view.getPrimaryDisplay().getText());
             }
@@ -273,11 +290,24 @@ class CalculatorControllerTest {
                 // =
                 equalsButton.fire();
                 
+                controller.flushDisplay();
                 assertEquals("28", view.getPrimaryDisplay().getText());
             }
         });
     }
 
+    @Test
+    @DisplayName("Pasted chain should be applied before the next button")
+    void testPaste() {
+        Platform.runLater(() -> {
+            controller.handlePaste("12+34×5");
+            controller.handlePaste("not a number");
+            view.getEqualsButton().fire();
+            controller.flushDisplay();
+            assertEquals("230", view.getPrimaryDisplay().getText());
+        });
+    }
+
     /**
      * Helper method to find a number button by its text.
      */
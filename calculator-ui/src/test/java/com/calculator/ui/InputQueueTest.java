@@ -0,0 +1,190 @@
+package com.calculator.ui;
+
+import com.calculator.AsyncEvaluator;
+import com.calculator.CalculatorKey;
+import com.calculator.CalculatorModel;
+import com.calculator.JournalReader;
+import com.calculator.Precision;
+import com.calculator.SessionJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the InputQueue class.
+ * Tests key order around background evaluations; no JavaFX toolkit is needed.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Input Queue Tests")
+class InputQueueTest {
+
+    /** Callbacks for the model's thread; the test never runs them itself. */
+    private final Queue<Runnable> callbacks = new ArrayDeque<>();
+
+    private CalculatorModel model;
+    private AsyncEvaluator evaluator;
+    private InputQueue queue;
+    private int started;
+    private int ended;
+
+    @BeforeEach
+    void setUp() {
+        model = new CalculatorModel();
+        evaluator = new AsyncEvaluator(model, task -> {
+            synchronized (callbacks) {
+                callbacks.add(task);
+            }
+        });
+        queue = new InputQueue(model, evaluator, () -> started++, () -> ended++);
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluator.close();
+    }
+
+    @Test
+    @DisplayName("Keys typed during an evaluation should follow its result")
+    void testKeysQueuedBehindEvaluation() {
+        type("15÷3");
+        assertTrue(queue.isBusy());
+        type("+2×4=");
+        assertFalse(queue.isReady());
+
+        queue.complete();
+        assertEquals("28", model.getCurrentDisplay());
+        assertFalse(queue.isBusy());
+        assertEquals(started, ended);
+    }
+
+    @Test
+    @DisplayName("Undo typed during an evaluation should undo its result")
+    void testUndoQueuedBehindEvaluation() {
+        model.setUndoLimit(CalculatorModel.DEFAULT_UNDO_LIMIT);
+        type("6×7=");
+        queue.accept(CalculatorKey.UNDO);
+        assertTrue(queue.isBusy());
+
+        queue.complete();
+        assertEquals("7", model.getCurrentDisplay());
+        assertEquals("6 ×", model.getExpressionDisplay());
+        queue.accept(CalculatorKey.REDO);
+        assertEquals("42", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("All clear should cancel the evaluation and the queued keys")
+    void testClearCancels() {
+        type("6×7=");
+        type("+1");
+        queue.accept(CalculatorKey.CLEAR);
+
+        assertFalse(queue.isBusy());
+        assertEquals(0, queue.complete());
+        assertEquals("0", model.getCurrentDisplay());
+        assertEquals(started, ended);
+    }
+
+    @Test
+    @DisplayName("A digit after equals should start a new calculation at once")
+    void testDigitAfterEquals() {
+        type("6×7");
+        queue.complete();
+        type("=");
+        assertTrue(queue.isBusy());
+        type("9");
+
+        assertFalse(queue.isBusy());
+        assertEquals("9", model.getCurrentDisplay());
+        assertNull(model.getCurrentOperation());
+    }
+
+    @Test
+    @DisplayName("Pasted keys should be applied in slices, stopping at evaluations")
+    void testPastedText() {
+        queue.acceptText("12+34×5=");
+        assertTrue(queue.isReady());
+
+        assertEquals(3, queue.applyQueued(100));
+        assertTrue(queue.isBusy());
+        assertEquals(5, queue.complete());
+        assertEquals("230", model.getCurrentDisplay());
+    }
+
+    @Test
+    @DisplayName("A chain pasted during an evaluation should end in the typed state")
+    void testPastedChainAroundEvaluations() {
+        // × is being evaluated, so 3= waits too
+        type("2×3=");
+        assertTrue(queue.isBusy());
+        queue.acceptText("+4×5-6=");
+        type("÷2=");
+
+        // Each pulse applies keys up to the next evaluation, which the test then completes
+        List<Integer> slices = new ArrayList<>();
+        while (queue.isBusy() || queue.isReady()) {
+            evaluator.complete();
+            slices.add(queue.applyQueued(100));
+        }
+        assertEquals(List.of(2, 1, 2, 2, 2, 1, 2, 0), slices);
+
+        CalculatorModel typed = new CalculatorModel();
+        for (char c : "2×3=+4×5-6=÷2=".toCharArray()) {
+            key(c).applyTo(typed);
+        }
+        assertEquals("22", model.getCurrentDisplay());
+        assertEquals(typed.getCurrentDisplay(), model.getCurrentDisplay());
+        assertEquals(typed.getExpressionDisplay(), model.getExpressionDisplay());
+        assertEquals(started, ended);
+    }
+
+    @Test
+    @DisplayName("The journal should replay to the state the model reached")
+    void testJournal(@TempDir Path directory) throws IOException {
+        try (SessionJournal journal = SessionJournal.open(directory)) {
+            journal.beginSession(Precision.STANDARD);
+            queue.setJournal(journal);
+            type("6×7=");
+            type("+1");
+            queue.accept(CalculatorKey.CLEAR);
+            type("8÷5=");
+            queue.acceptText("×3=");
+            queue.complete();
+        }
+        assertEquals("4.8", model.getCurrentDisplay());
+
+        // Keys discarded by all clear were never applied, so they are not recorded
+        CalculatorModel replayed = new CalculatorModel();
+        assertEquals(10, JournalReader.open(directory).replay(1, replayed));
+        assertEquals(model.getCurrentDisplay(), replayed.getCurrentDisplay());
+        assertEquals(model.getExpressionDisplay(), replayed.getExpressionDisplay());
+    }
+
+    private void type(String keys) {
+        for (char c : keys.toCharArray()) {
+            queue.accept(key(c));
+        }
+    }
+
+    private static CalculatorKey key(char c) {
+        for (CalculatorKey key : CalculatorKey.values()) {
+            if (key.getLabel().equals(String.valueOf(c))) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("No key " + c);
+    }
+}
@@ -0,0 +1,53 @@
+package com.calculator.ui;
+
+import com.calculator.CalculatorKey;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the KeyBindings class.
+ * Tests key code and character lookups; no JavaFX toolkit is needed.
+ *
+ * @author Java Calculator Team
+ * @version 1.0.0
+ */
+@DisplayName("Key Bindings Tests")
+class KeyBindingsTest {
+
+    @Test
+    @DisplayName("Digit row and keypad keys should resolve to the digit typed")
+    void testDigits() {
+        assertEquals(CalculatorKey.DIGIT_7, KeyBindings.resolve(KeyCode.DIGIT7, "7"));
+        assertEquals(CalculatorKey.DIGIT_0, KeyBindings.resolve(KeyCode.NUMPAD0, "0"));
+        assertEquals(CalculatorKey.DIGIT_9, KeyBindings.resolve(KeyCode.NUMPAD9, "9"));
+        assertNull(KeyBindings.resolve(KeyCode.DIGIT8, "*"));
+        assertNull(KeyBindings.resolve(KeyCode.DIGIT1, ""));
+    }
+
+    @Test
+    @DisplayName("Operation and function keys should resolve by key code")
+    void testKeyCodes() {
+        assertEquals(CalculatorKey.ADD, KeyBindings.resolve(KeyCode.PLUS, "+"));
+        assertEquals(CalculatorKey.ADD, KeyBindings.resolve(KeyCode.ADD, "+"));
+        assertEquals(CalculatorKey.SUBTRACT, KeyBindings.resolve(KeyCode.MINUS, "-"));
+        assertEquals(CalculatorKey.MULTIPLY, KeyBindings.resolve(KeyCode.MULTIPLY, "*"));
+        assertEquals(CalculatorKey.DIVIDE, KeyBindings.resolve(KeyCode.SLASH, "/"));
+        assertEquals(CalculatorKey.DECIMAL, KeyBindings.resolve(KeyCode.DECIMAL, ","));
+        assertEquals(CalculatorKey.EQUALS, KeyBindings.resolve(KeyCode.ENTER, "\r"));
+        assertEquals(CalculatorKey.CLEAR, KeyBindings.resolve(KeyCode.ESCAPE, ""));
+        assertEquals(CalculatorKey.CLEAR_ENTRY, KeyBindings.resolve(KeyCode.DELETE, ""));
+        assertEquals(CalculatorKey.BACKSPACE, KeyBindings.resolve(KeyCode.BACK_SPACE, ""));
+    }
+
+    @Test
+    @DisplayName("Equals and decimal point should also resolve by character")
+    void testCharacters() {
+        assertEquals(CalculatorKey.EQUALS, KeyBindings.resolve(KeyCode.UNDEFINED, "="));
+        assertEquals(CalculatorKey.DECIMAL, KeyBindings.resolve(KeyCode.UNDEFINED, "."));
+        assertNull(KeyBindings.resolve(KeyCode.A, "a"));
+        assertNull(KeyBindings.resolve(KeyCode.UNDEFINED, "5"));
+    }
+}